@@ -0,0 +1,54 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests for BenchmarkCorpus, checking the positions are repeatable and in the right phases.
+ */
+public class BenchmarkCorpusTest {
+
+    @Test
+    public void phases_filled() throws Exception {
+        BenchmarkCorpus corpus = new BenchmarkCorpus(1, 8);
+
+        for (String phase : BenchmarkCorpus.PHASES) {
+            List<BenchmarkCorpus.Position> positions = corpus.getPositions(phase);
+            assertEquals(8, positions.size());
+
+            for (BenchmarkCorpus.Position p : positions) {
+                Colour colour = p.getColour();
+                assertTrue(p.getBoard().isValid());
+                assertFalse(p.getTurn().getMoves().isEmpty());
+
+                if (phase.equals("early")) {
+                    assertTrue(p.getBoard().getStartLocation().numberOfPieces(colour) >= 10);
+                } else if (phase.equals("late")) {
+                    assertEquals(0, p.getBoard().getStartLocation().numberOfPieces(colour));
+                    assertEquals(0, p.getBoard().getKnockedLocation().numberOfPieces(colour));
+                } else if (phase.equals("doubles")) {
+                    assertEquals(4, p.getDiceValues().size());
+                }
+
+                // The turn recorded is valid from the position
+                p.getBoard().clone().takeTurn(colour, p.getTurn(), p.getDiceValues());
+            }
+        }
+    }
+
+    @Test
+    public void same_seed_same_positions() {
+        BenchmarkCorpus a = new BenchmarkCorpus(7, 4);
+        BenchmarkCorpus b = new BenchmarkCorpus(7, 4);
+
+        for (String phase : BenchmarkCorpus.PHASES) {
+            for (int i = 0; i < 4; i++) {
+                BenchmarkCorpus.Position pa = a.getPositions(phase).get(i);
+                BenchmarkCorpus.Position pb = b.getPositions(phase).get(i);
+                assertEquals(pa.getBoard(), pb.getBoard());
+                assertEquals(pa.getColour(), pb.getColour());
+                assertEquals(pa.getDiceValues(), pb.getDiceValues());
+            }
+        }
+    }
+}
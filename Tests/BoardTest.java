@@ -6,9 +6,7 @@ import org.junit.Test;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Created by rfkd33 on 12/04/2017.
@@ -37,18 +35,12 @@ public class BoardTest {
         Field pieces = loc.getClass().getDeclaredField("pieces");
 
         pieces.setAccessible(true);
-        Map<Colour,Integer> newPieces = new HashMap<>();
+        int[] newPieces = new int[Colour.values().length];
+        newPieces[col0.ordinal()] = col0_pieces;
+        newPieces[col1.ordinal()] = col1_pieces;
+        pieces.set(loc, newPieces);
         if (col0_pieces==0 && col1_pieces==0){
-            pieces.set(loc,newPieces);
             assertTrue(loc.isEmpty());
-        } else {
-            if (col0_pieces != 0) {
-                newPieces.put(col0, col0_pieces);
-            }
-            if (col1_pieces != 0) {
-                newPieces.put(col1,col1_pieces);
-            }
-            pieces.set(loc, newPieces);
         }
 
         switch (loc.getName()){
@@ -668,5 +660,114 @@ public class BoardTest {
     public void possibleMovesIllegalDice(){
         assertEquals(b.possibleMoves(col0,setup_dice(7,-4,null, null)).size(), 0);
     }
-}
 
+    @Test
+    public void undoMove() throws Exception{
+        UndoableBoardInterface board = (UndoableBoardInterface) b;
+        MoveInterface m = new Move();
+        m.setSourceLocation(0);
+        m.setDiceValue(3);
+        board.makeMove(col1, m);
+        String before = b.toString();
+
+        //knock off col1 and then undo it
+        int undo = board.makeUndoableMove(col0, m);
+        assertEquals(b.getKnockedLocation().numberOfPieces(col1), 1);
+        assertEquals(b.getBoardLocation(3).numberOfPieces(col0), 1);
+        board.undoMove(undo);
+        assertEquals(b.toString(), before);
+        assertEquals(b.getBoardLocation(3).numberOfPieces(col1), 1);
+        assertTrue(b.getKnockedLocation().isEmpty());
+
+        //undo a move from the knocked location
+        board.makeMove(col0, m);
+        int undoKnocked = board.makeUndoableMove(col1, m);
+        assertEquals(b.getKnockedLocation().numberOfPieces(col0), 1);
+        board.undoMove(undoKnocked);
+        assertEquals(b.getKnockedLocation().numberOfPieces(col1), 1);
+        assertEquals(b.getBoardLocation(3).numberOfPieces(col0), 1);
+        assertTrue(b.isValid());
+    }
+
+    @Test
+    public void positionKey() throws Exception{
+        UndoableBoardInterface board = (UndoableBoardInterface) b;
+        long start = board.getPositionKey();
+        assertEquals(start, Zobrist.keyOf(b));
+        assertEquals(b, new Board());
+        assertEquals(b.hashCode(), new Board().hashCode());
+
+        MoveInterface m = new Move();
+        m.setSourceLocation(0);
+        m.setDiceValue(3);
+        board.makeMove(col0, m);
+        assertEquals(board.getPositionKey(), Zobrist.keyOf(b));
+        assertNotEquals(b, new Board());
+
+        //a clone has the same key, and changing it doesn't change the original
+        BoardInterface c = b.clone();
+        assertEquals(b, c);
+        assertEquals(board.getPositionKey(), ((UndoableBoardInterface) c).getPositionKey());
+        c.makeMove(col1, m);
+        assertEquals(((UndoableBoardInterface) c).getPositionKey(), Zobrist.keyOf(c));
+        assertEquals(board.getPositionKey(), Zobrist.keyOf(b));
+
+        //replacing a location updates the key
+        LocationInterface knocked = new Location("Knocked");
+        knocked.setMixed(true);
+        knocked.addPieceGetKnocked(col1);
+        ((Board) b).setKnockedLocation(knocked);
+        assertEquals(board.getPositionKey(), Zobrist.keyOf(b));
+        b.getKnockedLocation().addPieceGetKnocked(col1);
+        assertEquals(board.getPositionKey(), Zobrist.keyOf(b));
+    }
+
+    @Test
+    public void shared_location() throws Exception{
+        //a location taken from another board is copied, so changing it on either board keeps both keys correct
+        Board other = new Board();
+        ((Board) b).setBoardLocation(5, other.getBoardLocation(1));
+        other.getBoardLocation(1).addPieceGetKnocked(col0);
+        b.getBoardLocation(5).addPieceGetKnocked(col1);
+        assertEquals(((UndoableBoardInterface) b).getPositionKey(), Zobrist.keyOf(b));
+        assertEquals(other.getPositionKey(), Zobrist.keyOf(other));
+        assertEquals(other, new PackedBoard(other));
+        assertEquals(b, new PackedBoard(b));
+
+        //the same goes for a location moved to another index on the same board
+        ((Board) b).setBoardLocation(6, b.getBoardLocation(5));
+        b.getBoardLocation(5).addPieceGetKnocked(col1);
+        assertEquals(((UndoableBoardInterface) b).getPositionKey(), Zobrist.keyOf(b));
+        assertEquals(1, b.getBoardLocation(6).numberOfPieces(col1));
+    }
+
+    @Test
+    public void applyTrustedTurn() throws Exception{
+        BoardInterface validated = new Board();
+        TurnInterface t = new Turn();
+        MoveInterface m1 = new Move();
+        m1.setSourceLocation(0);
+        m1.setDiceValue(3);
+        MoveInterface m2 = new Move();
+        m2.setSourceLocation(3);
+        m2.setDiceValue(5);
+        t.addMove(m1);
+        t.addMove(m2);
+
+        //the trusted turn gives the same board as taking the turn
+        ((UndoableBoardInterface) b).applyTrustedTurn(col0, t);
+        validated.takeTurn(col0, t, setup_dice(3,5,null,null));
+        assertEquals(validated.toString(), b.toString());
+        assertEquals(validated, b);
+
+        //an illegal move is still rejected
+        TurnInterface illegal = new Turn();
+        illegal.addMove(m2);
+        try {
+            ((UndoableBoardInterface) b).applyTrustedTurn(col1, illegal);
+            fail("col1 has no pieces at 3");
+        } catch (IllegalMoveException e) {
+            assertEquals(validated, b);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for BradleyTerry, using win matrices where the ratings can be worked out by hand.
+ */
+public class BradleyTerryTest {
+    private static final double DELTA = 1e-6;
+
+    @Test
+    public void equal_players() {
+        BradleyTerry ratings = new BradleyTerry(new int[][] { { 0, 50, 50 }, { 50, 0, 50 }, { 50, 50, 0 } });
+
+        for (int i = 0; i < ratings.size(); i++) {
+            assertEquals(0, ratings.getElo(i), DELTA);
+            assertTrue(ratings.getEloError(i) > 0);
+        }
+        assertEquals(0.5, ratings.getWinProbability(0, 2), DELTA);
+    }
+
+    @Test
+    public void two_players() {
+        // With two players the win probability is the score (including the prior of half a win each)
+        BradleyTerry ratings = new BradleyTerry(new int[][] { { 0, 75 }, { 25, 0 } });
+        double expected = 400 * Math.log10(75.5 / 25.5);
+
+        assertEquals(expected, ratings.getElo(0) - ratings.getElo(1), DELTA);
+        assertEquals(0, ratings.getElo(0) + ratings.getElo(1), DELTA);
+        assertEquals(75.5 / 101, ratings.getWinProbability(0, 1), DELTA);
+        assertEquals(ratings.getEloError(0), ratings.getEloError(1), DELTA);
+    }
+
+    @Test
+    public void ordering_and_errors() {
+        // 0 beats 1 beats 2, and the errors shrink with more games
+        int[][] wins = { { 0, 60, 70 }, { 40, 0, 60 }, { 30, 40, 0 } };
+        BradleyTerry ratings = new BradleyTerry(wins);
+        assertTrue(ratings.getElo(0) > ratings.getElo(1));
+        assertTrue(ratings.getElo(1) > ratings.getElo(2));
+
+        int[][] moreWins = new int[3][3];
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                moreWins[i][j] = wins[i][j] * 10;
+            }
+        }
+        assertTrue(new BradleyTerry(moreWins).getEloError(0) < ratings.getEloError(0));
+    }
+
+    @Test
+    public void undefeated_player_is_finite() {
+        BradleyTerry ratings = new BradleyTerry(new int[][] { { 0, 20 }, { 0, 0 } });
+        assertFalse(Double.isInfinite(ratings.getElo(0)));
+        assertTrue(ratings.getElo(0) > ratings.getElo(1));
+    }
+
+    @Test
+    public void player_without_games() {
+        BradleyTerry ratings = new BradleyTerry(new int[][] { { 0, 10, 0 }, { 10, 0, 0 }, { 0, 0, 0 } });
+        assertEquals(0, ratings.getElo(2), DELTA);
+        assertTrue(Double.isNaN(ratings.getEloError(2)));
+        assertFalse(Double.isNaN(ratings.getEloError(0)));
+    }
+}
@@ -0,0 +1,75 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for ComputerPlayerExpectimax, the turns chosen must always be valid turns.
+ */
+public class ComputerPlayerExpectimaxTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_depth() {
+        new ComputerPlayerExpectimax(0, 1);
+    }
+
+    @Test
+    public void players_share_pools() {
+        // Players are created for every game, so they mustn't each start their own threads
+        ComputerPlayerExpectimax first = new ComputerPlayerExpectimax(2, 3);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(3, new ComputerPlayerExpectimax(2, 3).getThreads());
+        }
+        assertEquals(3, first.getThreads());
+        assertSame(Misc.getSearchPool(3), Misc.getSearchPool(3));
+        assertNotSame(Misc.getSearchPool(3), Misc.getSearchPool(4));
+    }
+
+    @Test
+    public void depth_one_picks_highest_score() throws Exception {
+        Random random = new Random(1357);
+        PlayerInterface expectimax = new ComputerPlayerExpectimax(1, 1);
+        ComputerPlayer scorer = new ComputerPlayer();
+        PackedBoard board = new PackedBoard();
+        Colour colour = Colour.values()[0];
+
+        while (board.winner() == null) {
+            List<Integer> diceValues = Fixtures.roll(random);
+            TurnInterface turn = expectimax.getTurn(colour, board, diceValues);
+
+            // The turn has the highest score out of all the turns (there may be more than one turn with that score)
+            int[] turns = scorer.generatePackedTurns(colour, board, diceValues);
+            if (turns.length > 0) {
+                double best = Double.NEGATIVE_INFINITY;
+                for (double score : scorer.scorePackedTurns(colour, board, turns)) {
+                    best = Math.max(best, score);
+                }
+                int[] chosen = { ((PackedTurn) turn).getPackedTurn() };
+                assertEquals(best, scorer.scorePackedTurns(colour, board, chosen)[0], 0);
+            }
+
+            board.takeTurn(colour, turn, diceValues);
+            colour = colour.otherColour();
+        }
+    }
+
+    @Test
+    public void lookahead_turns_are_valid() throws Exception {
+        Random random = new Random(97531);
+        PlayerInterface expectimax = new ComputerPlayerExpectimax(2, 2, 2);
+        BoardInterface board = new Board();
+        Colour colour = Colour.values()[0];
+
+        for (int i = 0; i < 10 && board.winner() == null; i++) {
+            List<Integer> diceValues = Fixtures.roll(random);
+            String before = board.toString();
+            TurnInterface turn = expectimax.getTurn(colour, board, diceValues);
+
+            // The board given to the player isn't changed, and the turn is accepted by the board
+            assertEquals(before, board.toString());
+            board.takeTurn(colour, turn, diceValues);
+            colour = colour.otherColour();
+        }
+    }
+}
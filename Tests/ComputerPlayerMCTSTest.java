@@ -0,0 +1,55 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for ComputerPlayerMCTS, the turns chosen must be valid and returned within the time budget.
+ */
+public class ComputerPlayerMCTSTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_budget() {
+        new ComputerPlayerMCTS(0, 4, 1);
+    }
+
+    @Test
+    public void turns_are_valid_and_on_time() throws Exception {
+        Random random = new Random(24680);
+        PlayerInterface mcts = new ComputerPlayerMCTS(40, 4, 3);
+        PlayerInterface opponent = new ComputerPlayer();
+        BoardInterface board = new Board();
+        Colour colour = Colour.values()[0];
+
+        for (int i = 0; i < 12 && board.winner() == null; i++) {
+            List<Integer> diceValues = Fixtures.roll(random);
+            PlayerInterface player = (i % 2 == 0) ? mcts : opponent;
+
+            long start = System.currentTimeMillis();
+            TurnInterface turn = player.getTurn(colour, board.clone(), diceValues);
+            if (player == mcts) {
+                // Allow for a single rollout finishing after the deadline
+                assertTrue(System.currentTimeMillis() - start < 1000);
+            }
+
+            board.takeTurn(colour, turn, diceValues);
+            colour = colour.otherColour();
+        }
+    }
+
+    @Test
+    public void roll_index() {
+        List<List<Integer>> rolls = Misc.getDistinctRolls();
+        assertEquals(rolls.size(), 21);
+
+        double total = 0;
+        for (int i = 0; i < rolls.size(); i++) {
+            List<Integer> r = rolls.get(i);
+            assertEquals(Misc.getRollIndex(r.get(0), r.get(1)), i);
+            assertEquals(Misc.getRollIndex(r.get(1), r.get(0)), i);
+            total += Misc.getRollProbability(i);
+        }
+        assertEquals(total, 1, 1e-9);
+    }
+}
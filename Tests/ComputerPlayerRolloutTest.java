@@ -0,0 +1,76 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests for ComputerPlayerRollout, the turns chosen must be valid and repeatable with the same seed.
+ */
+public class ComputerPlayerRolloutTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void no_limit() {
+        new ComputerPlayerRollout(0, 0, 1, 1, 0);
+    }
+
+    @Test
+    public void turns_are_valid_and_repeatable() throws Exception {
+        Random random = new Random(8642);
+        PlayerInterface player1 = new ComputerPlayerRollout(4, 1, 77);
+        PlayerInterface player2 = new ComputerPlayerRollout(4, 3, 77);
+        BoardInterface board = new PackedBoard();
+        Colour colour = Colour.values()[0];
+
+        for (int i = 0; i < 6 && board.winner() == null; i++) {
+            List<Integer> diceValues = Fixtures.roll(random);
+            String before = board.toString();
+            TurnInterface turn1 = player1.getTurn(colour, board, diceValues);
+            TurnInterface turn2 = player2.getTurn(colour, board, diceValues);
+            assertEquals(before, board.toString());
+
+            // The rollouts don't depend on the number of threads, so both players pick a turn leading to the same position
+            BoardInterface board2 = board.clone();
+            board.takeTurn(colour, turn1, diceValues);
+            board2.takeTurn(colour, turn2, diceValues);
+            assertEquals(board, board2);
+            colour = colour.otherColour();
+        }
+    }
+
+    @Test
+    public void several_rounds_repeatable() throws Exception {
+        Random random = new Random(1928);
+        PlayerInterface player1 = new ComputerPlayerRollout(24, 0, 1, 2, 55);
+        PlayerInterface player2 = new ComputerPlayerRollout(24, 0, 4, 2, 55);
+        BoardInterface board = new PackedBoard();
+        Colour colour = Colour.values()[0];
+
+        // With one thread the rollouts are played in three rounds, with four threads in two
+        for (int i = 0; i < 3 && board.winner() == null; i++) {
+            List<Integer> diceValues = Fixtures.roll(random);
+            TurnInterface turn1 = player1.getTurn(colour, board, diceValues);
+            TurnInterface turn2 = player2.getTurn(colour, board, diceValues);
+
+            BoardInterface board2 = board.clone();
+            board.takeTurn(colour, turn1, diceValues);
+            board2.takeTurn(colour, turn2, diceValues);
+            assertEquals(board, board2);
+            colour = colour.otherColour();
+        }
+    }
+
+    @Test
+    public void time_budget() throws Exception {
+        PlayerInterface player = new ComputerPlayerRollout(0, 50, 2, 3, 1);
+        List<Integer> diceValues = new ArrayList<>();
+        diceValues.add(3);
+        diceValues.add(5);
+
+        long start = System.currentTimeMillis();
+        TurnInterface turn = player.getTurn(Colour.values()[0], new PackedBoard(), diceValues);
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        new PackedBoard().takeTurn(Colour.values()[0], turn, diceValues);
+    }
+}
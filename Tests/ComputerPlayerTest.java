@@ -0,0 +1,97 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests for the turns ComputerPlayer generates, compared with every turn found without skipping repeated positions.
+ */
+public class ComputerPlayerTest {
+
+    // Every turn that uses the maximum number of dice, in the same order as the generator searches them, without skipping any
+    private void allTurns(UndoableBoardInterface board, Colour colour, List<Integer> diceValues, int movesLeft, int turn, List<Integer> turns) throws Exception {
+        if (movesLeft == 0) {
+            turns.add(turn);
+            return;
+        }
+
+        int[] moves = new int[UndoableBoardInterface.MAX_POSSIBLE_MOVES];
+        int numMoves = board.possibleMoves(colour, diceValues, moves);
+        for (int i = 0; i < numMoves; i++) {
+            int undo = board.makeUndoableMove(colour, Move.valueOf(moves[i]));
+            Integer die = Move.getDiceValue(moves[i]);
+            diceValues.remove(die);
+            allTurns(board, colour, diceValues, movesLeft - 1, PackedTurn.addMove(turn, moves[i]), turns);
+            diceValues.add(die);
+            board.undoMove(undo);
+        }
+    }
+
+    private long positionAfter(UndoableBoardInterface board, Colour colour, int turn) throws Exception {
+        UndoableBoardInterface copy = (UndoableBoardInterface) board.clone();
+        copy.applyTrustedTurn(colour, new PackedTurn(turn));
+        return copy.getPositionKey();
+    }
+
+    @Test
+    public void doubles_one_turn_per_position() throws Exception {
+        ComputerPlayer player = new ComputerPlayer();
+        int totalAll = 0;
+        int totalGenerated = 0;
+
+        for (BenchmarkCorpus.Position p : new BenchmarkCorpus(7, 32).getPositions("doubles")) {
+            UndoableBoardInterface board = new PackedBoard(p.getBoard());
+            List<Integer> diceValues = new ArrayList<>(p.getDiceValues());
+            List<Integer> all = new ArrayList<>();
+            allTurns(board, p.getColour(), diceValues, Board.getMaximumMoves(board, p.getColour(), diceValues), PackedTurn.EMPTY, all);
+
+            Set<Long> positions = new HashSet<>();
+            for (int turn : all) {
+                positions.add(positionAfter(board, p.getColour(), turn));
+            }
+
+            // Exactly one turn for each position that any turn reaches
+            int[] turns = player.generatePackedTurns(p.getColour(), board, diceValues);
+            Set<Long> generated = new HashSet<>();
+            for (int turn : turns) {
+                assertTrue(all.contains(turn));
+                assertTrue(generated.add(positionAfter(board, p.getColour(), turn)));
+            }
+            assertEquals(positions, generated);
+            totalAll += all.size();
+            totalGenerated += turns.length;
+        }
+
+        // Doubles reach the same positions in many different orders
+        assertTrue(totalAll > totalGenerated);
+    }
+
+    @Test
+    public void same_turn_as_without_skipping() throws Exception {
+        ComputerPlayer player = new ComputerPlayer();
+        BenchmarkCorpus corpus = new BenchmarkCorpus(7, 32);
+
+        // Skipping turns that reach a position already generated doesn't change the turn chosen
+        for (String phase : BenchmarkCorpus.PHASES) {
+            for (BenchmarkCorpus.Position p : corpus.getPositions(phase)) {
+                UndoableBoardInterface board = new PackedBoard(p.getBoard());
+                List<Integer> diceValues = new ArrayList<>(p.getDiceValues());
+                List<Integer> all = new ArrayList<>();
+                allTurns(board, p.getColour(), diceValues, Board.getMaximumMoves(board, p.getColour(), diceValues), PackedTurn.EMPTY, all);
+
+                // The first of the highest scoring turns, out of every turn
+                int[] allTurns = new int[all.size()];
+                for (int i = 0; i < allTurns.length; i++) {
+                    allTurns[i] = all.get(i);
+                }
+                int best = allTurns[ComputerPlayer.getBestTurns(player.scorePackedTurns(p.getColour(), board, allTurns), 1)[0]];
+
+                TurnInterface turn = player.getTurn(p.getColour(), new ReadOnlyBoard(board), diceValues);
+                assertEquals(best, ((PackedTurn) turn).getPackedTurn());
+            }
+        }
+    }
+}
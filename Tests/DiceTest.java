@@ -67,4 +67,15 @@ public class DiceTest {
         assertFalse(d.haveRolled());
         d.getValues();
     }
+
+    @Test
+    public void source_seed_check() throws Exception{
+        Dice d1 = new Dice(new SeededDiceSource(42));
+        Dice d2 = new Dice(new SeededDiceSource(42));
+        for (int i=0; i<20; i++){
+            d1.roll();
+            d2.roll();
+            assertEquals(d1.getValues(), d2.getValues());
+        }
+    }
 }
@@ -83,4 +83,21 @@ public class DieTest {
         assertFalse(d.hasRolled());
         d.getValue();
     }
+
+    @Test
+    public void source_seed_check() throws Exception{
+        //dice with their own sources don't affect each other, or the dice using the static random
+        Die d1 = new Die(new SeededDiceSource(5));
+        Die d2 = new Die(new SeededDiceSource(5));
+        d.setSeed(1);
+        d1.setSeed(5);
+        for (int i=0; i<20; i++){
+            d1.roll();
+            d2.roll();
+            assertEquals(d1.getValue(), d2.getValue());
+            assertTrue(d1.getValue() >= 1 && d1.getValue() <= Die.NUMBER_OF_SIDES_ON_DIE);
+        }
+        d.roll();
+        assertEquals(d.getValue(), 4);
+    }
 }
@@ -0,0 +1,65 @@
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared helpers used by the tests to build moves, dice rolls, recorded games and temporary files.
+ */
+public class Fixtures {
+
+    private Fixtures() {}
+
+    public static MoveInterface move(int source, int dice) throws Exception {
+        MoveInterface m = new Move();
+        m.setSourceLocation(source);
+        m.setDiceValue(dice);
+        return m;
+    }
+
+    public static List<Integer> dice(int... values) {
+        List<Integer> diceValues = new ArrayList<>();
+        for (int v : values) {
+            diceValues.add(v);
+        }
+        return diceValues;
+    }
+
+    // Rolls two dice, doubles are expanded to four values
+    public static List<Integer> roll(Random random) {
+        List<Integer> diceValues = new ArrayList<>();
+        diceValues.add(random.nextInt(6) + 1);
+        diceValues.add(random.nextInt(6) + 1);
+        if (diceValues.get(0).equals(diceValues.get(1))) {
+            diceValues.add(diceValues.get(0));
+            diceValues.add(diceValues.get(0));
+        }
+        return diceValues;
+    }
+
+    // Plays a full game between the two computer players and returns its record
+    public static GameRecord playGame(long seed, String name1, String name2) throws Exception {
+        RecordingPlayer player1 = new RecordingPlayer(new ComputerPlayer());
+        RecordingPlayer player2 = new RecordingPlayer(new ComputerPlayerKieran());
+        GameRecord record = new GameRecord(seed, name1, name2);
+        player1.setRecord(record);
+        player2.setRecord(record);
+
+        Game game = new Game(new PackedBoard(), new SeededDiceSource(seed));
+        game.setPlayer(Colour.values()[0], player1);
+        game.setPlayer(Colour.values()[1], player2);
+        record.setWinner(game.play());
+        assertEquals(game.getTurns(), record.getTurnCount());
+        return record;
+    }
+
+    // Returns a temporary path that doesn't exist yet and is removed when the tests finish
+    public static File tempFile(String prefix, String suffix) throws Exception {
+        File file = File.createTempFile(prefix, suffix);
+        file.delete();
+        file.deleteOnExit();
+        return file;
+    }
+}
@@ -0,0 +1,79 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Tests for GameArchiveWriter and GameArchive, by archiving real games and reading them back in any order.
+ */
+public class GameArchiveTest {
+
+    @Test
+    public void random_access() throws Exception {
+        File file = Fixtures.tempFile("archive", ".tga");
+        GameRecord[] records = new GameRecord[6];
+        try (GameArchiveWriter writer = new GameArchiveWriter(file.getPath())) {
+            for (int i = 0; i < records.length; i++) {
+                records[i] = Fixtures.playGame(100 + i, "Player" + i % 3, "Other");
+                assertEquals(i, writer.write(records[i]));
+            }
+        }
+
+        try (GameArchive archive = new GameArchive(file.getPath())) {
+            assertEquals(records.length, archive.getGames());
+
+            for (int i = records.length - 1; i >= 0; i--) {
+                GameRecord expected = records[i];
+                GameRecord actual = archive.getGame(i);
+                assertEquals(expected.getSeed(), actual.getSeed());
+                assertEquals(expected.getWinner(), actual.getWinner());
+                assertEquals(expected.getTurnCount(), actual.getTurnCount());
+                assertEquals(expected.getPlayer(Colour.values()[0]), actual.getPlayer(Colour.values()[0]));
+                assertEquals(expected.getPlayer(Colour.values()[1]), actual.getPlayer(Colour.values()[1]));
+
+                // The board at the end of the game has the winner, and the board part way through matches replaying the turns
+                assertEquals(expected.getWinner(), archive.getBoard(i, actual.getTurnCount()).winner());
+                Board board = new Board();
+                for (int t = 0; t < 10; t++) {
+                    board.takeTurn(expected.getTurnColour(t), expected.getTurn(t), expected.getDiceValues(t));
+                }
+                assertEquals(board, archive.getBoard(i, 10));
+                assertEquals(new Board(), archive.getBoard(i, 0));
+            }
+        }
+    }
+
+    @Test
+    public void empty_archive() throws Exception {
+        File file = Fixtures.tempFile("archive", ".tga");
+        new GameArchiveWriter(file.getPath()).close();
+
+        try (GameArchive archive = new GameArchive(file.getPath())) {
+            assertEquals(0, archive.getGames());
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void missing_game() throws Exception {
+        File file = Fixtures.tempFile("archive", ".tga");
+        try (GameArchiveWriter writer = new GameArchiveWriter(file.getPath())) {
+            writer.write(Fixtures.playGame(1, "Player1", "Other"));
+        }
+
+        try (GameArchive archive = new GameArchive(file.getPath())) {
+            archive.getGame(1);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void not_an_archive() throws Exception {
+        File file = Fixtures.tempFile("archive", ".tga");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write("Not an archive at all, just some text".getBytes());
+        }
+
+        new GameArchive(file.getPath());
+    }
+}
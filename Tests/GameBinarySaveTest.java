@@ -0,0 +1,93 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.io.IOException;
+
+/**
+ * Tests for saving and loading games in the binary format (picked by the file extension).
+ */
+public class GameBinarySaveTest {
+
+    private Game playedGame() throws Exception {
+        Game game = new Game(new Board(), new SeededDiceSource(3));
+        game.setPlayer(Colour.values()[0], new ComputerPlayer());
+        game.setPlayer(Colour.values()[1], new ComputerPlayer());
+        game.setName("Saved");
+        game.play();
+        return game;
+    }
+
+    @Test
+    public void same_as_properties() throws Exception {
+        Game game = playedGame();
+        File binary = Fixtures.tempFile("save", Game.BINARY_SAVE_EXTENSION);
+        File props = Fixtures.tempFile("save", ".properties");
+        game.saveGame(binary.getPath());
+        game.saveGame(props.getPath());
+
+        // The binary save is much smaller, and loads the same game as the properties
+        assertTrue(binary.length() * 4 < props.length());
+
+        Game fromBinary = new Game();
+        fromBinary.loadGame(binary.getPath());
+        Game fromProps = new Game();
+        fromProps.loadGame(props.getPath());
+
+        assertEquals(fromProps.toString(), fromBinary.toString());
+        assertEquals(game.toString(), fromBinary.toString());
+        assertEquals(game.getBoard(), fromBinary.getBoard());
+        assertEquals(Zobrist.keyOf(game.getBoard()), ((Board) fromBinary.getBoard()).getPositionKey());
+        assertEquals("Saved", fromBinary.getName());
+        assertEquals(game.getCurrentPlayer(), fromBinary.getCurrentPlayer());
+    }
+
+    @Test
+    public void new_game() throws Exception {
+        Game game = new Game();
+        game.setPlayer(Colour.values()[1], new ComputerPlayer());
+        File binary = Fixtures.tempFile("save", Game.BINARY_SAVE_EXTENSION);
+        game.saveGame(binary.getPath());
+
+        Game loaded = new Game(new PackedBoard());
+        loaded.loadGame(binary.getPath());
+        assertTrue(loaded.getBoard() instanceof PackedBoard);
+        assertEquals(new Board(), loaded.getBoard());
+
+        // Players are loaded, so the game can't be played until the other player is set
+        try {
+            loaded.play();
+            fail("A player is missing");
+        } catch (PlayerNotDefinedException e) {
+            loaded.setPlayer(Colour.values()[0], new ComputerPlayer());
+            assertNotNull(loaded.play());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void corrupt() throws Exception {
+        File binary = Fixtures.tempFile("save", Game.BINARY_SAVE_EXTENSION);
+        playedGame().saveGame(binary.getPath());
+
+        // Change a single byte in the middle of the file
+        try (RandomAccessFile raf = new RandomAccessFile(binary, "rw")) {
+            raf.seek(raf.length() / 2);
+            int b = raf.read();
+            raf.seek(raf.length() / 2);
+            raf.write(b ^ 1);
+        }
+
+        new Game().loadGame(binary.getPath());
+    }
+
+    @Test(expected = IOException.class)
+    public void not_binary() throws Exception {
+        File binary = Fixtures.tempFile("save", Game.BINARY_SAVE_EXTENSION);
+        File props = Fixtures.tempFile("save", ".properties");
+        playedGame().saveGame(props.getPath());
+        props.renameTo(binary);
+
+        new Game().loadGame(binary.getPath());
+    }
+}
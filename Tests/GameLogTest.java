@@ -0,0 +1,114 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for GameRecord, GameLogWriter and GameLogReader, by logging real games and replaying them from the log.
+ */
+public class GameLogTest {
+
+    @Test
+    public void write_and_replay() throws Exception {
+        File file = Fixtures.tempFile("gamelog", ".tgl");
+        GameRecord[] records = { Fixtures.playGame(1, "A", "B"), Fixtures.playGame(2, "A", "B"), Fixtures.playGame(3, "B", "A") };
+
+        try (GameLogWriter writer = new GameLogWriter(file.getPath())) {
+            for (GameRecord r : records) {
+                writer.write(r);
+            }
+            assertEquals(3, writer.getGames());
+        }
+
+        try (GameLogReader reader = new GameLogReader(file.getPath())) {
+            for (GameRecord expected : records) {
+                GameRecord actual = reader.next();
+                assertEquals(expected.getSeed(), actual.getSeed());
+                assertEquals(expected.getWinner(), actual.getWinner());
+                assertEquals(expected.getTurnCount(), actual.getTurnCount());
+                for (Colour c : Colour.values()) {
+                    assertEquals(expected.getPlayer(c), actual.getPlayer(c));
+                }
+
+                // Replaying the turns gives the same winner, and the dice are the ones the seed gives
+                BoardInterface board = new Board();
+                SeededDiceSource dice = new SeededDiceSource(actual.getSeed());
+                for (int i = 0; i < actual.getTurnCount(); i++) {
+                    int die1 = dice.nextValue();
+                    int die2 = dice.nextValue();
+                    assertEquals(die1, (int) actual.getDiceValues(i).get(0));
+                    assertEquals(die2, (int) actual.getDiceValues(i).get(1));
+                    assertEquals(die1 == die2 ? 4 : 2, actual.getDiceValues(i).size());
+                    board.takeTurn(actual.getTurnColour(i), actual.getTurn(i), actual.getDiceValues(i));
+                }
+                assertEquals(actual.getWinner(), board.winner());
+            }
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void append() throws Exception {
+        File file = Fixtures.tempFile("gamelog", ".tgl");
+        try (GameLogWriter writer = new GameLogWriter(file.getPath())) {
+            writer.write(Fixtures.playGame(4, "A", "B"));
+        }
+        try (GameLogWriter writer = new GameLogWriter(file.getPath())) {
+            writer.write(Fixtures.playGame(5, "C", "A"));
+        }
+
+        try (GameLogReader reader = new GameLogReader(file.getPath())) {
+            assertEquals("B", reader.next().getPlayer(Colour.values()[1]));
+            GameRecord second = reader.next();
+            assertEquals("C", second.getPlayer(Colour.values()[0]));
+            assertEquals("A", second.getPlayer(Colour.values()[1]));
+            assertEquals(5, second.getSeed());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncated() throws Exception {
+        File file = Fixtures.tempFile("gamelog", ".tgl");
+        try (GameLogWriter writer = new GameLogWriter(file.getPath())) {
+            writer.write(Fixtures.playGame(6, "A", "B"));
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        try (GameLogReader reader = new GameLogReader(file.getPath())) {
+            reader.next();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_dice() throws Exception {
+        GameRecord record = new GameRecord(0, "A", "B");
+        record.addTurn(Arrays.asList(7, 1), new Turn());
+    }
+
+    @Test
+    public void turn_not_stored() throws Exception {
+        //a turn with bad moves is still returned, and the record stops taking turns instead of throwing
+        final TurnInterface bad = new Turn();
+        bad.addMove(Fixtures.move(3, 1));
+        RecordingPlayer player = new RecordingPlayer(new PlayerInterface() {
+            public TurnInterface getTurn(Colour colour, BoardInterface board, List<Integer> diceValues) {
+                return bad;
+            }
+        });
+        GameRecord record = new GameRecord(0, "A", "B");
+        player.setRecord(record);
+
+        assertSame(bad, player.getTurn(Colour.values()[0], new PackedBoard(), Arrays.asList(7, 1)));
+        assertFalse(record.isReplayable());
+        assertEquals(0, record.getTurnCount());
+        assertSame(bad, player.getTurn(Colour.values()[0], new PackedBoard(), Arrays.asList(3, 1)));
+        assertEquals(0, record.getTurnCount());
+    }
+}
@@ -0,0 +1,49 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for HeadlessGame.
+ */
+public class HeadlessGameTest {
+
+    @Test
+    public void game_finishes() throws Exception {
+        HeadlessGame game = new HeadlessGame(new ComputerPlayer(), new ComputerPlayerKieran(), new SeededDiceSource(1), false);
+        PackedBoard board = new PackedBoard();
+
+        Colour winner = game.play(board, Colour.values()[0]);
+        assertNotNull(winner);
+        assertTrue(board.isWinner(winner));
+        assertTrue(board.isValid());
+        assertTrue(game.getTurns() > 0);
+    }
+
+    @Test
+    public void same_seed_same_game() throws Exception {
+        for (long seed = 0; seed < 5; seed++) {
+            PlayerInterface player = new ComputerPlayer();
+            HeadlessGame game1 = new HeadlessGame(player, player, new SeededDiceSource(seed), true);
+            HeadlessGame game2 = new HeadlessGame(player, player, new SeededDiceSource(seed), true);
+            PackedBoard board1 = new PackedBoard();
+            PackedBoard board2 = new PackedBoard();
+
+            assertEquals(game1.play(board1, Colour.values()[0]), game2.play(board2, Colour.values()[0]));
+            assertEquals(game1.getTurns(), game2.getTurns());
+            assertEquals(board1, board2);
+        }
+    }
+
+    @Test
+    public void invalid_turn_forfeits() throws Exception {
+        // A player that never moves forfeits as soon as it can move
+        PlayerInterface noMoves = new PlayerInterface() {
+            public TurnInterface getTurn(Colour colour, BoardInterface board, java.util.List<Integer> diceValues) {
+                return new Turn();
+            }
+        };
+        HeadlessGame game = new HeadlessGame(noMoves, new ComputerPlayer(), new SeededDiceSource(2), false);
+
+        assertEquals(game.play(), Colour.values()[1]);
+        assertEquals(game.getTurns(), 1);
+    }
+}
@@ -0,0 +1,61 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for LatencyHistogram, checking percentiles are within the precision of the buckets.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getPercentile(50));
+        assertEquals(0, h.getMin());
+        assertEquals(0, h.getMean(), 0);
+    }
+
+    @Test
+    public void small_values_exact() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            h.record(i);
+        }
+
+        assertEquals(50, h.getCount());
+        assertEquals(25, h.getPercentile(50));
+        assertEquals(50, h.getPercentile(100));
+        assertEquals(1, h.getMin());
+        assertEquals(25.5, h.getMean(), 1e-9);
+    }
+
+    @Test
+    public void large_values_precision() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long i = 1; i <= 100000; i++) {
+            h.record(i * 1000);
+        }
+
+        // Buckets are within about 3% of the real value
+        assertEquals(50000000, h.getPercentile(50), 50000000 * 0.035);
+        assertEquals(99000000, h.getPercentile(99), 99000000 * 0.035);
+        assertEquals(100000000, h.getPercentile(100));
+        assertEquals(100000000, h.getMax());
+    }
+
+    @Test
+    public void add_histograms() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        a.record(10);
+        a.record(-5);
+        b.record(1L << 40);
+
+        a.add(b);
+        assertEquals(3, a.getCount());
+        assertEquals(0, a.getMin());
+        assertEquals(1L << 40, a.getMax());
+        assertEquals(10, a.getPercentile(66));
+        assertEquals(1L << 40, a.getPercentile(100));
+    }
+}
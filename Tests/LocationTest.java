@@ -212,4 +212,24 @@ public class LocationTest {
     public void removePieceNull() throws Exception{
         l.removePiece(null);
     }
+
+    @Test
+    public void copy() throws Exception{
+        Colour col0 = Colour.values()[0];
+        Colour col1 = Colour.values()[1];
+        l.setMixed(true);
+        l.addPieceGetKnocked(col0);
+        l.addPieceGetKnocked(col0);
+        l.addPieceGetKnocked(col1);
+
+        Location copy = new Location((Location) l);
+        assertEquals(copy.getName(), "loc");
+        assertTrue(copy.isMixed());
+        assertEquals(copy.numberOfPieces(col0), 2);
+        assertEquals(copy.numberOfPieces(col1), 1);
+
+        //changing the copy doesn't change the original
+        copy.removePiece(col0);
+        assertEquals(l.numberOfPieces(col0), 2);
+    }
 }
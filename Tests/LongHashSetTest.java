@@ -0,0 +1,62 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests for LongHashSet, checked against a HashSet of the same keys.
+ */
+public class LongHashSetTest {
+
+    @Test
+    public void add_and_contains() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(0));
+        assertTrue(set.add(-1));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(0));
+        assertFalse(set.add(-1));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(Long.MIN_VALUE));
+        assertFalse(set.contains(1));
+    }
+
+    @Test
+    public void matches_hash_set() {
+        Random random = new Random(4321);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> expected = new HashSet<>();
+
+        // Keys are picked from a small range so that some are added twice, and the set has to grow several times
+        for (int i = 0; i < 20000; i++) {
+            long key = random.nextInt(10000) * 0x100000000L;
+            assertEquals(expected.add(key), set.add(key));
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long key : expected) {
+            assertTrue(set.contains(key));
+        }
+    }
+
+    @Test
+    public void clear_test() {
+        LongHashSet set = new LongHashSet();
+
+        // The same keys can be added again after every clear
+        for (int round = 0; round < 1000; round++) {
+            for (long key = 0; key < 50; key++) {
+                assertTrue(set.add(key));
+            }
+            assertEquals(50, set.size());
+            set.clear();
+            assertEquals(0, set.size());
+            assertFalse(set.contains(0));
+        }
+    }
+}
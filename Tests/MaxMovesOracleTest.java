@@ -0,0 +1,165 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tests for MaxMovesOracle, the cached results must match searching the board each time.
+ */
+public class MaxMovesOracleTest {
+    private Colour col0;
+    private Colour col1;
+
+    public MaxMovesOracleTest() {
+        col0 = Colour.values()[0];
+        col1 = Colour.values()[1];
+    }
+
+    @Before
+    public void setUp() {
+        MaxMovesOracle.clear();
+    }
+
+    @After
+    public void tearDown() {
+        MaxMovesOracle.clear();
+    }
+
+    // Same search as the oracle, without a cache
+    private int search(BoardInterface b, Colour colour, List<Integer> diceValues) throws Exception {
+        int maxValue = 0;
+        for (MoveInterface m : b.possibleMoves(colour, diceValues)) {
+            BoardInterface newB = b.clone();
+            newB.makeMove(colour, m);
+            List<Integer> diceCopy = new ArrayList<>(diceValues);
+            diceCopy.remove((Integer) m.getDiceValue());
+            maxValue = Math.max(maxValue, search(newB, colour, diceCopy) + 1);
+        }
+        return maxValue;
+    }
+
+    @Test
+    public void dice_order() throws Exception {
+        BoardInterface b = new Board();
+        b.makeMove(col0, Fixtures.move(0, 6));
+        b.makeMove(col0, Fixtures.move(0, 6));
+
+        // col1 can't move to 6, so has to use the 5 first
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, col1, Fixtures.dice(6, 5)), 2);
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, col1, Fixtures.dice(5, 6)), 2);
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, col1, Fixtures.dice(6, 6, 6, 6)), 0);
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, col0, Fixtures.dice(6, 6, 6, 6)), 4);
+    }
+
+    @Test
+    public void does_not_modify_arguments() throws Exception {
+        BoardInterface b = new Board();
+        List<Integer> diceValues = Fixtures.dice(3, 3, 3, 3);
+        String before = b.toString();
+
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, col0, diceValues), 4);
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, col0, diceValues), 4);
+        assertEquals(diceValues, Fixtures.dice(3, 3, 3, 3));
+        assertEquals(before, b.toString());
+    }
+
+    @Test
+    public void invalid_arguments() throws Exception {
+        BoardInterface b = new Board();
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, null, Fixtures.dice(1, 2)), 0);
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, col0, null), 0);
+        assertEquals(MaxMovesOracle.getMaximumMoves(b, col0, Fixtures.dice(7, -4)), 0);
+    }
+
+    @Test
+    public void threads_match_search() throws Exception {
+        // Play some games, remembering the positions and the expected answers
+        Random random = new Random(1357);
+        final List<BoardInterface> boards = new ArrayList<>();
+        final List<Colour> colours = new ArrayList<>();
+        final List<List<Integer>> rolls = new ArrayList<>();
+        final List<Integer> expected = new ArrayList<>();
+
+        for (int game = 0; game < 4; game++) {
+            BoardInterface board = new PackedBoard();
+            Colour colour = col0;
+
+            while (board.winner() == null) {
+                List<Integer> diceValues = Fixtures.dice(random.nextInt(6) + 1, random.nextInt(6) + 1);
+                if (diceValues.get(0).equals(diceValues.get(1))) {
+                    diceValues.addAll(Fixtures.dice(diceValues.get(0), diceValues.get(0)));
+                }
+                boards.add(board.clone());
+                colours.add(colour);
+                rolls.add(diceValues);
+                expected.add(search(board, colour, diceValues));
+
+                List<MoveInterface> moves = new ArrayList<>(board.possibleMoves(colour, diceValues));
+                if (!moves.isEmpty()) {
+                    board.makeMove(colour, moves.get(random.nextInt(moves.size())));
+                }
+                colour = colour.otherColour();
+            }
+        }
+
+        // Every thread asks for all of the positions, in a different order, several times
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int offset = t * boards.size() / 4;
+            results.add(executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    for (int i = 0; i < boards.size() * 3; i++) {
+                        int p = (i + offset) % boards.size();
+                        if (MaxMovesOracle.getMaximumMoves(boards.get(p), colours.get(p), rolls.get(p)) != expected.get(p)) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }));
+        }
+
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void random_games_match_search() throws Exception {
+        Random random = new Random(2468);
+
+        for (int game = 0; game < 10; game++) {
+            BoardInterface board = (game % 2 == 0) ? new Board() : new PackedBoard();
+            Colour colour = col0;
+
+            while (board.winner() == null) {
+                List<Integer> diceValues = Fixtures.dice(random.nextInt(6) + 1, random.nextInt(6) + 1);
+                if (diceValues.get(0).equals(diceValues.get(1))) {
+                    diceValues.addAll(Fixtures.dice(diceValues.get(0), diceValues.get(0)));
+                }
+
+                // Ask twice, the second answer comes from the cache
+                int expected = search(board, colour, diceValues);
+                assertEquals(expected, MaxMovesOracle.getMaximumMoves(board, colour, diceValues));
+                assertEquals(expected, MaxMovesOracle.getMaximumMoves(board, colour, diceValues));
+
+                List<MoveInterface> moves = new ArrayList<>(board.possibleMoves(colour, diceValues));
+                if (!moves.isEmpty()) {
+                    board.makeMove(colour, moves.get(random.nextInt(moves.size())));
+                }
+                colour = colour.otherColour();
+            }
+        }
+    }
+}
@@ -64,4 +64,44 @@ public class MoveTest {
     public void set_die_over_die() throws Exception{
         m.setDiceValue(Die.NUMBER_OF_SIDES_ON_DIE+1);
     }
+
+    @Test
+    public void cached_moves() throws Exception{
+        for (int source=0; source<=Board.NUMBER_OF_LOCATIONS; source++){
+            for (int die=1; die<=Die.NUMBER_OF_SIDES_ON_DIE; die++){
+                int packed = Move.pack(source, die);
+                assertEquals(Move.getSourceLocation(packed), source);
+                assertEquals(Move.getDiceValue(packed), die);
+
+                //the same instance is returned each time, and is equal to a new move
+                MoveInterface cached = Move.valueOf(packed);
+                assertSame(cached, Move.valueOf(source, die));
+                m.setSourceLocation(source);
+                m.setDiceValue(die);
+                assertEquals(cached, m);
+                assertEquals(cached.hashCode(), m.hashCode());
+            }
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cached_move_immutable() throws Exception{
+        Move.valueOf(3, 4).setDiceValue(5);
+    }
+
+    @Test
+    public void possible_moves_are_cached() throws Exception{
+        //the moves in the sets from possibleMoves are the shared instances, so they can't be changed while in a set
+        BoardInterface[] boards = { new Board(), new PackedBoard() };
+        for (BoardInterface board : boards) {
+            for (MoveInterface move : board.possibleMoves(Colour.values()[0], Fixtures.dice(3, 5))) {
+                assertSame(Move.valueOf(move.getSourceLocation(), move.getDiceValue()), move);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cached_move_die_0(){
+        Move.valueOf(3, 0);
+    }
 }
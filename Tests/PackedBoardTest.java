@@ -0,0 +1,304 @@
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests for PackedBoard, including playing random games on a Board and a PackedBoard side by side.
+ */
+public class PackedBoardTest {
+    private BoardInterface b;
+    private Colour col0;
+    private Colour col1;
+
+    public PackedBoardTest() {
+        col0 = Colour.values()[0];
+        col1 = Colour.values()[1];
+    }
+
+    @Before
+    public void setUp() {
+        b = new PackedBoard();
+    }
+
+    @After
+    public void tearDown() {
+
+    }
+
+    private void assertSameBoard(BoardInterface expected, BoardInterface actual) throws Exception {
+        for (Colour c : Colour.values()) {
+            assertEquals(expected.getStartLocation().numberOfPieces(c), actual.getStartLocation().numberOfPieces(c));
+            assertEquals(expected.getKnockedLocation().numberOfPieces(c), actual.getKnockedLocation().numberOfPieces(c));
+            assertEquals(expected.getEndLocation().numberOfPieces(c), actual.getEndLocation().numberOfPieces(c));
+            for (int i = 1; i <= BoardInterface.NUMBER_OF_LOCATIONS; i++) {
+                assertEquals(expected.getBoardLocation(i).numberOfPieces(c), actual.getBoardLocation(i).numberOfPieces(c));
+            }
+        }
+    }
+
+    @Test
+    public void constructorTest() throws Exception {
+        assertTrue(b.getStartLocation().isMixed());
+        assertEquals(b.getStartLocation().numberOfPieces(col0), 15);
+        assertEquals(b.getStartLocation().numberOfPieces(col1), 15);
+        assertEquals(b.getStartLocation().getName(), "Start");
+
+        assertTrue(b.getKnockedLocation().isMixed());
+        assertTrue(b.getKnockedLocation().isEmpty());
+        assertEquals(b.getKnockedLocation().getName(), "Knocked");
+
+        assertTrue(b.getEndLocation().isMixed());
+        assertTrue(b.getEndLocation().isEmpty());
+        assertEquals(b.getEndLocation().getName(), "End");
+
+        for (int i = 1; i <= BoardInterface.NUMBER_OF_LOCATIONS; i++) {
+            assertFalse(b.getBoardLocation(i).isMixed());
+            assertTrue(b.getBoardLocation(i).isEmpty());
+            assertEquals(b.getBoardLocation(i).getName(), Integer.toString(i));
+        }
+
+        assertTrue(b.isValid());
+        assertEquals(b.toString(), new Board().toString());
+    }
+
+    @Test(expected = NoSuchLocationException.class)
+    public void get_board_loc_0() throws Exception {
+        b.getBoardLocation(0);
+    }
+
+    @Test
+    public void knock_test() throws Exception {
+        b.makeMove(col0, Fixtures.move(0, 3));
+        b.makeMove(col1, Fixtures.move(0, 3));
+        assertEquals(b.getBoardLocation(3).numberOfPieces(col1), 1);
+        assertEquals(b.getBoardLocation(3).numberOfPieces(col0), 0);
+        assertEquals(b.getKnockedLocation().numberOfPieces(col0), 1);
+
+        // With a piece knocked off, only moves from the knocked location are possible
+        b.makeMove(col0, Fixtures.move(0, 5));
+        b.makeMove(col1, Fixtures.move(3, 2));
+        assertEquals(b.getKnockedLocation().numberOfPieces(col0), 1);
+        for (MoveInterface m : b.possibleMoves(col0, Fixtures.dice(1, 2))) {
+            assertEquals(m.getSourceLocation(), 0);
+        }
+        assertEquals(b.possibleMoves(col0, Fixtures.dice(1, 2)).size(), 2);
+        assertTrue(b.isValid());
+    }
+
+    @Test
+    public void blocked_test() throws Exception {
+        b.makeMove(col0, Fixtures.move(0, 4));
+        b.makeMove(col0, Fixtures.move(0, 4));
+        assertFalse(b.canMakeMove(col1, Fixtures.move(0, 4)));
+        assertTrue(b.canMakeMove(col1, Fixtures.move(0, 5)));
+        assertFalse(b.possibleMoves(col1, Fixtures.dice(4)).iterator().hasNext());
+    }
+
+    @Test
+    public void clone_test() throws Exception {
+        b.setName("TestName");
+        BoardInterface c = b.clone();
+        c.makeMove(col0, Fixtures.move(0, 6));
+
+        assertEquals(b.getBoardLocation(6).numberOfPieces(col0), 0);
+        assertEquals(c.getBoardLocation(6).numberOfPieces(col0), 1);
+        assertEquals(((PackedBoard) c).getName(), "TestName");
+    }
+
+    @Test
+    public void copy_test() throws Exception {
+        BoardInterface board = new Board();
+        board.makeMove(col0, Fixtures.move(0, 2));
+        board.makeMove(col1, Fixtures.move(0, 2));
+        board.getBoardLocation(7).setName("Seven");
+
+        BoardInterface packed = new PackedBoard(board);
+        assertSameBoard(board, packed);
+        assertEquals(packed.getBoardLocation(7).getName(), "Seven");
+        assertEquals(board.toString(), packed.toString());
+    }
+
+    @Test
+    public void invalid_turn_restores_board() throws Exception {
+        TurnInterface t = new Turn();
+        t.addMove(Fixtures.move(0, 1));
+        t.addMove(Fixtures.move(5, 2));
+
+        try {
+            b.takeTurn(col0, t, Fixtures.dice(1, 2));
+            fail("Turn should not be valid");
+        } catch (IllegalTurnException e) {
+            assertSameBoard(new Board(), b);
+            assertEquals(new PackedBoard().possibleMoves(col0, Fixtures.dice(1, 2)), b.possibleMoves(col0, Fixtures.dice(1, 2)));
+        }
+    }
+
+    @Test
+    public void random_games_match_board() throws Exception {
+        Random random = new Random(12345);
+
+        for (int game = 0; game < 20; game++) {
+            BoardInterface board = new Board();
+            BoardInterface packed = new PackedBoard();
+            Colour colour = col0;
+
+            while (board.winner() == null) {
+                List<Integer> diceValues = Fixtures.dice(random.nextInt(6) + 1, random.nextInt(6) + 1);
+                if (diceValues.get(0).equals(diceValues.get(1))) {
+                    diceValues.addAll(Fixtures.dice(diceValues.get(0), diceValues.get(0)));
+                }
+
+                assertEquals(Board.getMaximumMoves(board, colour, diceValues), Board.getMaximumMoves(packed, colour, diceValues));
+
+                // Play random moves, checking both boards agree on the moves available
+                while (!diceValues.isEmpty()) {
+                    Set<MoveInterface> moves = board.possibleMoves(colour, diceValues);
+                    assertEquals(moves.size(), packed.possibleMoves(colour, diceValues).size());
+                    if (moves.isEmpty()) {
+                        break;
+                    }
+
+                    MoveInterface m = new ArrayList<>(moves).get(random.nextInt(moves.size()));
+                    assertTrue(packed.canMakeMove(colour, m));
+                    board.makeMove(colour, m);
+                    packed.makeMove(colour, m);
+                    diceValues.remove((Integer) m.getDiceValue());
+                }
+
+                assertSameBoard(board, packed);
+                assertEquals(board.isValid(), packed.isValid());
+                colour = colour.otherColour();
+            }
+
+            assertEquals(board.winner(), packed.winner());
+        }
+    }
+
+    @Test
+    public void moves_match_board() throws Exception {
+        Random random = new Random(2468);
+
+        for (int game = 0; game < 10; game++) {
+            BoardInterface board = new Board();
+            UndoableBoardInterface packed = new PackedBoard();
+            Colour colour = col0;
+
+            while (board.winner() == null) {
+                // Every source and die is checked, not just the ones that can be moved
+                for (Colour c : Colour.values()) {
+                    for (int source = 0; source <= BoardInterface.NUMBER_OF_LOCATIONS; source++) {
+                        for (int die = 1; die <= DieInterface.NUMBER_OF_SIDES_ON_DIE; die++) {
+                            assertEquals(board.canMakeMove(c, Fixtures.move(source, die)), packed.canMakeMove(c, Fixtures.move(source, die)));
+                        }
+                    }
+                    assertEquals(board.possibleMoves(c, Fixtures.dice(1, 2, 3, 4, 5, 6)), packed.possibleMoves(c, Fixtures.dice(1, 2, 3, 4, 5, 6)));
+
+                    // The buffer versions find the same moves, in the same order
+                    int[] boardMoves = new int[UndoableBoardInterface.MAX_POSSIBLE_MOVES];
+                    int[] packedMoves = new int[UndoableBoardInterface.MAX_POSSIBLE_MOVES];
+                    int numMoves = ((UndoableBoardInterface) board).possibleMoves(c, Fixtures.dice(1, 2, 3, 4, 5, 6), boardMoves);
+                    assertEquals(numMoves, packed.possibleMoves(c, Fixtures.dice(1, 2, 3, 4, 5, 6), packedMoves));
+                    assertEquals(numMoves, packed.possibleMoves(c, Fixtures.dice(1, 2, 3, 4, 5, 6)).size());
+                    for (int i = 0; i < numMoves; i++) {
+                        assertEquals(boardMoves[i], packedMoves[i]);
+                        assertTrue(packed.possibleMoves(c, Fixtures.dice(1, 2, 3, 4, 5, 6)).contains(Move.valueOf(packedMoves[i])));
+                    }
+                }
+
+                List<MoveInterface> moves = new ArrayList<>(board.possibleMoves(colour, Fixtures.dice(random.nextInt(6) + 1)));
+                if (!moves.isEmpty()) {
+                    MoveInterface m = moves.get(random.nextInt(moves.size()));
+                    board.makeMove(colour, m);
+
+                    // Undoing a move has to put the masks back as well
+                    packed.undoMove(packed.makeUndoableMove(colour, m));
+                    packed.makeMove(colour, m);
+                }
+                colour = colour.otherColour();
+            }
+        }
+    }
+
+    @Test
+    public void mixed_location_not_blocked() throws Exception {
+        b.makeMove(col0, Fixtures.move(0, 4));
+        b.makeMove(col0, Fixtures.move(0, 4));
+        assertFalse(b.canMakeMove(col1, Fixtures.move(0, 4)));
+
+        b.getBoardLocation(4).setMixed(true);
+        assertTrue(b.canMakeMove(col1, Fixtures.move(0, 4)));
+        assertTrue(b.possibleMoves(col1, Fixtures.dice(4)).contains(Fixtures.move(0, 4)));
+    }
+
+    @Test
+    public void undo_restores_board() throws Exception {
+        Random random = new Random(54321);
+        UndoableBoardInterface packed = (UndoableBoardInterface) b;
+        Colour colour = col0;
+
+        while (packed.winner() == null) {
+            List<Integer> diceValues = Fixtures.dice(random.nextInt(6) + 1, random.nextInt(6) + 1);
+            String before = packed.toString();
+
+            // Every possible move can be made and undone without changing the board
+            List<MoveInterface> moves = new ArrayList<>(packed.possibleMoves(colour, diceValues));
+            for (MoveInterface m : moves) {
+                int undo = packed.makeUndoableMove(colour, m);
+                packed.undoMove(undo);
+                assertEquals(before, packed.toString());
+            }
+
+            if (!moves.isEmpty()) {
+                packed.makeMove(colour, moves.get(random.nextInt(moves.size())));
+            }
+            colour = colour.otherColour();
+        }
+    }
+
+    @Test
+    public void position_key_test() throws Exception {
+        Random random = new Random(999);
+        UndoableBoardInterface board = new Board();
+        UndoableBoardInterface packed = (UndoableBoardInterface) b;
+        Colour colour = col0;
+
+        assertEquals(board, packed);
+        assertEquals(packed, board);
+        assertEquals(board.hashCode(), packed.hashCode());
+
+        while (packed.winner() == null) {
+            List<Integer> diceValues = Fixtures.dice(random.nextInt(6) + 1, random.nextInt(6) + 1);
+            List<MoveInterface> moves = new ArrayList<>(packed.possibleMoves(colour, diceValues));
+
+            // The keys are kept up to date by every move and undo
+            for (MoveInterface m : moves) {
+                long before = packed.getPositionKey();
+                int undo = packed.makeUndoableMove(colour, m);
+                assertEquals(Zobrist.keyOf(packed), packed.getPositionKey());
+                assertNotEquals(before, packed.getPositionKey());
+                assertNotEquals(board, packed);
+                packed.undoMove(undo);
+                assertEquals(before, packed.getPositionKey());
+            }
+
+            if (!moves.isEmpty()) {
+                MoveInterface m = moves.get(random.nextInt(moves.size()));
+                board.makeMove(colour, m);
+                packed.makeMove(colour, m);
+            }
+
+            assertEquals(Zobrist.keyOf(board), board.getPositionKey());
+            assertEquals(board.getPositionKey(), packed.getPositionKey());
+            assertEquals(board, packed);
+            assertEquals(board.hashCode(), packed.hashCode());
+            assertEquals(packed, packed.clone());
+            colour = colour.otherColour();
+        }
+    }
+}
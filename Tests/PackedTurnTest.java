@@ -0,0 +1,98 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.List;
+
+/**
+ * Tests for PackedTurn, and the packed turns generated by ComputerPlayer.
+ */
+public class PackedTurnTest {
+
+    @Test
+    public void add_moves() throws Exception {
+        PackedTurn turn = new PackedTurn();
+        assertTrue(turn.getMoves().isEmpty());
+
+        turn.addMove(Fixtures.move(0, 6));
+        turn.addMove(Fixtures.move(24, 6));
+        turn.addMove(Fixtures.move(3, 1));
+        turn.addMove(Fixtures.move(0, 1));
+
+        List<MoveInterface> moves = turn.getMoves();
+        assertEquals(4, moves.size());
+        assertEquals(Fixtures.move(0, 6), moves.get(0));
+        assertEquals(Fixtures.move(24, 6), moves.get(1));
+        assertEquals(Fixtures.move(3, 1), moves.get(2));
+        assertEquals(Fixtures.move(0, 1), moves.get(3));
+        assertEquals(4, PackedTurn.getNumberOfMoves(turn.getPackedTurn()));
+    }
+
+    @Test(expected = IllegalTurnException.class)
+    public void add_fifth_move() throws Exception {
+        PackedTurn turn = new PackedTurn();
+        for (int i = 0; i < 5; i++) {
+            turn.addMove(Fixtures.move(0, 2));
+        }
+    }
+
+    @Test(expected = IllegalTurnException.class)
+    public void add_null_move() throws Exception {
+        new PackedTurn().addMove(null);
+    }
+
+    @Test
+    public void pack_turn() throws Exception {
+        TurnInterface turn = new Turn();
+        turn.addMove(Fixtures.move(5, 2));
+        turn.addMove(Fixtures.move(7, 3));
+
+        PackedTurn packedTurn = new PackedTurn();
+        for (MoveInterface m : turn.getMoves()) {
+            packedTurn.addMove(m);
+        }
+
+        int packed = packedTurn.getPackedTurn();
+        assertEquals(Move.pack(5, 2), PackedTurn.getMove(packed, 0));
+        assertEquals(Move.pack(7, 3), PackedTurn.getMove(packed, 1));
+        assertEquals(0, PackedTurn.getMove(packed, 2));
+        assertEquals(turn.getMoves(), new PackedTurn(packed).getMoves());
+
+        // Equal turns have the same packed value
+        assertEquals(new PackedTurn(packed), new PackedTurn(PackedTurn.addMove(PackedTurn.addMove(PackedTurn.EMPTY, Move.pack(5, 2)), Move.pack(7, 3))));
+    }
+
+    @Test
+    public void best_turns_order() {
+        double[] scores = { 1, 5, 3, 5, -2, 4 };
+
+        // Highest first, with earlier turns first when the scores are equal
+        assertArrayEquals(new int[] { 1, 3, 5 }, ComputerPlayer.getBestTurns(scores, 3));
+        assertArrayEquals(new int[] { 1, 3, 5, 2, 0, 4 }, ComputerPlayer.getBestTurns(scores, 10));
+        assertArrayEquals(new int[] { 1 }, ComputerPlayer.getBestTurns(scores, 1));
+        assertEquals(0, ComputerPlayer.getBestTurns(new double[0], 3).length);
+    }
+
+    @Test
+    public void generated_turns_can_be_taken() throws Exception {
+        ComputerPlayer player = new ComputerPlayer();
+        UndoableBoardInterface board = new PackedBoard();
+        Colour colour = Colour.values()[0];
+        List<Integer> diceValues = java.util.Arrays.asList(3, 3, 3, 3);
+
+        board.makeMove(colour.otherColour(), Fixtures.move(0, 5));
+        board.makeMove(colour.otherColour(), Fixtures.move(0, 5));
+        String before = board.toString();
+        int[] packedTurns = player.generatePackedTurns(colour, board, diceValues);
+        double[] scores = player.scorePackedTurns(colour, board, packedTurns);
+        assertEquals(before, board.toString());
+        assertEquals(packedTurns.length, scores.length);
+        assertTrue(packedTurns.length > 0);
+
+        for (int i = 0; i < packedTurns.length; i++) {
+            assertEquals(4, PackedTurn.getNumberOfMoves(packedTurns[i]));
+
+            BoardInterface copy = board.clone();
+            copy.takeTurn(colour, new PackedTurn(packedTurns[i]), diceValues);
+        }
+    }
+}
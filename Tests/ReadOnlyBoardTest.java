@@ -0,0 +1,189 @@
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests for ReadOnlyBoard, the view of the board given to players.
+ */
+public class ReadOnlyBoardTest {
+    private BoardInterface board;
+    private ReadOnlyBoard view;
+    private Colour col0;
+    private Colour col1;
+
+    public ReadOnlyBoardTest() {
+        col0 = Colour.values()[0];
+        col1 = Colour.values()[1];
+    }
+
+    @Before
+    public void setUp() {
+        board = new Board();
+        view = new ReadOnlyBoard(board);
+    }
+
+    @Test
+    public void view_follows_board() throws Exception {
+        LocationInterface loc = view.getBoardLocation(3);
+        assertTrue(loc.isEmpty());
+
+        board.makeMove(col0, Fixtures.move(0, 3));
+        assertEquals(1, loc.numberOfPieces(col0));
+        assertEquals(14, view.getStartLocation().numberOfPieces(col0));
+        assertEquals(board.toString(), view.toString());
+        assertEquals(Zobrist.keyOf(board), view.getPositionKey());
+
+        // Pieces that are knocked off show up in the view too
+        board.makeMove(col1, Fixtures.move(0, 3));
+        assertEquals(1, view.getKnockedLocation().numberOfPieces(col0));
+        assertEquals(1, loc.numberOfPieces(col1));
+        assertEquals(board.possibleMoves(col0, Arrays.asList(1, 2)).size(), view.possibleMoves(col0, Arrays.asList(1, 2)).size());
+        assertEquals(board.canMakeMove(col1, Fixtures.move(3, 1)), view.canMakeMove(col1, Fixtures.move(3, 1)));
+        assertEquals(board.winner(), view.winner());
+        assertTrue(view.isValid());
+    }
+
+    @Test
+    public void view_follows_failed_turn() throws Exception {
+        LocationInterface loc = view.getBoardLocation(1);
+
+        // Board restores its locations from a backup when a turn is invalid, the view should still see the board
+        TurnInterface t = new Turn();
+        t.addMove(Fixtures.move(0, 1));
+        t.addMove(Fixtures.move(5, 2));
+        try {
+            board.takeTurn(col0, t, new ArrayList<>(Arrays.asList(1, 2)));
+            fail("Turn should not be valid");
+        } catch (IllegalTurnException e) {
+            // Expected
+        }
+
+        board.makeMove(col0, Fixtures.move(0, 1));
+        assertEquals(1, loc.numberOfPieces(col0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void make_move_throws() throws Exception {
+        view.makeMove(col0, Fixtures.move(0, 3));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void take_turn_throws() throws Exception {
+        TurnInterface t = new Turn();
+        t.addMove(Fixtures.move(0, 1));
+        t.addMove(Fixtures.move(0, 2));
+        view.takeTurn(col0, t, Arrays.asList(1, 2));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void set_name_throws() {
+        view.setName("Name");
+    }
+
+    @Test
+    public void equals_test() throws Exception {
+        BoardInterface packed = new PackedBoard(board);
+
+        // Equality has to hold both ways round between views and boards
+        for (BoardInterface b : new BoardInterface[] { board, packed, new ReadOnlyBoard(packed) }) {
+            assertEquals(b, view);
+            assertEquals(view, b);
+            assertEquals(b.hashCode(), view.hashCode());
+        }
+
+        board.makeMove(col0, Fixtures.move(0, 4));
+        assertNotEquals(packed, view);
+        assertNotEquals(view, packed);
+        assertEquals(board, view);
+        assertEquals(view, board);
+        assertEquals(board.hashCode(), view.hashCode());
+    }
+
+    @Test
+    public void name_test() throws Exception {
+        //an unnamed board gives an unnamed view, and copies of it are unnamed too
+        assertNull(view.getName());
+        assertNull(Board.nameOf(view));
+        assertNull(new PackedBoard(view).getName());
+
+        board.setName("Shown");
+        assertEquals("Shown", view.getName());
+        assertEquals("Shown", Board.nameOf(view));
+        assertEquals("Shown", new ReadOnlyBoard(view).getName());
+
+        PackedBoard packed = new PackedBoard(view);
+        assertEquals("Shown", packed.getName());
+        assertEquals("Shown", new ReadOnlyBoard(packed).getName());
+    }
+
+    @Test
+    public void location_mutators_throw() throws Exception {
+        LocationInterface loc = view.getStartLocation();
+
+        try {
+            loc.removePiece(col0);
+            fail("Location should be read only");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        try {
+            view.getBoardLocation(5).addPieceGetKnocked(col0);
+            fail("Location should be read only");
+        } catch (UnsupportedOperationException e) {
+            // Expected
+        }
+
+        assertEquals(15, board.getStartLocation().numberOfPieces(col0));
+        assertTrue(board.getBoardLocation(5).isEmpty());
+    }
+
+    @Test(expected = NoSuchLocationException.class)
+    public void get_board_loc_25() throws Exception {
+        view.getBoardLocation(BoardInterface.NUMBER_OF_LOCATIONS + 1);
+    }
+
+    @Test
+    public void copies_can_be_changed() throws Exception {
+        BoardInterface copy = view.clone();
+        copy.makeMove(col0, Fixtures.move(0, 6));
+
+        UndoableBoardInterface undoable = Board.toUndoableBoard(view);
+        assertNotSame(board, undoable);
+        undoable.makeMove(col0, Fixtures.move(0, 2));
+
+        assertTrue(board.getBoardLocation(6).isEmpty());
+        assertTrue(board.getBoardLocation(2).isEmpty());
+        assertEquals(1, copy.getBoardLocation(6).numberOfPieces(col0));
+        assertEquals(1, undoable.getBoardLocation(2).numberOfPieces(col0));
+    }
+
+    @Test
+    public void undoable_copy_is_never_the_board() throws Exception {
+        UndoableBoardInterface packed = new PackedBoard();
+        assertSame(packed, Board.toUndoableBoard(packed));
+
+        // Unlike toUndoableBoard, a board that can already be searched is still copied
+        for (BoardInterface b : new BoardInterface[] { board, view, packed }) {
+            UndoableBoardInterface copy = Board.toUndoableCopy(b);
+            assertNotSame(b, copy);
+            assertEquals(b.toString(), copy.toString());
+            copy.makeMove(col0, Fixtures.move(0, 3));
+            assertTrue(b.getBoardLocation(3).isEmpty());
+        }
+    }
+
+    @Test
+    public void max_moves_match_board() throws Exception {
+        board.makeMove(col0, Fixtures.move(0, 6));
+        board.makeMove(col0, Fixtures.move(0, 6));
+        List<Integer> diceValues = Arrays.asList(6, 6, 6, 6);
+
+        assertEquals(MaxMovesOracle.getMaximumMovesUncached(board, col1, diceValues), MaxMovesOracle.getMaximumMoves(view, col1, diceValues));
+        assertEquals(MaxMovesOracle.getMaximumMoves(board, col0, diceValues), MaxMovesOracle.getMaximumMoves(view, col0, diceValues));
+    }
+}
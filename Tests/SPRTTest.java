@@ -0,0 +1,92 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/**
+ * Tests for SPRT, using results where the outcome of the test is clear.
+ */
+public class SPRTTest {
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void bounds_test() {
+        SPRT sprt = new SPRT(0, 20, 0.05, 0.05);
+        assertEquals(Math.log(0.05 / 0.95), sprt.getLowerBound(), DELTA);
+        assertEquals(Math.log(0.95 / 0.05), sprt.getUpperBound(), DELTA);
+        assertEquals(0, sprt.getLLR(), DELTA);
+        assertEquals(SPRT.Status.CONTINUE, sprt.getStatus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void elo_order_test() {
+        new SPRT(20, 0, 0.05, 0.05);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void alpha_range_test() {
+        new SPRT(0, 20, 1, 0.05);
+    }
+
+    @Test
+    public void accept_h1_test() {
+        SPRT sprt = new SPRT(0, 50, 0.05, 0.05);
+        SPRT.Status status = SPRT.Status.CONTINUE;
+        int games = 0;
+
+        // Winning 3 games in every 4 is far better than elo1
+        while (status == SPRT.Status.CONTINUE && games < 10000) {
+            status = sprt.addResult(games % 4 != 0);
+            games++;
+        }
+
+        assertEquals(SPRT.Status.ACCEPT_H1, status);
+        assertTrue(sprt.getLLR() >= sprt.getUpperBound());
+        assertEquals(games, sprt.getWins() + sprt.getLosses());
+    }
+
+    @Test
+    public void accept_h0_test() {
+        SPRT sprt = new SPRT(0, 50, 0.05, 0.05);
+        SPRT.Status status = SPRT.Status.CONTINUE;
+        int games = 0;
+
+        // Winning half the games is exactly elo0
+        while (status == SPRT.Status.CONTINUE && games < 10000) {
+            status = sprt.addResult(games % 2 == 0);
+            games++;
+        }
+
+        assertEquals(SPRT.Status.ACCEPT_H0, status);
+        assertTrue(sprt.getLLR() <= sprt.getLowerBound());
+    }
+
+    @Test
+    public void result_is_fixed() {
+        SPRT sprt = new SPRT(0, 50, 0.05, 0.05);
+        SPRT.Status status = SPRT.Status.CONTINUE;
+        int games = 0;
+
+        while (status == SPRT.Status.CONTINUE && games < 10000) {
+            status = sprt.addResult(true);
+            games++;
+        }
+        assertEquals(SPRT.Status.ACCEPT_H1, status);
+        double llr = sprt.getLLR();
+
+        // Losses from games still being played once the test stopped would bring the LLR back inside the bounds
+        for (int i = 0; i < games * 2; i++) {
+            assertEquals(SPRT.Status.ACCEPT_H1, sprt.addResult(false));
+        }
+
+        assertEquals(SPRT.Status.ACCEPT_H1, sprt.getStatus());
+        assertEquals(llr, sprt.getLLR(), DELTA);
+        assertEquals(games, sprt.getWins());
+        assertEquals(0, sprt.getLosses());
+    }
+
+    @Test
+    public void elo_probability_test() {
+        assertEquals(0.5, SPRT.eloToProbability(0), DELTA);
+        assertEquals(100, SPRT.probabilityToElo(SPRT.eloToProbability(100)), 1e-6);
+        assertEquals(-35, SPRT.probabilityToElo(SPRT.eloToProbability(-35)), 1e-6);
+    }
+}
@@ -0,0 +1,28 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Tests for TimedPlayer, checking turns are passed through and timed by dice type.
+ */
+public class TimedPlayerTest {
+
+    @Test
+    public void records_by_dice_type() throws Exception {
+        TimedPlayer player = new TimedPlayer(new ComputerPlayer());
+        Colour colour = Colour.values()[0];
+
+        TurnInterface turn = player.getTurn(colour, new Board(), new ArrayList<>(Arrays.asList(3, 5)));
+        assertEquals(2, turn.getMoves().size());
+        player.getTurn(colour, new Board(), new ArrayList<>(Arrays.asList(2, 4)));
+        player.getTurn(colour, new Board(), new ArrayList<>(Arrays.asList(6, 6, 6, 6)));
+
+        assertEquals(2, player.getLatencies(false).getCount());
+        assertEquals(1, player.getLatencies(true).getCount());
+        assertEquals(3, player.getLatencies().getCount());
+        assertTrue(player.getLatencies().getMax() > 0);
+        assertTrue(player.getPlayer() instanceof ComputerPlayer);
+    }
+}
@@ -0,0 +1,58 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for Tournament, using a small number of games between the fast computer players.
+ */
+public class TournamentTest {
+
+    private List<PlayerFactoryInterface> entrants(String... names) {
+        List<PlayerFactoryInterface> entrants = new ArrayList<>();
+        for (String name : names) {
+            entrants.add(Tournament.getFactory(name));
+        }
+        return entrants;
+    }
+
+    @Test
+    public void every_pairing_played() {
+        Tournament tournament = new Tournament(entrants("ComputerPlayer", "ComputerPlayerKieran", "ComputerPlayer"), 4, 1);
+        tournament.run(2);
+
+        assertEquals(0, tournament.getErrors());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, tournament.getWins(i, i));
+            for (int j = 0; j < 3; j++) {
+                if (i != j) {
+                    assertEquals(4, tournament.getWins(i, j) + tournament.getWins(j, i));
+                }
+            }
+        }
+        assertEquals(3, tournament.getRatings().size());
+    }
+
+    @Test
+    public void same_results_with_any_threads() {
+        Tournament a = new Tournament(entrants("ComputerPlayer", "ComputerPlayerKieran"), 6, 42);
+        Tournament b = new Tournament(entrants("ComputerPlayer", "ComputerPlayerKieran"), 6, 42);
+        a.run(1);
+        b.run(3);
+
+        assertEquals(a.getWins(0, 1), b.getWins(0, 1));
+        assertEquals(a.getWins(1, 0), b.getWins(1, 0));
+        assertEquals(a.getNoTurns(), b.getNoTurns());
+    }
+
+    @Test
+    public void unknown_player() {
+        assertNull(Tournament.getFactory("NotAPlayer"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void odd_games() {
+        new Tournament(entrants("ComputerPlayer", "ComputerPlayerKieran"), 3, 1);
+    }
+}
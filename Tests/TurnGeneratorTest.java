@@ -0,0 +1,121 @@
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests for TurnGenerator, checking the turns generated while playing random games.
+ */
+public class TurnGeneratorTest {
+    private Colour col0 = Colour.values()[0];
+
+    @Test
+    public void random_games() throws Exception {
+        Random random = new Random(1357);
+        UndoableBoardInterface board = new PackedBoard();
+        Colour colour = col0;
+
+        while (board.winner() == null) {
+            List<Integer> diceValues = new ArrayList<>(Arrays.asList(random.nextInt(6) + 1, random.nextInt(6) + 1));
+            if (diceValues.get(0).equals(diceValues.get(1))) {
+                diceValues.addAll(Arrays.asList(diceValues.get(0), diceValues.get(0)));
+            }
+
+            String before = board.toString();
+            long keyBefore = board.getPositionKey();
+            TurnGenerator generator = new TurnGenerator(board, colour, diceValues);
+            List<Integer> turns = new ArrayList<>();
+            while (generator.hasNext()) {
+                turns.add(generator.nextInt());
+            }
+
+            // The board is restored once every turn has been generated
+            assertEquals(before, board.toString());
+            assertEquals(keyBefore, board.getPositionKey());
+
+            // Every turn is valid, and reaches a different position
+            Set<Long> positions = new HashSet<>();
+            for (int turn : turns) {
+                assertEquals(generator.getMovesRequired(), PackedTurn.getNumberOfMoves(turn));
+                UndoableBoardInterface copy = (UndoableBoardInterface) board.clone();
+                copy.takeTurn(colour, new PackedTurn(turn), diceValues);
+                assertTrue(positions.add(copy.getPositionKey()));
+            }
+
+            if (turns.isEmpty()) {
+                assertEquals(0, Board.getMaximumMoves(board, colour, diceValues));
+            } else {
+                board.takeTurn(colour, new PackedTurn(turns.get(random.nextInt(turns.size()))), diceValues);
+            }
+            colour = colour.otherColour();
+        }
+    }
+
+    @Test
+    public void no_moves() throws Exception {
+        UndoableBoardInterface board = new PackedBoard();
+        Colour col1 = col0.otherColour();
+
+        // Knock a piece off and block every location it could come back in to
+        board.makeMove(col0, Fixtures.move(0, 1));
+        board.makeMove(col1, Fixtures.move(0, 1));
+        for (int i = 1; i <= 6; i++) {
+            board.makeMove(col1, Fixtures.move(0, i));
+            if (i > 1) {
+                board.makeMove(col1, Fixtures.move(0, i));
+            }
+        }
+
+        TurnGenerator generator = new TurnGenerator(board, col0, Arrays.asList(3, 5));
+        assertEquals(0, generator.getMovesRequired());
+        assertFalse(generator.hasNext());
+        try {
+            generator.nextInt();
+            fail("There shouldn't be any turns");
+        } catch (NoSuchElementException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void restart_generator() throws Exception {
+        TurnGenerator generator = new TurnGenerator();
+        assertFalse(generator.hasNext());
+
+        // Starting the same generator again gives the same turns as a new generator
+        for (int i = 0; i < 3; i++) {
+            UndoableBoardInterface board = new PackedBoard();
+            TurnGenerator fresh = new TurnGenerator((UndoableBoardInterface) board.clone(), col0, Arrays.asList(4, 4, 4, 4));
+            generator.start(board, col0, Arrays.asList(4, 4, 4, 4));
+            while (fresh.hasNext()) {
+                assertEquals(fresh.nextInt(), generator.nextInt());
+            }
+            assertFalse(generator.hasNext());
+
+            generator.start(board, col0, Arrays.asList(1, 2));
+            assertEquals(2, generator.getMovesRequired());
+            assertTrue(generator.hasNext());
+        }
+    }
+
+    @Test
+    public void has_next_does_not_skip() throws Exception {
+        UndoableBoardInterface board = new PackedBoard();
+        TurnGenerator generator = new TurnGenerator(board, col0, Arrays.asList(2, 5));
+        TurnGenerator other = new TurnGenerator((UndoableBoardInterface) board.clone(), col0, Arrays.asList(2, 5));
+
+        // Calling hasNext more than once doesn't change the turns generated
+        while (other.hasNext()) {
+            assertTrue(generator.hasNext());
+            assertTrue(generator.hasNext());
+            assertEquals(other.nextInt(), generator.nextInt());
+        }
+        assertFalse(generator.hasNext());
+    }
+}
@@ -0,0 +1,299 @@
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Microbenchmarks for the board, move generation and computer players, run over the positions in a BenchmarkCorpus
+ * Every benchmark is warmed up (so the JIT has compiled it) and then timed over several iterations, reporting the mean time per operation
+ * Usage: Benchmark [filter] [iteration ms] [seed]
+ * Only benchmarks whose name contains the filter are run (eg. "Board." or "getTurn")
+ */
+public class Benchmark {
+	private static final int DEFAULT_ITERATION_MILLIS = 200;
+	private static final int WARMUP_ITERATIONS = 3;
+	private static final int MEASUREMENT_ITERATIONS = 5;
+
+	// Results are written here so that the JIT can't remove the work being timed
+	private static Object sink;
+	private static long sinkCount = 0;
+
+	public Benchmark() {
+	}
+
+	/*
+	 * A single benchmark, run for every position of a phase
+	 */
+	public static abstract class Case {
+		private final String name;
+
+		public Case(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		// Called once with all the positions before the benchmark is warmed up, for any setup that shouldn't be timed
+		public void setup(List<BenchmarkCorpus.Position> positions) throws Exception {
+		}
+
+		// Run the benchmark for a position, returning the number of operations performed
+		// The position can be modified as long as it is restored before returning
+		public abstract int run(BenchmarkCorpus.Position position) throws Exception;
+	}
+
+	public static List<Case> createCases() {
+		List<Case> cases = new ArrayList<Case>();
+
+		cases.add(new Case("Board.clone") {
+			@Override
+			public int run(BenchmarkCorpus.Position p) {
+				consume(p.getBoard().clone());
+				return 1;
+			}
+		});
+
+		cases.add(new Case("Board.possibleMoves") {
+			@Override
+			public int run(BenchmarkCorpus.Position p) {
+				consume(p.getBoard().possibleMoves(p.getColour(), p.getDiceValues()));
+				return 1;
+			}
+		});
+
+		// The same positions on the board the computer players search
+		cases.add(new Case("PackedBoard.possibleMoves") {
+			private final Map<BenchmarkCorpus.Position, BoardInterface> boards = new IdentityHashMap<BenchmarkCorpus.Position, BoardInterface>();
+
+			@Override
+			public void setup(List<BenchmarkCorpus.Position> positions) {
+				for (BenchmarkCorpus.Position p : positions) {
+					boards.put(p, new PackedBoard(p.getBoard()));
+				}
+			}
+
+			@Override
+			public int run(BenchmarkCorpus.Position p) {
+				consume(boards.get(p).possibleMoves(p.getColour(), p.getDiceValues()));
+				return 1;
+			}
+		});
+
+		cases.add(new Case("Board.canMakeMove") {
+			// Every source location with every die rolled, so both valid and invalid moves are checked
+			private final Map<BenchmarkCorpus.Position, List<MoveInterface>> moves = new IdentityHashMap<BenchmarkCorpus.Position, List<MoveInterface>>();
+
+			@Override
+			public void setup(List<BenchmarkCorpus.Position> positions) throws Exception {
+				for (BenchmarkCorpus.Position p : positions) {
+					List<MoveInterface> list = new ArrayList<MoveInterface>();
+					for (int source = 0; source <= BoardInterface.NUMBER_OF_LOCATIONS; source++) {
+						for (int die : p.getDiceValues()) {
+							MoveInterface m = new Move();
+							m.setSourceLocation(source);
+							m.setDiceValue(die);
+							list.add(m);
+						}
+					}
+					moves.put(p, list);
+				}
+			}
+
+			@Override
+			public int run(BenchmarkCorpus.Position p) {
+				int valid = 0;
+				List<MoveInterface> list = moves.get(p);
+				for (MoveInterface m : list) {
+					if (p.getBoard().canMakeMove(p.getColour(), m)) {
+						valid++;
+					}
+				}
+				consume(valid);
+				return list.size();
+			}
+		});
+
+		cases.add(new Case("Board.getMaximumMoves") {
+			@Override
+			public int run(BenchmarkCorpus.Position p) {
+				consume(Board.getMaximumMoves(p.getBoard(), p.getColour(), p.getDiceValues()));
+				return 1;
+			}
+		});
+
+		// The search behind getMaximumMoves, without the cache (which answers nearly every call above once warmed up)
+		cases.add(new Case("MaxMovesOracle.getMaximumMovesUncached") {
+			@Override
+			public int run(BenchmarkCorpus.Position p) {
+				consume(MaxMovesOracle.getMaximumMovesUncached(p.getBoard(), p.getColour(), p.getDiceValues()));
+				return 1;
+			}
+		});
+
+		// Includes cloning the board to take the turn on (subtract Board.clone for the turn alone)
+		cases.add(new Case("Board.takeTurn") {
+			@Override
+			public int run(BenchmarkCorpus.Position p) throws Exception {
+				BoardInterface board = p.getBoard().clone();
+				board.takeTurn(p.getColour(), p.getTurn(), p.getDiceValues());
+				consume(board);
+				return 1;
+			}
+		});
+
+		// Adds a piece to every board location it can be added to, then puts the location back how it was
+		cases.add(new Case("Location.addPieceGetKnocked") {
+			@Override
+			public int run(BenchmarkCorpus.Position p) throws Exception {
+				Colour colour = p.getColour();
+				int added = 0;
+				for (int i = 1; i <= BoardInterface.NUMBER_OF_LOCATIONS; i++) {
+					LocationInterface loc = p.getBoard().getBoardLocation(i);
+					if (loc.canAddPiece(colour)) {
+						Colour knocked = loc.addPieceGetKnocked(colour);
+						loc.removePiece(colour);
+						if (knocked != null) {
+							loc.addPieceGetKnocked(knocked);
+						}
+						added++;
+					}
+				}
+				consume(added);
+				return Math.max(added, 1);
+			}
+		});
+
+		// The players undo all the moves they try, so they are given the board directly rather than a clone
+		cases.add(new Case("ComputerPlayer.getTurn") {
+			private final PlayerInterface player = new ComputerPlayer();
+
+			@Override
+			public int run(BenchmarkCorpus.Position p) throws Exception {
+				consume(player.getTurn(p.getColour(), p.getBoard(), Misc.copyList(p.getDiceValues())));
+				return 1;
+			}
+		});
+
+		cases.add(new Case("ComputerPlayerKieran.getTurn") {
+			private final PlayerInterface player = new ComputerPlayerKieran();
+
+			@Override
+			public int run(BenchmarkCorpus.Position p) throws Exception {
+				consume(player.getTurn(p.getColour(), p.getBoard(), Misc.copyList(p.getDiceValues())));
+				return 1;
+			}
+		});
+
+		return cases;
+	}
+
+	// Times a benchmark over the positions, returning the nanoseconds per operation of each measurement iteration
+	public static double[] measure(Case benchmark, List<BenchmarkCorpus.Position> positions, long iterationMillis) throws Exception {
+		benchmark.setup(positions);
+
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			runIteration(benchmark, positions, iterationMillis);
+		}
+
+		double[] results = new double[MEASUREMENT_ITERATIONS];
+		for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+			results[i] = runIteration(benchmark, positions, iterationMillis);
+		}
+
+		return results;
+	}
+
+	public static void main(String[] args) throws Exception {
+		String filter = "";
+		long iterationMillis = DEFAULT_ITERATION_MILLIS;
+		long seed = BenchmarkCorpus.DEFAULT_SEED;
+
+		try {
+			if (args.length > 0) {
+				filter = args[0];
+			}
+			if (args.length > 1) {
+				iterationMillis = Long.parseLong(args[1]);
+			}
+			if (args.length > 2) {
+				seed = Long.parseLong(args[2]);
+			}
+		} catch (NumberFormatException e) {
+			iterationMillis = -1;
+		}
+
+		if (iterationMillis <= 0) {
+			System.out.println("Usage: Benchmark [filter] [iteration ms] [seed]");
+			return;
+		}
+
+		System.out.println("Creating positions (seed " + seed + ")");
+		BenchmarkCorpus corpus = new BenchmarkCorpus(seed, BenchmarkCorpus.DEFAULT_POSITIONS_PER_PHASE);
+
+		System.out.println(String.format("%-40s %-8s %14s %12s", "Benchmark", "Phase", "ns/op", "+/-"));
+		for (Case benchmark : createCases()) {
+			if (!benchmark.getName().contains(filter)) {
+				continue;
+			}
+
+			for (String phase : BenchmarkCorpus.PHASES) {
+				double[] results = measure(benchmark, corpus.getPositions(phase), iterationMillis);
+				System.out.println(String.format("%-40s %-8s %14.1f %12.1f", benchmark.getName(), phase, mean(results), standardDeviation(results)));
+			}
+		}
+
+		// Make sure the results are used
+		if (sink == null) {
+			System.out.println("No benchmarks matched " + filter);
+		} else {
+			System.out.println("\n(" + sinkCount + " results)");
+		}
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static void consume(Object result) {
+		sink = result;
+		sinkCount++;
+	}
+
+	// Runs the benchmark over all the positions until the time is up, returns the nanoseconds per operation
+	private static double runIteration(Case benchmark, List<BenchmarkCorpus.Position> positions, long iterationMillis) throws Exception {
+		long operations = 0;
+		long start = System.nanoTime();
+		long end = start + iterationMillis * 1000000;
+		long now;
+
+		do {
+			for (BenchmarkCorpus.Position p : positions) {
+				operations += benchmark.run(p);
+			}
+			now = System.nanoTime();
+		} while (now < end);
+
+		return (double) (now - start) / operations;
+	}
+
+	private static double mean(double[] values) {
+		double total = 0;
+		for (double v : values) {
+			total += v;
+		}
+
+		return total / values.length;
+	}
+
+	private static double standardDeviation(double[] values) {
+		double mean = mean(values);
+		double total = 0;
+		for (double v : values) {
+			total += (v - mean) * (v - mean);
+		}
+
+		return Math.sqrt(total / values.length);
+	}
+}
@@ -0,0 +1,146 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * A fixed set of positions for benchmarking, taken from games between two ComputerPlayers with seeded dice
+ * The same seed always gives the same positions, so timings from different versions of the code can be compared
+ * Positions are grouped by phase:
+ * - early: the colour to move still has at least 10 pieces in the start location
+ * - late: the colour to move has no pieces in the start or knocked locations
+ * - mid: any other position
+ * - doubles: any position where a double was rolled (also counted in one of the other phases)
+ */
+public class BenchmarkCorpus {
+	public static final String[] PHASES = { "early", "mid", "late", "doubles" };
+	public static final long DEFAULT_SEED = 20170301;
+	public static final int DEFAULT_POSITIONS_PER_PHASE = 32;
+
+	private static final int EARLY_START_PIECES = 10;
+	private static final int MAX_GAMES = 1000; // Stop looking for positions after this many games
+
+	private final Map<String, List<Position>> positions;
+
+	public BenchmarkCorpus() {
+		this(DEFAULT_SEED, DEFAULT_POSITIONS_PER_PHASE);
+	}
+
+	public BenchmarkCorpus(long seed, int positionsPerPhase) {
+		positions = new LinkedHashMap<String, List<Position>>();
+		for (String phase : PHASES) {
+			positions.put(phase, new ArrayList<Position>());
+		}
+
+		SeededDiceSource diceSource = new SeededDiceSource(seed);
+		PlayerInterface player = new ComputerPlayer();
+
+		for (int game = 0; game < MAX_GAMES && !isFull(positionsPerPhase); game++) {
+			playGame(player, diceSource, positionsPerPhase);
+		}
+	}
+
+	public List<Position> getPositions(String phase) {
+		return Collections.unmodifiableList(positions.get(phase));
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private void playGame(PlayerInterface player, DiceSourceInterface diceSource, int positionsPerPhase) {
+		Board board = new Board();
+		Colour colour = Colour.values()[0];
+
+		try {
+			for (int i = 0; i < HeadlessGame.MAX_TURNS && board.winner() == null; i++) {
+				List<Integer> diceValues = new ArrayList<Integer>();
+				diceValues.add(diceSource.nextValue());
+				diceValues.add(diceSource.nextValue());
+				if (diceValues.get(0).equals(diceValues.get(1))) {
+					diceValues.add(diceValues.get(0));
+					diceValues.add(diceValues.get(0));
+				}
+
+				TurnInterface turn = player.getTurn(colour, board.clone(), Misc.copyList(diceValues));
+
+				// Only keep positions where there is a move to make
+				if (!turn.getMoves().isEmpty()) {
+					Position position = new Position((Board) board.clone(), colour, diceValues, turn);
+					add(getPhase(board, colour), position, positionsPerPhase);
+					if (diceValues.size() == 4) {
+						add("doubles", position, positionsPerPhase);
+					}
+				}
+
+				board.takeTurn(colour, turn, diceValues);
+				colour = colour.otherColour();
+			}
+		} catch (Exception e) {
+			// Should never be reached, the positions from before the error are still used
+			System.out.println("Logic error when creating benchmark positions");
+		}
+	}
+
+	private String getPhase(BoardInterface board, Colour colour) {
+		if (board.getStartLocation().numberOfPieces(colour) >= EARLY_START_PIECES) {
+			return "early";
+		}
+		if (board.getStartLocation().numberOfPieces(colour) == 0 && board.getKnockedLocation().numberOfPieces(colour) == 0) {
+			return "late";
+		}
+		return "mid";
+	}
+
+	private void add(String phase, Position position, int positionsPerPhase) {
+		List<Position> list = positions.get(phase);
+		if (list.size() < positionsPerPhase) {
+			list.add(position);
+		}
+	}
+
+	private boolean isFull(int positionsPerPhase) {
+		for (List<Position> list : positions.values()) {
+			if (list.size() < positionsPerPhase) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/*
+	 * A position to benchmark, along with the turn ComputerPlayer took from it
+	 * None of these should be modified by benchmarks (take a clone of the board first)
+	 */
+	public static final class Position {
+		private final Board board;
+		private final Colour colour;
+		private final List<Integer> diceValues;
+		private final TurnInterface turn;
+
+		private Position(Board board, Colour colour, List<Integer> diceValues, TurnInterface turn) {
+			this.board = board;
+			this.colour = colour;
+			this.diceValues = Collections.unmodifiableList(Misc.copyList(diceValues));
+			this.turn = turn;
+		}
+
+		public Board getBoard() {
+			return board;
+		}
+
+		public Colour getColour() {
+			return colour;
+		}
+
+		public List<Integer> getDiceValues() {
+			return diceValues;
+		}
+
+		public TurnInterface getTurn() {
+			return turn;
+		}
+	}
+}
@@ -5,12 +5,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public class Board implements BoardInterface {
+public class Board implements UndoableBoardInterface {
+	// Colour.values() creates a new array each time, so cache it
+	private static final Colour[] COLOURS = Colour.values();
+
 	private String name;
 	private List<LocationInterface> locations; // 0 = Start
 												// 1 = Knocked off
 												// i + 1 = Position i
 												// NUMBER_OF_LOCATIONS + 2 = End
+	private long positionKey; // Zobrist key, updated by the locations whenever their pieces change
 
 	/*
 	 * Constructors
@@ -48,6 +52,12 @@ public class Board implements BoardInterface {
 		LocationInterface end = new Location("End");
 		end.setMixed(true);
 		locations.add(end);
+
+		// Attach the locations to the board so that the position key is kept up to date
+		for (int i = 0; i < locations.size(); i++) {
+			attachLocation(i, locations.get(i));
+		}
+		positionKey = Zobrist.keyOf(this);
 	}
 
 	@Override
@@ -109,31 +119,62 @@ public class Board implements BoardInterface {
 
 	@Override
 	public void makeMove(Colour colour, MoveInterface move) throws IllegalMoveException {
+		// The undo record isn't needed
+		makeUndoableMove(colour, move);
+	}
+
+	@Override
+	public int makeUndoableMove(Colour colour, MoveInterface move) throws IllegalMoveException {
 		// Throw an exception if we do not think we can make the move
 		if (!canMakeMove(colour, move)) {
 			throw new IllegalMoveException("Invalid move");
 		}
 
 		// Get source location
-		LocationInterface sourceLoc = intToLocation(colour, move.getSourceLocation());
-		if (sourceLoc == null) {
+		int sourceIndex = intToIndex(colour, move.getSourceLocation());
+		if (sourceIndex < 0) {
 			throw new IllegalMoveException("Could not retrieve source location");
 		}
 
 		// Get end location
-		LocationInterface endLoc = intToLocation(colour, move.getSourceLocation() + move.getDiceValue());
-		if (endLoc == null) {
+		int endIndex = intToIndex(colour, move.getSourceLocation() + move.getDiceValue());
+		if (endIndex < 0) {
 			throw new IllegalMoveException("Could not retrieve end location");
 		}
 
 		// Remove the piece from its source
-		sourceLoc.removePiece(colour);
+		locations.get(sourceIndex).removePiece(colour);
 		
 		// Add the piece and if a piece was knocked off then add it to the knocked location
-		Colour knockedColour = endLoc.addPieceGetKnocked(colour);
+		Colour knockedColour = locations.get(endIndex).addPieceGetKnocked(colour);
 		if (knockedColour != null) {
 			getKnockedLocation().addPieceGetKnocked(knockedColour);
 		}
+
+		return undoRecord(sourceIndex, endIndex, colour, knockedColour);
+	}
+
+	@Override
+	public void undoMove(int undoRecord) {
+		Colour colour = undoColour(undoRecord);
+		Colour knockedColour = undoKnockedColour(undoRecord);
+		LocationInterface sourceLoc = locations.get(undoSourceIndex(undoRecord));
+		LocationInterface endLoc = locations.get(undoEndIndex(undoRecord));
+
+		try {
+			// Move the piece back to its source
+			endLoc.removePiece(colour);
+			sourceLoc.addPieceGetKnocked(colour);
+
+			// Put back the piece that was knocked off
+			if (knockedColour != null) {
+				getKnockedLocation().removePiece(knockedColour);
+				endLoc.addPieceGetKnocked(knockedColour);
+			}
+		} catch (IllegalMoveException e) {
+			// This should never be reached (unless moves are undone out of order)
+			System.out.println("Logic error when undoing a move");
+		}
 	}
 
 	@Override
@@ -151,30 +192,11 @@ public class Board implements BoardInterface {
 		// This is so that we can skip constraints that may make it impossible to win (eg. requiring the use of 2 dice when you can win using 1)
 		boolean hasWon = false;
 
-		// Create maps for diceValues and turn (maps dice roll --> number of occurrences)
-		Map<Integer, Integer> diceMap = Misc.valuesToMap(diceValues);
-		Map<Integer, Integer> turnMap = turnToMap(turn);
-
-		// Enforce rules on dice rolls
-		if (diceValues.size() == 4) {
-			if (diceMap.size() != 1) {
-				throw new IllegalTurnException("If 4 dice rolls are given then they must all contain the same dice roll");
-			}
-		} else if (diceValues.size() != 2) {
-			throw new IllegalTurnException("Incorrect amount of dice values given (" + Integer.toString(diceValues.size()) + ")");
-		} else if (diceMap.size() == 1) {
-			throw new IllegalTurnException("2 dice of the same value cannot be given, 4 must be provided instead for a double");
-		}
-
-		// Make sure that the number of moves is less than the number of dice rolls (could contain less moves if attempting to win the game)
-		for (Integer roll : turnMap.keySet()) {
-			if (!diceMap.containsKey(roll) || turnMap.get(roll) > diceMap.get(roll)) {
-				throw new IllegalTurnException("For each move there must be a unique dice roll corresponding to it");
-			}
-		}
+		// Enforce rules on dice rolls and the dice used by the moves
+		checkTurnDice(turn, diceValues);
 
 		// Get the maximum number of dice that can be used
-		int maxMoves = getMaximumMoves(this, colour, diceValues);
+		int maxMoves = MaxMovesOracle.getMaximumMoves(this, colour, diceValues);
 
 		// Perform the moves
 		try {
@@ -202,6 +224,18 @@ public class Board implements BoardInterface {
 		}
 	}
 
+	@Override
+	public void applyTrustedTurn(Colour colour, TurnInterface turn) throws IllegalMoveException {
+		for (MoveInterface m : turn.getMoves()) {
+			makeMove(colour, m);
+
+			// Stop performing moves if a colour has won (same as takeTurn)
+			if (isWinner(colour)) {
+				break;
+			}
+		}
+	}
+
 	@Override
 	public boolean isWinner(Colour colour) {
 		// If there are PIECES_PER_PLAYER in the end location then the player has won
@@ -264,56 +298,49 @@ public class Board implements BoardInterface {
 			return posMoves;
 		}
 
-		// Remove duplicates from diceValues if they exist
-		Set<Integer> dice = new HashSet<Integer>(diceValues);
-
-		// Find the locations that colours exist at
-		List<Integer> sourceLocations = new ArrayList<Integer>();
-		if (getKnockedLocation().numberOfPieces(colour) > 0) {
-			// If we have a piece at knocked then our only source location is 0
-			sourceLocations.add(0);
-		} else {
-			// Do we have any pieces in the start location?
-			if (getStartLocation().numberOfPieces(colour) > 0) {
-				sourceLocations.add(0);
+		// Same as the buffer version, but the cached moves are added to the set
+		int dice = diceMask(diceValues);
+		int lastSource = lastSource(colour);
+		for (int sourceLoc = 0; sourceLoc <= lastSource; sourceLoc++) {
+			if (!intToLocation(colour, sourceLoc).canRemovePiece(colour)) {
+				continue;
 			}
 
-			for (int i = 1; i <= NUMBER_OF_LOCATIONS; i++) {
-				try {
-					if (getBoardLocation(i).numberOfPieces(colour) > 0) {
-						sourceLocations.add(i);
-					}
-				} catch (NoSuchLocationException e) {
-					// This should never be reached, since i will be between the ranges specified
-					System.out.println("Error accessing board location when calculating possible moves");
+			for (int diceRoll = 1; diceRoll <= DieInterface.NUMBER_OF_SIDES_ON_DIE; diceRoll++) {
+				if ((dice & (1 << diceRoll)) != 0 && intToLocation(colour, sourceLoc + diceRoll).canAddPiece(colour)) {
+					posMoves.add(Move.valueOf(sourceLoc, diceRoll));
 				}
 			}
 		}
 
-		// Iterate over possible dice values for each source location
-		for (Integer sourceLoc : sourceLocations) {
-			for (Integer diceRoll : dice) {
-				try {
-					MoveInterface move = new Move();
-					move.setSourceLocation(sourceLoc);
-					move.setDiceValue(diceRoll);
+		return posMoves;
+	}
 
-					if (canMakeMove(colour, move)) {
-						posMoves.add(move);
-					}
-				} catch (IllegalMoveException e) {
-					// Catch exception if diceValues contains a value out of bounds
-					// We can continue anyway
-					// System.out.println(e.toString());
-				} catch (NoSuchLocationException e) {
-					// This should never be reached
-					// System.out.println("Error when generating possible moves");
-				}
+	@Override
+	public int possibleMoves(Colour colour, List<Integer> diceValues, int[] moves) {
+		// Make sure that we haven't been passed any null objects
+		if (diceValues == null || colour == null) {
+			return 0;
+		}
+
+		int dice = diceMask(diceValues);
+		int numMoves = 0;
+
+		// Check every dice value for each source location
+		int lastSource = lastSource(colour);
+		for (int sourceLoc = 0; sourceLoc <= lastSource; sourceLoc++) {
+			if (!intToLocation(colour, sourceLoc).canRemovePiece(colour)) {
+				continue;
 			}
 
+			for (int diceRoll = 1; diceRoll <= DieInterface.NUMBER_OF_SIDES_ON_DIE; diceRoll++) {
+				if ((dice & (1 << diceRoll)) != 0 && intToLocation(colour, sourceLoc + diceRoll).canAddPiece(colour)) {
+					moves[numMoves++] = Move.pack(sourceLoc, diceRoll);
+				}
+			}
 		}
-		
-		return posMoves;
+
+		return numMoves;
 	}
 
 	@Override
@@ -322,17 +349,21 @@ public class Board implements BoardInterface {
 		Board boardClone = new Board();
 		boardClone.setName(this.name);
 
-		boardClone.setStartLocation(cloneLocation(getStartLocation()));
-		boardClone.setKnockedLocation(cloneLocation(getKnockedLocation()));
-		boardClone.setEndLocation(cloneLocation(getEndLocation()));
+		// The locations are cloned in the same order as they are stored
+		// Replace them directly rather than through the setters, since the key only has to be recomputed if a location couldn't be cloned
+		boolean allCloned = true;
+		for (int i = 0; i < locations.size(); i++) {
+			Location locClone = cloneLocation(locations.get(i));
+			allCloned &= (locClone != null);
 
-		for (int i = 1; i <= NUMBER_OF_LOCATIONS; i++) {
-			try {
-				boardClone.setBoardLocation(i, cloneLocation(getBoardLocation(i)));
-			} catch (NoSuchLocationException e) {
-				// This should never be reached
-				System.out.println("Logic error when cloning board");
-			}
+			boardClone.attachLocation(i, locClone);
+			boardClone.locations.set(i, locClone);
+		}
+
+		if (allCloned) {
+			boardClone.positionKey = positionKey;
+		} else {
+			boardClone.positionKey = Zobrist.keyOf(boardClone);
 		}
 
 		// Return a cast version of boardClone
@@ -341,6 +372,34 @@ public class Board implements BoardInterface {
 
 	@Override
 	public String toString() {
+		return formatBoard(name, locations);
+	}
+
+	// Boards are equal if they have the same number of pieces for every colour in every location (names and mixed locations are ignored)
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof BoardInterface)) {
+			return false;
+		}
+
+		// Compare the position keys first, since the locations only need to be compared if the keys match
+		if (obj instanceof UndoableBoardInterface && ((UndoableBoardInterface) obj).getPositionKey() != positionKey) {
+			return false;
+		}
+
+		return Zobrist.samePosition(this, (BoardInterface) obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (positionKey ^ (positionKey >>> 32));
+	}
+
+	// Formats the locations as a table for toString (static so that other implementations of BoardInterface can display themselves the same way)
+	static String formatBoard(String name, List<LocationInterface> locations) {
 		StringBuilder sb = new StringBuilder("Board: " + name + "\n\n");
 
 		// Work out the maximum width of all the data, so we can force all the columns to be the same width
@@ -397,44 +456,37 @@ public class Board implements BoardInterface {
 	 * PUBLIC METHODS NOT DEFINED IN INTERFACE (casting required if method not static)
 	 */
 
-	// Recursive function to compute the number of maximum moves possible
+	// Compute the number of maximum moves possible (the result is shared through MaxMovesOracle)
 	public static int getMaximumMoves(BoardInterface b, Colour colour, List<Integer> diceValues) {
-		// Get the possible moves
-		Set<MoveInterface> posMoves = b.possibleMoves(colour, diceValues);
+		return MaxMovesOracle.getMaximumMoves(b, colour, diceValues);
+	}
 
-		
-		// The maximum number of moves we can make with the current diceValues
-		int maxValue = 0;
+	// Searches walk a single board, making and then undoing moves. Returns the board given if it supports this, otherwise a PackedBoard copy of it
+	public static UndoableBoardInterface toUndoableBoard(BoardInterface b) {
+		// Read-only views can't be searched directly, so they're always copied
+		if (b instanceof ReadOnlyBoard) {
+			return ((ReadOnlyBoard) b).toUndoableCopy();
+		}
 
-		for (MoveInterface move : posMoves) {
-			// Copy the board and make a move
-			BoardInterface newB = b.clone();
-			try {
-				newB.makeMove(colour, move);
-			} catch (IllegalMoveException e) {
-				// Should never be reached
-				System.out.println("Logic error when computing maximum number of possible moves");
-				System.out.println(e.toString());
-				continue;
-			}
+		if (b instanceof UndoableBoardInterface) {
+			return (UndoableBoardInterface) b;
+		}
 
-			// Copy the dice values and remove the die used
-			List<Integer> diceValuesCopy = Misc.copyList(diceValues);
-			diceValuesCopy.remove((Integer) move.getDiceValue()); // Casting is required since we want to remove the object, not the object at the location of the primitive (int)
+		return new PackedBoard(b);
+	}
 
-			// Recursively call itself
-			int val = getMaximumMoves(newB, colour, diceValuesCopy) + 1;
+	// Returns a copy of the board that can be searched, unlike toUndoableBoard the board given is never returned
+	// Used when the board given also has to be read while the copy is being searched (it should be the only copy made)
+	public static UndoableBoardInterface toUndoableCopy(BoardInterface b) {
+		if (b instanceof ReadOnlyBoard) {
+			return ((ReadOnlyBoard) b).toUndoableCopy();
+		}
 
-			// Update the maximum value
-			if (val > maxValue) {
-				maxValue = val;
-				if (maxValue == diceValues.size()) {
-					return maxValue;
-				}
-			}
+		if (b instanceof UndoableBoardInterface) {
+			return (UndoableBoardInterface) b.clone();
 		}
 
-		return maxValue;
+		return new PackedBoard(b);
 	}
 
 	// Interface does not define this
@@ -442,17 +494,30 @@ public class Board implements BoardInterface {
 		return name;
 	}
 
+	// The name of any implementation of BoardInterface that has one, or null if it doesn't (since the interface doesn't define getName)
+	public static String nameOf(BoardInterface b) {
+		if (b instanceof Board) {
+			return ((Board) b).getName();
+		} else if (b instanceof PackedBoard) {
+			return ((PackedBoard) b).getName();
+		} else if (b instanceof ReadOnlyBoard) {
+			return ((ReadOnlyBoard) b).getName();
+		}
+
+		return null;
+	}
+
 	// Set location methods required for cloning (either this or adding an additional constructor)
 	public void setStartLocation(LocationInterface loc) {
-		locations.set(0, loc);
+		setLocation(0, loc);
 	}
 
 	public void setEndLocation(LocationInterface loc) {
-		locations.set(NUMBER_OF_LOCATIONS + 2, loc);
+		setLocation(NUMBER_OF_LOCATIONS + 2, loc);
 	}
 
 	public void setKnockedLocation(LocationInterface loc) {
-		locations.set(1, loc);
+		setLocation(1, loc);
 	}
 
 	public void setBoardLocation(int locationNumber, LocationInterface loc) throws NoSuchLocationException {
@@ -460,7 +525,62 @@ public class Board implements BoardInterface {
 			throw new NoSuchLocationException("The location must be between 1 and " + Integer.toString(NUMBER_OF_LOCATIONS));
 		}
 
-		locations.set(locationNumber + 1, loc);
+		setLocation(locationNumber + 1, loc);
+	}
+
+	@Override
+	public long getPositionKey() {
+		return positionKey;
+	}
+
+	// Called by Location whenever the number of pieces of a colour changes
+	void locationChanged(int index, Colour colour, int oldCount, int newCount) {
+		positionKey ^= Zobrist.key(index, colour, oldCount) ^ Zobrist.key(index, colour, newCount);
+	}
+
+	// Undo records pack the source index (bits 0-4), end index (bits 5-9), colour moved (bits 10-11) and knocked colour + 1 (bits 12-13, 0 if nothing was knocked off)
+	// Package-private so that other implementations of UndoableBoardInterface can use the same records
+	static int undoRecord(int sourceIndex, int endIndex, Colour colour, Colour knockedColour) {
+		int knocked = 0;
+		if (knockedColour != null) {
+			knocked = knockedColour.ordinal() + 1;
+		}
+
+		return sourceIndex | (endIndex << 5) | (colour.ordinal() << 10) | (knocked << 12);
+	}
+
+	static int undoSourceIndex(int undoRecord) {
+		return undoRecord & 0x1F;
+	}
+
+	static int undoEndIndex(int undoRecord) {
+		return (undoRecord >> 5) & 0x1F;
+	}
+
+	static Colour undoColour(int undoRecord) {
+		return COLOURS[(undoRecord >> 10) & 0x3];
+	}
+
+	static Colour undoKnockedColour(int undoRecord) {
+		int knocked = (undoRecord >> 12) & 0x3;
+		if (knocked == 0) {
+			return null;
+		}
+
+		return COLOURS[knocked - 1];
+	}
+
+	// The dice values in a list, as a mask where bit i is set if dice value i is in the list (duplicates and values out of bounds are ignored)
+	// Package-private so that other implementations of UndoableBoardInterface find moves for the same dice values
+	static int diceMask(List<Integer> diceValues) {
+		int dice = 0;
+		for (Integer diceRoll : diceValues) {
+			if (diceRoll != null && diceRoll >= 1 && diceRoll <= DieInterface.NUMBER_OF_SIDES_ON_DIE) {
+				dice |= 1 << diceRoll;
+			}
+		}
+
+		return dice;
 	}
 
 	/*
@@ -468,90 +588,136 @@ public class Board implements BoardInterface {
 	 */
 
 	// Given an integer >= 0 return the location
+	// If we have a piece at knocked then our only source location is 0 (which is then the knocked location), otherwise pieces can be moved from any location
+	private int lastSource(Colour colour) {
+		if (getKnockedLocation().numberOfPieces(colour) > 0) {
+			return 0;
+		}
+
+		return NUMBER_OF_LOCATIONS;
+	}
+
 	private LocationInterface intToLocation(Colour colour, int pos) {
-		LocationInterface endLoc = null;
+		int index = intToIndex(colour, pos);
+		if (index < 0) {
+			return null;
+		}
+
+		return locations.get(index);
+	}
 
+	// Given an integer >= 0 return the index of the location in locations (or -1 if there is no such location)
+	private int intToIndex(Colour colour, int pos) {
 		if (pos > NUMBER_OF_LOCATIONS) {
-			endLoc = getEndLocation();
+			return NUMBER_OF_LOCATIONS + 2;
 		} else if (pos < 0) {
-			return null;
+			return -1;
 		} else if (pos == 0) {
 			// If the position is 0 then we need to choose either the start or knocked location
 			if (getKnockedLocation().numberOfPieces(colour) == 0) {
-				return getStartLocation();
+				return 0;
 			} else {
-				return getKnockedLocation();
-			}
-		} else {
-			try {
-				endLoc = this.getBoardLocation(pos);
-			} catch (NoSuchLocationException e) { 
-				// This exception should never be caught
-				System.out.println("Warning - logic error when retrieving location");
-				return null;
+				return 1;
 			}
 		}
 
-		return endLoc;
+		return pos + 1;
 	}
 
-	// Given another board, set this board to the oldboard (doesn't clone locations)
+	// Given another board, set this board to the oldboard (locations that belong to the old board are copied by setLocation)
 	private void restoreBoard(BoardInterface oldBoard) {
 		// Don't bother updating name (we can't anyway since the interface doesn't provide a getName() method)
-		// Set the locations to the one in the clone (Don't bother to clone since this is an internal method)
-
-		locations = new ArrayList<LocationInterface>();
-		locations.add(oldBoard.getStartLocation());
-		locations.add(oldBoard.getKnockedLocation());
+		setLocation(0, oldBoard.getStartLocation());
+		setLocation(1, oldBoard.getKnockedLocation());
 
 		for (int i = 1; i <= NUMBER_OF_LOCATIONS; i++) {
 			try {
-				locations.add(oldBoard.getBoardLocation(i));
+				setLocation(i + 1, oldBoard.getBoardLocation(i));
 			} catch (NoSuchLocationException e) {
 				// Shouldn't reach this bit
 				System.out.println("Error when restoring board from clone");
 			}
 		}
 
-		locations.add(oldBoard.getEndLocation());
+		setLocation(NUMBER_OF_LOCATIONS + 2, oldBoard.getEndLocation());
+	}
+
+	// Replace a location, updating the position key
+	private void setLocation(int index, LocationInterface loc) {
+		LocationInterface oldLoc = locations.get(index);
+		if (oldLoc instanceof Location && ((Location) oldLoc).getBoard() == this) {
+			((Location) oldLoc).setBoard(null, 0);
+		}
+
+		// A Location can only tell one board (and one index) about its changes, so one that is already in use elsewhere is copied
+		if (loc instanceof Location && ((Location) loc).getBoard() != null) {
+			loc = new Location((Location) loc);
+		}
+
+		positionKey ^= Zobrist.keyOf(index, oldLoc) ^ Zobrist.keyOf(index, loc);
+		attachLocation(index, loc);
+		locations.set(index, loc);
 	}
 
-	// We can't clone all instances of LocationInterface, only Location
+	// Only Location can tell the board when its pieces change. Other implementations of LocationInterface are included in the key when they are set, but changes made to them directly afterwards are not tracked
+	private void attachLocation(int index, LocationInterface loc) {
+		if (loc instanceof Location) {
+			((Location) loc).setBoard(this, index);
+		}
+	}
+
+	// Copies any LocationInterface into a Location, so that the clone belongs to us
 	private Location cloneLocation(LocationInterface oldLoc) {
 		// Return null if we are given a null value
 		if (oldLoc == null || !oldLoc.isValid()) {
 			return null;
 		}
 
+		// Our own locations can copy their piece counts in one go
+		if (oldLoc instanceof Location) {
+			return new Location((Location) oldLoc);
+		}
+
 		Location locClone = new Location(oldLoc.getName()); // Don't need to clone string's as they are immutable
-		locClone.setMixed(true); // If we set the location to be mixed then we can add multiple colours to it (needed in case the location is in an invalid state)
+		locClone.setMixed(oldLoc.isMixed());
 
-		// Add colours to the locations
+		// Set the number of pieces of each colour directly, rather than adding them one at a time
 		for (Colour c : Colour.values()) {
-			if (oldLoc.numberOfPieces(c) > 0) {
-				try {
-					// Add the pieces to the location
-					int numPieces = oldLoc.numberOfPieces(c);
-					for (int i = 0; i < numPieces; i++) {
-						locClone.addPieceGetKnocked(c);
-					}
-				} catch (IllegalMoveException e) {
-					// Shouldn't get to this point
-					System.out.println("Error when cloning Location");
-					return null;
-				}
-			}
+			locClone.setNumberOfPieces(c, oldLoc.numberOfPieces(c));
 		}
 
-		// We can now set isMixed, since we have put all the pieces into the location
-		locClone.setMixed(oldLoc.isMixed());
-
 		return locClone;
 	}
 
+	// Enforce the rules on the dice values given for a turn, and make sure every move in the turn has a dice roll corresponding to it
+	// Static so that other implementations of BoardInterface validate turns in the same way
+	static void checkTurnDice(TurnInterface turn, List<Integer> diceValues) throws IllegalTurnException {
+		// Create maps for diceValues and turn (maps dice roll --> number of occurrences)
+		Map<Integer, Integer> diceMap = Misc.valuesToMap(diceValues);
+		Map<Integer, Integer> turnMap = turnToMap(turn);
+
+		// Enforce rules on dice rolls
+		if (diceValues.size() == 4) {
+			if (diceMap.size() != 1) {
+				throw new IllegalTurnException("If 4 dice rolls are given then they must all contain the same dice roll");
+			}
+		} else if (diceValues.size() != 2) {
+			throw new IllegalTurnException("Incorrect amount of dice values given (" + Integer.toString(diceValues.size()) + ")");
+		} else if (diceMap.size() == 1) {
+			throw new IllegalTurnException("2 dice of the same value cannot be given, 4 must be provided instead for a double");
+		}
+
+		// Make sure that the number of moves is less than the number of dice rolls (could contain less moves if attempting to win the game)
+		for (Integer roll : turnMap.keySet()) {
+			if (!diceMap.containsKey(roll) || turnMap.get(roll) > diceMap.get(roll)) {
+				throw new IllegalTurnException("For each move there must be a unique dice roll corresponding to it");
+			}
+		}
+	}
+
 	// Returns a map from turn for takeTurn
 	// We can't use Misc.valuesToMap as we need to extract the values from the move (we could create a new list, but that would waste memory and time)
-	private Map<Integer, Integer> turnToMap(TurnInterface turn) {
+	private static Map<Integer, Integer> turnToMap(TurnInterface turn) {
 		Map<Integer, Integer> turnMap = new HashMap<Integer, Integer>();
 
 		for (MoveInterface move : turn.getMoves()) {
@@ -564,7 +730,7 @@ public class Board implements BoardInterface {
 	}
 
 	// Pad the string until it is the length specified. Pads the string centrally
-	private String padString(String s, int length) {
+	private static String padString(String s, int length) {
 		StringBuilder sb = new StringBuilder(s);
 		boolean addToEnd = true;
 
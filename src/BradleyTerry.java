@@ -0,0 +1,214 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Bradley-Terry ratings for a set of players, fitted from the number of games each player won against every other player
+ * The model is that player i beats player j with probability s_i / (s_i + s_j), which is the same as the Elo model with rating = 400 * log10(s_i)
+ * The strengths are fitted with the MM algorithm (Hunter 2004) and shifted so that the average rating is 0
+ * Confidence intervals come from the Fisher information of the fit (the covariance is its pseudo-inverse, as only rating differences are known)
+ */
+public class BradleyTerry {
+	private static final int MAX_ITERATIONS = 10000;
+	private static final double TOLERANCE = 1e-10;
+	private static final double PRIOR_WINS = 0.5; // Added to both players of every pairing that was played, so a player that won or lost every game has a finite rating
+	private static final double ELO_PER_UNIT = 400 / Math.log(10); // Converts a natural log strength to an Elo rating
+	private static final double Z_95 = 1.96;
+
+	private final int players;
+	private final double[] strengths; // Natural log of the strength, averaging 0
+	private final double[] errors; // Standard error of each log strength (NaN if the player can't be rated)
+
+	// wins[i][j] is the number of games player i won against player j
+	public BradleyTerry(int[][] wins) {
+		players = wins.length;
+		for (int[] row : wins) {
+			if (row.length != players) {
+				throw new IllegalArgumentException("The wins must be a square matrix");
+			}
+		}
+
+		// Add the prior and work out the total games between each pair
+		double[][] w = new double[players][players];
+		double[][] n = new double[players][players];
+		for (int i = 0; i < players; i++) {
+			for (int j = 0; j < players; j++) {
+				if (i != j && wins[i][j] + wins[j][i] > 0) {
+					w[i][j] = wins[i][j] + PRIOR_WINS;
+					n[i][j] = wins[i][j] + wins[j][i] + 2 * PRIOR_WINS;
+				}
+			}
+		}
+
+		strengths = fitStrengths(w, n);
+		errors = fitErrors(n);
+	}
+
+	public int size() {
+		return players;
+	}
+
+	public double getElo(int player) {
+		return strengths[player] * ELO_PER_UNIT;
+	}
+
+	// Returns the half width of the 95% confidence interval of the Elo rating
+	public double getEloError(int player) {
+		return errors[player] * ELO_PER_UNIT * Z_95;
+	}
+
+	// Returns the probability that player a beats player b
+	public double getWinProbability(int a, int b) {
+		return 1 / (1 + Math.exp(strengths[b] - strengths[a]));
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private double[] fitStrengths(double[][] w, double[][] n) {
+		double[] gamma = new double[players];
+		double[] totalWins = new double[players];
+		for (int i = 0; i < players; i++) {
+			gamma[i] = 1;
+			for (int j = 0; j < players; j++) {
+				totalWins[i] += w[i][j];
+			}
+		}
+
+		// MM iterations: gamma_i = W_i / sum_j (n_ij / (gamma_i + gamma_j))
+		for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+			double[] next = new double[players];
+			double logSum = 0;
+			int rated = 0;
+
+			for (int i = 0; i < players; i++) {
+				double denominator = 0;
+				for (int j = 0; j < players; j++) {
+					if (n[i][j] > 0) {
+						denominator += n[i][j] / (gamma[i] + gamma[j]);
+					}
+				}
+
+				// A player with no games keeps the average strength
+				if (denominator > 0) {
+					next[i] = totalWins[i] / denominator;
+					logSum += Math.log(next[i]);
+					rated++;
+				} else {
+					next[i] = 1;
+				}
+			}
+
+			// Normalise so that the geometric mean of the rated players is 1
+			double scale = Math.exp(rated > 0 ? logSum / rated : 0);
+			double change = 0;
+			for (int i = 0; i < players; i++) {
+				next[i] /= scale;
+				change = Math.max(change, Math.abs(Math.log(next[i] / gamma[i])));
+			}
+
+			gamma = next;
+			if (change < TOLERANCE) {
+				break;
+			}
+		}
+
+		double[] logStrengths = new double[players];
+		for (int i = 0; i < players; i++) {
+			logStrengths[i] = Math.log(gamma[i]);
+		}
+
+		return logStrengths;
+	}
+
+	private double[] fitErrors(double[][] n) {
+		// Only players with games can be rated, the others have no error
+		double[] standardErrors = new double[players];
+		List<Integer> rated = new ArrayList<Integer>();
+		for (int i = 0; i < players; i++) {
+			standardErrors[i] = Double.NaN;
+			for (int j = 0; j < players; j++) {
+				if (n[i][j] > 0) {
+					rated.add(i);
+					break;
+				}
+			}
+		}
+
+		// Fisher information of the log strengths, H_ii = sum_j n_ij p_ij p_ji and H_ij = -n_ij p_ij p_ji
+		// H has a null space of the all ones vector, so the pseudo-inverse is (H + J/k)^-1 - J/k, where J is all ones
+		int k = rated.size();
+		double[][] h = new double[k][k];
+		for (int a = 0; a < k; a++) {
+			for (int b = 0; b < k; b++) {
+				int i = rated.get(a);
+				int j = rated.get(b);
+				if (i != j && n[i][j] > 0) {
+					double p = getWinProbability(i, j);
+					double information = n[i][j] * p * (1 - p);
+					h[a][a] += information;
+					h[a][b] -= information;
+				}
+				h[a][b] += 1.0 / k;
+			}
+		}
+
+		// A singular matrix means the players can't all be compared with each other (eg. two separate groups)
+		double[][] inverse = invert(h);
+		if (inverse != null) {
+			for (int a = 0; a < k; a++) {
+				standardErrors[rated.get(a)] = Math.sqrt(Math.max(0, inverse[a][a] - 1.0 / k));
+			}
+		}
+
+		return standardErrors;
+	}
+
+	// Gauss-Jordan elimination with partial pivoting, returns null if the matrix is singular
+	private static double[][] invert(double[][] matrix) {
+		int size = matrix.length;
+		double[][] a = new double[size][];
+		double[][] inverse = new double[size][size];
+		for (int i = 0; i < size; i++) {
+			a[i] = matrix[i].clone();
+			inverse[i][i] = 1;
+		}
+
+		for (int col = 0; col < size; col++) {
+			int pivot = col;
+			for (int row = col + 1; row < size; row++) {
+				if (Math.abs(a[row][col]) > Math.abs(a[pivot][col])) {
+					pivot = row;
+				}
+			}
+			if (Math.abs(a[pivot][col]) < 1e-12) {
+				return null;
+			}
+
+			double[] temp = a[col];
+			a[col] = a[pivot];
+			a[pivot] = temp;
+			temp = inverse[col];
+			inverse[col] = inverse[pivot];
+			inverse[pivot] = temp;
+
+			double divisor = a[col][col];
+			for (int k = 0; k < size; k++) {
+				a[col][k] /= divisor;
+				inverse[col][k] /= divisor;
+			}
+
+			for (int row = 0; row < size; row++) {
+				if (row != col && a[row][col] != 0) {
+					double factor = a[row][col];
+					for (int k = 0; k < size; k++) {
+						a[row][k] -= factor * a[col][k];
+						inverse[row][k] -= factor * inverse[col][k];
+					}
+				}
+			}
+		}
+
+		return inverse;
+	}
+}
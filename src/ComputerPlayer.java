@@ -1,4 +1,4 @@
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -6,7 +6,9 @@ import java.util.Set;
 import javafx.application.Platform;
 
 /*
- * This class was designed to depend only on the interfaces given, so contains duplicates of Misc.copyList and Board.getMaximumMoves
+ * This class was designed to depend only on the interfaces given
+ * The exceptions are generating turns, which walks a single board using UndoableBoardInterface (through Board.toUndoableCopy and TurnGenerator) rather than cloning the board for every move
+ * and the maximum number of moves, which is shared with the board's own validation through MaxMovesOracle
  * Testing showed the player performed 400+ turns per second (including processing of the game) on a stock 4790k
  */
 public class ComputerPlayer implements PlayerInterface {
@@ -28,10 +30,12 @@ public class ComputerPlayer implements PlayerInterface {
 	private static final double[] WEIGHT_BLOCKING_START = { 0.1, 0.2, 0.4, 0.5 };
 	private static final double WEIGHT_BLOCKING_START_OPP_BEHIND_MULT = 1.5;
 
+	// Generates the turns for every call, so that its buffers are only created once
+	private final TurnGenerator generator = new TurnGenerator();
+
 	// Rather than passing variables around, store the commonly used ones
 	private BoardInterface boardBefore;
 	private Colour colour;
-	private List<Integer> diceValues;
 	private int lastOpponentBefore;
 	private double scoreDoublesBefore;
 
@@ -51,10 +55,12 @@ public class ComputerPlayer implements PlayerInterface {
 			GUIMain guiMain = (GUIMain) GUIBase.getControllers().get("main");
 
 			if (guiMain != null) {
+				// The board may be a live view of the game's board, so the GUI is given a copy as the game can carry on before this runs
+				BoardInterface snapshot = board.clone();
 				Platform.runLater(new Runnable() {
 					public void run() {
 						guiMain.updateText();
-						guiMain.updateLocations(board);
+						guiMain.updateLocations(snapshot);
 					}
 				});
 			}
@@ -69,58 +75,138 @@ public class ComputerPlayer implements PlayerInterface {
 		}
 
 		// Implementation: Generate all possible turns, assign a score to each one, pick highest scoring valid turn
-		// Get all the valid turns
-		int movesRequired = getMaximumMoves(board, colour, diceValues);
-		List<TurnInterface> posTurns = getValidTurns(board, colour, diceValues, new Turn(), movesRequired);
+		// The turns are scored as they are generated, so only the best turn so far is kept (the first one found if scores are equal)
+		// Turns are generated on a copy of the board, and the board given is only read when scoring them (so it is the only copy)
+		// Once the generator returns a turn its board is in the position after the turn, so the turn is scored on that board
+		UndoableBoardInterface searchBoard = Board.toUndoableCopy(board);
+		generator.start(searchBoard, colour, diceValues);
+		startScoring(colour, board);
+
+		boolean foundTurn = false;
+		int bestTurn = PackedTurn.EMPTY;
+		double maxValue = 0;
+		while (generator.hasNext()) {
+			int turn = generator.nextInt();
+			double score = scoreTurn(new PackedTurn(turn), searchBoard);
+			if (!foundTurn || score > maxValue) {
+				foundTurn = true;
+				bestTurn = turn;
+				maxValue = score;
+			}
+		}
 
-		if (posTurns.size() == 0) {
+		// Return the turn with the highest score
+		if (!foundTurn) {
 			return new Turn();
 		}
 
-		// Setup variables and perform initial analysis on the board (that doesn't depend on an individual turn)
-		this.boardBefore = board;
-		this.diceValues = diceValues;
-		this.colour = colour;
-		this.lastOpponentBefore = getLastLocation(board, colour.otherColour());
-		this.scoreDoublesBefore = scoreDoublesOnFirstLocs(board, colour, lastOpponentBefore);
+		return new PackedTurn(bestTurn);
+	}
+
+	/*
+	 * PACKAGE METHODS (used by players that search further ahead, eg. ComputerPlayerExpectimax)
+	 */
+
+	// Generate all the valid turns packed by PackedTurn, with one turn for each different position that can be reached (see TurnGenerator to generate them one at a time)
+	int[] generatePackedTurns(Colour colour, UndoableBoardInterface board, List<Integer> diceValues) {
+		generator.start(board, colour, diceValues);
+		TurnBuffer posTurns = new TurnBuffer();
+		while (generator.hasNext()) {
+			posTurns.add(generator.nextInt());
+		}
+
+		return posTurns.toArray();
+	}
+
+	// Score packed turns generated by generatePackedTurns, the scores are in the same order as the turns
+	// Each turn is taken on a single copy of the board, and undone once it has been scored
+	double[] scorePackedTurns(Colour colour, UndoableBoardInterface board, int[] turns) {
+		startScoring(colour, board);
+
+		UndoableBoardInterface boardAfter = (UndoableBoardInterface) board.clone();
+		int[] undoRecords = new int[PackedTurn.MAX_MOVES];
+		double[] scores = new double[turns.length];
+		for (int i = 0; i < turns.length; i++) {
+			scores[i] = scoreUndoableTurn(turns[i], boardAfter, undoRecords);
+		}
 
-		// Score the turns
-		List<Double> scores = new ArrayList<Double>();
-		for (TurnInterface turn : posTurns) {
-			scores.add(scoreTurn(turn));
+		return scores;
+	}
+
+	// Returns the indexes of the (up to) n highest scores, highest first
+	static int[] getBestTurns(double[] scores, int n) {
+		int[] best = new int[Math.min(n, scores.length)];
+		int size = 0;
+
+		for (int i = 0; i < scores.length; i++) {
+			// Find where the score belongs in the list (earlier turns are kept first when scores are equal)
+			int pos = size;
+			while (pos > 0 && scores[best[pos - 1]] < scores[i]) {
+				pos--;
+			}
+
+			if (pos < best.length) {
+				// Move the lower scores along (dropping the last one if the list is full)
+				int end = Math.min(size, best.length - 1);
+				System.arraycopy(best, pos, best, pos + 1, end - pos);
+				best[pos] = i;
+				size = end + 1;
+			}
 		}
 
-		// Find the maximum score
-		int index = 0;
-		double maxValue = scores.get(0);
-		for (int i = 1; i < scores.size(); i++) {
-			if (scores.get(i) > maxValue) {
-				maxValue = scores.get(i);
-				index = i;
+		return best;
+	}
+
+	// A turn (packed by PackedTurn) wins if it takes the rest of the pieces to the end location
+	static boolean isWinningTurn(BoardInterface board, Colour colour, int packedTurn) {
+		int numEnd = board.getEndLocation().numberOfPieces(colour);
+		int numMoves = PackedTurn.getNumberOfMoves(packedTurn);
+		for (int i = 0; i < numMoves; i++) {
+			int move = PackedTurn.getMove(packedTurn, i);
+			if (Move.getSourceLocation(move) + Move.getDiceValue(move) > BoardInterface.NUMBER_OF_LOCATIONS) {
+				numEnd++;
 			}
 		}
 
-		// Return the turn with the highest score
-		return posTurns.get(index);
+		return numEnd >= BoardInterface.PIECES_PER_PLAYER;
 	}
 
-	private TurnInterface cloneTurn(TurnInterface turn) {
-		TurnInterface newTurn = new Turn();
+	/*
+	 * PRIVATE METHODS
+	 */
 
-		for (MoveInterface move : turn.getMoves()) {
-			try {
-				MoveInterface newMove = new Move();
-				newMove.setSourceLocation(move.getSourceLocation());
-				newMove.setDiceValue(move.getDiceValue());
-				newTurn.addMove(newMove);
-			} catch (Exception e) {
-				// This should never be reached
-				System.out.println("Error when cloning a turn");
-				System.out.println(e.toString());
+	// Take the packed turn on the board, score it, and then undo it
+	// The turn was generated by searching the board so it doesn't need to be validated again
+	private double scoreUndoableTurn(int packedTurn, UndoableBoardInterface board, int[] undoRecords) {
+		int numMoves = PackedTurn.getNumberOfMoves(packedTurn);
+		int numMade = 0;
+		double score;
+		try {
+			for (int i = 0; i < numMoves; i++) {
+				undoRecords[numMade] = board.makeUndoableMove(colour, Move.valueOf(PackedTurn.getMove(packedTurn, i)));
+				numMade++;
 			}
+			score = scoreTurn(new PackedTurn(packedTurn), board);
+		} catch (IllegalMoveException e) {
+			// This should never be reached
+			System.out.println("Logic error scoring a turn (could not perform a turn)");
+			score = -1000;
 		}
 
-		return newTurn;
+		// Undo the moves in the reverse order they were made
+		for (int i = numMade - 1; i >= 0; i--) {
+			board.undoMove(undoRecords[i]);
+		}
+
+		return score;
+	}
+
+	// Setup variables and perform initial analysis on the board (that doesn't depend on an individual turn)
+	private void startScoring(Colour colour, BoardInterface board) {
+		this.boardBefore = board;
+		this.colour = colour;
+		this.lastOpponentBefore = getLastLocation(board, colour.otherColour());
+		this.scoreDoublesBefore = scoreDoublesOnFirstLocs(board, colour, lastOpponentBefore);
 	}
 
 	/**
@@ -235,42 +321,6 @@ public class ComputerPlayer implements PlayerInterface {
 		return 0;
 	}
 
-	// Recursively generate turns. Returns a list of valid turns (needs a lot of arguments due to recursive nature)
-	private List<TurnInterface> getValidTurns(BoardInterface b, Colour colour, List<Integer> diceValues, TurnInterface curTurn, int movesRequired) {
-		List<TurnInterface> turns = new ArrayList<TurnInterface>();
-		Set<MoveInterface> posMoves = b.possibleMoves(colour, diceValues);
-
-		for (MoveInterface move : posMoves) {
-			// Copy the board and make a move
-			BoardInterface newB = b.clone();
-			TurnInterface newT = cloneTurn(curTurn);
-
-			try {
-				newB.makeMove(colour, move);
-				newT.addMove(move);
-			} catch (Exception e) {
-				// Should never be reached
-				System.out.println("Logic error when generating possible turns");
-				System.out.println(e.toString());
-				continue;
-			}
-
-			// Copy the dice values and remove the die used
-			List<Integer> diceValuesCopy = copyList(diceValues);
-			diceValuesCopy.remove((Integer) move.getDiceValue()); // Casting is required since we want to remove the object, not the object at the location of the primitive (int)
-
-			// Recursively call itself if we have not reached the base case
-			if (newT.getMoves().size() == movesRequired) {
-				turns.add(newT);
-			} else {
-				List<TurnInterface> recursiveTurns = getValidTurns(newB, colour, diceValuesCopy, newT, movesRequired);
-				turns.addAll(recursiveTurns);
-			}
-		}
-
-		return turns;
-	}
-
 	// Doubles that are immediately after the start/knocked location are much better doubles
 	private double scoreDoublesOnFirstLocs(BoardInterface board, Colour colour, int lastOpponent) {
 		int doubleCount = 0;
@@ -308,7 +358,8 @@ public class ComputerPlayer implements PlayerInterface {
 		return score;
 	}
 
-	private double scoreTurn(TurnInterface turn) {
+	// Score a turn, boardAfter is the board once the turn has been taken
+	private double scoreTurn(TurnInterface turn, BoardInterface boardAfter) {
 		/*
 		 * Things that are good:
 		 * Winning the game - doesn't need to be checked for (due to the way the turns are generated)
@@ -324,16 +375,6 @@ public class ComputerPlayer implements PlayerInterface {
 		 * We can score these things using weights (addition/subtraction), coefficients (multiplication), and other formulae
 		 */
 
-		// Get the board after the turn has been taken
-		BoardInterface boardAfter = boardBefore.clone();
-		try {
-			boardAfter.takeTurn(colour, turn, diceValues);
-		} catch (IllegalTurnException e) {
-			// This should never be reached
-			System.out.println("Logic error scoring a turn (could not perform a turn)");
-			return -1000;
-		}
-
 		double scoreKnocked = 0;
 		boolean allPiecesOut = (boardAfter.getStartLocation().numberOfPieces(colour) == 0);
 
@@ -420,54 +461,20 @@ public class ComputerPlayer implements PlayerInterface {
 		return score;
 	}
 
-	/*
-	 * Duplicate methods so that this class works on its own
-	 */
-	private int getMaximumMoves(BoardInterface b, Colour colour, List<Integer> diceValues) {
-		// Get the possible moves
-		Set<MoveInterface> posMoves = b.possibleMoves(colour, diceValues);
-
-		// The maximum number of moves we can make with the current diceValues
-		int maxValue = 0;
-
-		for (MoveInterface move : posMoves) {
-			// Copy the board and make a move
-			BoardInterface newB = b.clone();
-			try {
-				newB.makeMove(colour, move);
-			} catch (IllegalMoveException e) {
-				// Should never be reached
-				System.out.println("Logic error when computing maximum number of possible moves");
-				System.out.println(e.toString());
-				continue;
-			}
-
-			// Copy the dice values and remove the die used
-			List<Integer> diceValuesCopy = copyList(diceValues);
-			diceValuesCopy.remove((Integer) move.getDiceValue()); // Casting is required since we want to remove the object, not the object at the location of the primitive (int)
+	// A list of packed turns that grows as turns are added
+	private static final class TurnBuffer {
+		private int[] turns = new int[16];
+		private int size;
 
-			// Recursively call itself
-			int val = getMaximumMoves(newB, colour, diceValuesCopy) + 1;
-
-			// Update the maximum value
-			if (val > maxValue) {
-				maxValue = val;
-				if (maxValue == diceValues.size()) {
-					return maxValue;
-				}
+		private void add(int packedTurn) {
+			if (size == turns.length) {
+				turns = Arrays.copyOf(turns, size * 2);
 			}
+			turns[size++] = packedTurn;
 		}
 
-		return maxValue;
-	}
-
-	private List<Integer> copyList(List<Integer> originalList) {
-		List<Integer> newList = new ArrayList<Integer>();
-
-		for (Integer i : originalList) {
-			newList.add(i);
+		private int[] toArray() {
+			return Arrays.copyOf(turns, size);
 		}
-
-		return newList;
 	}
 }
@@ -0,0 +1,236 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Computer player that looks ahead at the replies to its turns (expectimax)
+ * Turns are generated and scored by ComputerPlayer, and the expected score of the opponent's best reply is subtracted from each turn's score
+ * The expectation is taken over every distinct roll (21 for 6 sided dice), weighted by the probability of the roll
+ * Depth is the number of turns looked at: 1 plays the same as ComputerPlayer, 2 includes the opponent's reply, 3 includes our reply to that, etc.
+ * Only the beamWidth highest scoring turns are looked at further, the rest are ignored
+ * Turns are kept packed by PackedTurn in an int[], with their scores in a double[]
+ * The rolls are searched in parallel on a ForkJoinPool with the given number of threads (shared with other players, see Misc.getSearchPool)
+ */
+public class ComputerPlayerExpectimax implements PlayerInterface {
+	public static final int DEFAULT_DEPTH = 2;
+	public static final int DEFAULT_BEAM_WIDTH = 6;
+	private static final double SCORE_WIN = 100; // Added to a turn that wins the game (much larger than any score from ComputerPlayer)
+
+	private final int depth;
+	private final int beamWidth;
+	private final ForkJoinPool pool;
+
+	public ComputerPlayerExpectimax() {
+		this(DEFAULT_DEPTH, Runtime.getRuntime().availableProcessors());
+	}
+
+	public ComputerPlayerExpectimax(int depth, int threads) {
+		this(depth, threads, DEFAULT_BEAM_WIDTH);
+	}
+
+	public ComputerPlayerExpectimax(int depth, int threads, int beamWidth) {
+		if (depth < 1 || threads < 1 || beamWidth < 1) {
+			throw new IllegalArgumentException("Depth, threads and beam width must be at least 1");
+		}
+
+		this.depth = depth;
+		this.beamWidth = beamWidth;
+		this.pool = Misc.getSearchPool(threads);
+	}
+
+	@Override
+	public TurnInterface getTurn(Colour colour, BoardInterface board, List<Integer> diceValues) throws PauseException {
+		// Check if the thread has been interrupted (eg. closing the gui), in which case throw a pause exception
+		if (Thread.currentThread().isInterrupted()) {
+			throw new PauseException("Thread interrupted");
+		}
+
+		// If arguments are null or invalid then return a turn without any moves
+		if (colour == null || board == null || diceValues == null || !board.isValid() || (diceValues.size() != 2 && diceValues.size() != 4)) {
+			System.out.println("The computer player received invalid arguments");
+			return new Turn();
+		}
+
+		// Generate and score the turns in the same way as ComputerPlayer
+		// The board is copied once, since the searches make moves on it (the board is restored once each search has finished)
+		UndoableBoardInterface undoableBoard = Board.toUndoableCopy(board);
+		ComputerPlayer scorer = new ComputerPlayer();
+		int[] turns = scorer.generatePackedTurns(colour, undoableBoard, diceValues);
+
+		if (turns.length == 0) {
+			return new Turn();
+		}
+
+		double[] scores = scorer.scorePackedTurns(colour, undoableBoard, turns);
+		if (depth == 1 || turns.length == 1) {
+			return new PackedTurn(turns[ComputerPlayer.getBestTurns(scores, 1)[0]]);
+		}
+
+		// Look ahead at the best turns, the searches are run on the pool
+		int[] candidates = ComputerPlayer.getBestTurns(scores, beamWidth);
+		List<TurnTask> tasks = new ArrayList<TurnTask>();
+		for (int index : candidates) {
+			TurnTask task = new TurnTask(undoableBoard, colour, turns[index], scores[index], depth - 1);
+			tasks.add(task);
+			pool.execute(task);
+		}
+
+		// Pick the turn with the highest value
+		int bestIndex = candidates[0];
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < tasks.size(); i++) {
+			double value = tasks.get(i).join();
+			if (value > bestValue) {
+				bestValue = value;
+				bestIndex = candidates[i];
+			}
+		}
+
+		return new PackedTurn(turns[bestIndex]);
+	}
+
+	public int getDepth() {
+		return depth;
+	}
+
+	public int getThreads() {
+		return pool.getParallelism();
+	}
+
+	public int getBeamWidth() {
+		return beamWidth;
+	}
+
+	/*
+	 * SEARCH TASKS
+	 * The value of a turn is its score minus the expected value of the opponent's reply (ExpectationTask)
+	 * The expected value is the weighted average over the rolls of the best value available for that roll (RollTask)
+	 */
+
+	// Value of taking a turn (packed by PackedTurn), with depth turns left to look at afterwards
+	private class TurnTask extends RecursiveTask<Double> {
+		private static final long serialVersionUID = 1L;
+
+		private final UndoableBoardInterface board;
+		private final Colour colour;
+		private final int turn;
+		private final double score;
+		private final int depth;
+
+		private TurnTask(UndoableBoardInterface board, Colour colour, int turn, double score, int depth) {
+			this.board = board;
+			this.colour = colour;
+			this.turn = turn;
+			this.score = score;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Double compute() {
+			if (ComputerPlayer.isWinningTurn(board, colour, turn)) {
+				return score + SCORE_WIN;
+			}
+			if (depth == 0) {
+				return score;
+			}
+
+			// Take the turn on a copy of the board, and subtract the value of the opponent's reply
+			UndoableBoardInterface boardAfter = (UndoableBoardInterface) board.clone();
+			try {
+				boardAfter.applyTrustedTurn(colour, new PackedTurn(turn));
+			} catch (IllegalMoveException e) {
+				// This should never be reached
+				System.out.println("Logic error when looking ahead at a turn");
+				return Double.NEGATIVE_INFINITY;
+			}
+
+			return score - new ExpectationTask(boardAfter, colour.otherColour(), depth).invoke();
+		}
+	}
+
+	// Expected value of the best turn colour can take, over all the rolls
+	private class ExpectationTask extends RecursiveTask<Double> {
+		private static final long serialVersionUID = 1L;
+
+		private final UndoableBoardInterface board;
+		private final Colour colour;
+		private final int depth;
+
+		private ExpectationTask(UndoableBoardInterface board, Colour colour, int depth) {
+			this.board = board;
+			this.colour = colour;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Double compute() {
+			// Each roll is searched on its own copy of the board
+			List<RollTask> tasks = new ArrayList<RollTask>();
+			for (List<Integer> roll : Misc.getDistinctRolls()) {
+				tasks.add(new RollTask((UndoableBoardInterface) board.clone(), colour, roll, depth));
+			}
+			invokeAll(tasks);
+
+			double expected = 0;
+			for (int i = 0; i < tasks.size(); i++) {
+				expected += Misc.getRollProbability(i) * tasks.get(i).join();
+			}
+
+			return expected;
+		}
+	}
+
+	// Value of the best turn colour can take with the roll
+	private class RollTask extends RecursiveTask<Double> {
+		private static final long serialVersionUID = 1L;
+
+		private final UndoableBoardInterface board;
+		private final Colour colour;
+		private final List<Integer> roll;
+		private final int depth;
+
+		private RollTask(UndoableBoardInterface board, Colour colour, List<Integer> roll, int depth) {
+			this.board = board;
+			this.colour = colour;
+			this.roll = roll;
+			this.depth = depth;
+		}
+
+		@Override
+		protected Double compute() {
+			ComputerPlayer scorer = new ComputerPlayer();
+			int[] turns = scorer.generatePackedTurns(colour, board, roll);
+
+			// If no moves can be made then the turn passes straight to the other colour
+			if (turns.length == 0) {
+				if (depth == 1) {
+					return 0.0;
+				}
+				return -new ExpectationTask(board, colour.otherColour(), depth - 1).invoke();
+			}
+
+			double[] scores = scorer.scorePackedTurns(colour, board, turns);
+			int[] candidates = ComputerPlayer.getBestTurns(scores, (depth == 1) ? scores.length : beamWidth);
+
+			// Without further lookahead the best turn is the highest scoring one (unless another turn wins)
+			List<TurnTask> tasks = new ArrayList<TurnTask>();
+			for (int index : candidates) {
+				tasks.add(new TurnTask(board, colour, turns[index], scores[index], depth - 1));
+			}
+			if (depth > 1) {
+				invokeAll(tasks);
+			}
+
+			double bestValue = Double.NEGATIVE_INFINITY;
+			for (TurnTask task : tasks) {
+				double value = (depth > 1) ? task.join() : task.compute();
+				if (value > bestValue) {
+					bestValue = value;
+				}
+			}
+
+			return bestValue;
+		}
+	}
+}
@@ -35,78 +35,70 @@ public class ComputerPlayerKieran extends Player{
         if (maxUsableDice == 0) {
             return turn;
         }
-        //Object[] = {List<MoveInterface>, <BoardInterface> board after moves, List<Integer> dice values remaining}
-        List<Object[]> allTurns = new ArrayList<>();
-        //get all 1 move turns
-        allTurns.addAll(addToTurn(new ArrayList<>(), board, diceValues, maxUsableDice));
-        //extend turns as far as possible until they meet the legal dice requirement
-        for (int i = 1; i<maxUsableDice; i++){
-            List<Object[]> newTurns = new ArrayList<>();
-            //go through all existing turns and try to extend them by 1 move, storing the valid ones
-            for (Object[] turnConditions: allTurns){
-                newTurns.addAll(addToTurn((List<MoveInterface>)turnConditions[0], (BoardInterface)turnConditions[1], (List<Integer>)turnConditions[2], maxUsableDice));
-            }
-            //update all turns to hold the extended turns using more dice values
-            allTurns.clear();
-            allTurns.addAll(newTurns);
-        }
+        //score against the board given, and walk a single copy of it making and undoing moves
+        BoardInterface originalBoard = board;
+        UndoableBoardInterface searchBoard = Board.toUndoableCopy(board);
 
-        //make the final turn objects and score them.
-        List<TurnInterface> turns = new ArrayList<>();
-        List<Integer> scores = new ArrayList<>();
-        for (Object[] turnConditions: allTurns){
-            Turn t = new Turn();
-            for (MoveInterface m: (List<MoveInterface>)turnConditions[0]){
-                try {
-                    t.addMove(m);
-                } catch (IllegalTurnException e){
-                    //cannot happen
-                    e.printStackTrace();
-                }
-            }
-            turns.add(t);
-            scores.add(scoreBoard((BoardInterface) turnConditions[1], board));
+        //extend turns as far as possible until they meet the legal dice requirement, scoring each turn once it is complete
+        //only the best turn so far is kept (the first one found if scores are equal)
+        BestTurn best = new BestTurn();
+        addToTurn(new ArrayList<>(), searchBoard, new ArrayList<>(diceValues), maxUsableDice, originalBoard, best);
+
+        //return the turn with the best score
+        if (best.turn == null){
+            return turn;
         }
-        //select the turn with the best score and return it
-        int maxScoreIndex = Collections.max(scores);
-        return turns.get(scores.indexOf(maxScoreIndex));
+        return best.turn;
     }
 
-    private List<Object[]> addToTurn(List<MoveInterface> existingTurn, BoardInterface boardBeforeMove, List<Integer> diceBeforeTurn, int maxUsableDice){
-        List<Object[]> newTurns = new ArrayList<>();
-        //take the board before the move, attempt all moves,
+    private void addToTurn(List<MoveInterface> existingTurn, UndoableBoardInterface board, List<Integer> dice, int maxUsableDice, BoardInterface originalBoard, BestTurn best){
+        //attempt all moves on the board,
         //if maxUsableDice only reduce by one move will lead to a valid turn
-        //add updated move list, board and remaining dice to a list
-        for (MoveInterface move: boardBeforeMove.possibleMoves(colour, diceBeforeTurn)){
-            BoardInterface tempBoard = boardBeforeMove.clone();
+        //either score the completed turn or extend it further, then undo the move
+        for (MoveInterface move: board.possibleMoves(colour, dice)){
+            int undoRecord;
             try {
-                tempBoard.makeMove(colour, move);
+                undoRecord = board.makeUndoableMove(colour, move);
             } catch (IllegalMoveException e){
-                //cannot happen as move is from possibleMoves of tempBoard
+                //cannot happen as move is from possibleMoves of board
                 e.printStackTrace();
+                continue;
             }
-            List<Integer> diceAfterMove = cloneDiceRemove(diceBeforeTurn, move.getDiceValue());
-            //make sure the move done is leading to a viable move - save the move if it is
-            if (maxUsableDice(diceAfterMove, tempBoard, colour) +1 == maxUsableDice-existingTurn.size()){
-                Object[] updatedTurn = {cloneMoveAdd(existingTurn, move), tempBoard, diceAfterMove};
-                newTurns.add(updatedTurn);
+            Integer diceValue = move.getDiceValue();
+            dice.remove(diceValue);
+            //make sure the move done is leading to a viable move - extend/save the turn if it is
+            if (maxUsableDice(dice, board, colour) +1 == maxUsableDice-existingTurn.size()){
+                existingTurn.add(move);
+                if (existingTurn.size() == maxUsableDice){
+                    //the turn is only created if it is the best so far
+                    int score = scoreBoard(board, originalBoard);
+                    if (best.turn == null || score > best.score){
+                        best.turn = createTurn(existingTurn);
+                        best.score = score;
+                    }
+                } else {
+                    addToTurn(existingTurn, board, dice, maxUsableDice, originalBoard, best);
+                }
+                existingTurn.remove(existingTurn.size()-1);
             }
+            //restore the dice and board for the next move
+            dice.add(diceValue);
+            board.undoMove(undoRecord);
         }
-        return newTurns;
     }
 
-    private List<Integer> cloneDiceRemove(List<Integer> diceValues, int toRemove){
-        //clones the dice list and removes a desired value
-        List<Integer> newDice = new ArrayList<>(diceValues);
-        newDice.remove(newDice.indexOf(toRemove));
-        return newDice;
-    }
-
-    private List<MoveInterface> cloneMoveAdd(List<MoveInterface> moves, MoveInterface newMove){
-        //clones the move list and adds a desired move
-        List<MoveInterface> newMoves = new ArrayList<>(moves);
-        newMoves.add(newMove);
-        return newMoves;
+    private TurnInterface createTurn(List<MoveInterface> moves){
+        //makes the final turn object from the moves
+        Turn t = new Turn();
+        for (MoveInterface m: moves){
+            try {
+                t.addMove(m);
+            } catch (IllegalTurnException e){
+                //cannot happen
+                e.printStackTrace();
+            }
+        }
+        return t;
     }
 
     private int scoreBoard(BoardInterface board, BoardInterface originalBoard){
@@ -185,4 +177,10 @@ public class ComputerPlayerKieran extends Player{
         }
         return 0;
     }
+
+    //the best turn found by addToTurn and its score
+    private static class BestTurn {
+        private TurnInterface turn;
+        private int score;
+    }
 }
@@ -0,0 +1,271 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/*
+ * Computer player using Monte Carlo Tree Search, which returns the best turn found when its time budget for the turn runs out
+ * The tree alternates between decision nodes (a colour choosing a turn for a roll) and chance nodes (the position after a turn, waiting for the next roll)
+ * Decision nodes pick a turn using UCB1 on the win rate of the colour choosing, chance nodes pick a roll at random
+ * Decision nodes only consider the beamWidth turns that ComputerPlayer scores highest, and new positions are evaluated by a rollout (ComputerPlayer for both sides)
+ * The subtree for the position and roll given is kept between turns of the same game, so the search for the next turn doesn't start from nothing
+ */
+public class ComputerPlayerMCTS implements PlayerInterface {
+	public static final long DEFAULT_TIME_BUDGET = 1000;
+	public static final int DEFAULT_BEAM_WIDTH = 8;
+	private static final double EXPLORATION = 1.4; // UCB1 exploration constant (approximately sqrt(2))
+
+	private final long timeBudget; // Milliseconds per call to getTurn
+	private final int beamWidth;
+	private final SplittableRandom random;
+
+	private ChanceNode lastChoice; // The node for the turn returned last, used to find the subtree for the next turn
+	private int lastIterations;
+
+	public ComputerPlayerMCTS() {
+		this(DEFAULT_TIME_BUDGET, DEFAULT_BEAM_WIDTH, System.nanoTime());
+	}
+
+	public ComputerPlayerMCTS(long timeBudget, int beamWidth, long seed) {
+		if (timeBudget < 1 || beamWidth < 1) {
+			throw new IllegalArgumentException("Time budget and beam width must be at least 1");
+		}
+
+		this.timeBudget = timeBudget;
+		this.beamWidth = beamWidth;
+		this.random = new SplittableRandom(seed);
+		this.lastChoice = null;
+	}
+
+	@Override
+	public TurnInterface getTurn(Colour colour, BoardInterface board, List<Integer> diceValues) throws PauseException {
+		long deadline = System.currentTimeMillis() + timeBudget;
+
+		// Check if the thread has been interrupted (eg. closing the gui), in which case throw a pause exception
+		if (Thread.currentThread().isInterrupted()) {
+			throw new PauseException("Thread interrupted");
+		}
+
+		// If arguments are null or invalid then return a turn without any moves
+		if (colour == null || board == null || diceValues == null || !board.isValid() || (diceValues.size() != 2 && diceValues.size() != 4)) {
+			System.out.println("The computer player received invalid arguments");
+			return new Turn();
+		}
+
+		// Reuse the subtree from the last turn if the game has reached one of its positions, otherwise start a new tree
+		int rollIndex = Misc.getRollIndex(diceValues.get(0), diceValues.get(1));
+		DecisionNode root = findSubtree(colour, board, rollIndex);
+		if (root == null) {
+			root = new DecisionNode(new PackedBoard(board), colour, Misc.getDistinctRolls().get(rollIndex));
+		}
+
+		// Search until the time runs out (always searching at least once)
+		lastIterations = 0;
+		do {
+			iterate(root);
+			lastIterations++;
+		} while (System.currentTimeMillis() < deadline);
+
+		if (root.children.isEmpty()) {
+			lastChoice = null;
+			return new Turn();
+		}
+
+		// The most visited turn is the most reliable
+		ChanceNode best = root.children.get(0);
+		for (ChanceNode child : root.children) {
+			if (child.visits > best.visits) {
+				best = child;
+			}
+		}
+
+		lastChoice = best;
+		return new PackedTurn(best.turn);
+	}
+
+	public long getTimeBudget() {
+		return timeBudget;
+	}
+
+	// Number of iterations of the search performed in the last call to getTurn
+	public int getLastIterations() {
+		return lastIterations;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// After the last turn was chosen, the opponent rolled and took a turn, and then we rolled again
+	// Look for that position and roll in the tree, two turns below the last turn chosen
+	private DecisionNode findSubtree(Colour colour, BoardInterface board, int rollIndex) {
+		if (lastChoice == null) {
+			return null;
+		}
+
+		for (DecisionNode opponentNode : lastChoice.children) {
+			if (opponentNode == null || opponentNode.children == null) {
+				continue;
+			}
+
+			for (ChanceNode opponentTurn : opponentNode.children) {
+				if (opponentTurn.colour != colour && opponentTurn.board.equals(board)) {
+					return opponentTurn.getChild(rollIndex);
+				}
+			}
+		}
+
+		return null;
+	}
+
+	// Select a path down the tree, expand it by one node, evaluate the new node and update the nodes on the path
+	private void iterate(DecisionNode root) {
+		List<ChanceNode> path = new ArrayList<ChanceNode>();
+		DecisionNode node = root;
+		Colour winner = null;
+
+		while (true) {
+			node.expand();
+			node.visits++;
+
+			// Select a turn and take it
+			ChanceNode child = node.select();
+			path.add(child);
+
+			winner = child.board.winner();
+			if (winner != null) {
+				break;
+			}
+
+			// A new position is evaluated with a rollout
+			if (child.visits == 0) {
+				winner = rollout(child);
+				break;
+			}
+
+			// Roll the dice for the other colour
+			int value1 = random.nextInt(DieInterface.NUMBER_OF_SIDES_ON_DIE) + 1;
+			int value2 = random.nextInt(DieInterface.NUMBER_OF_SIDES_ON_DIE) + 1;
+			node = child.getChild(Misc.getRollIndex(value1, value2));
+		}
+
+		// Update the win counts from the point of view of the colour that took each turn
+		for (ChanceNode n : path) {
+			n.visits++;
+			if (n.colour == winner) {
+				n.wins++;
+			}
+		}
+	}
+
+	// Play the game out from after the turn, returns the winner (or null if the game didn't finish)
+	private Colour rollout(ChanceNode node) {
+		PlayerInterface policy = new ComputerPlayer();
+		HeadlessGame game = new HeadlessGame(policy, policy, new SeededDiceSource(random), true);
+
+		try {
+			return game.play((UndoableBoardInterface) node.board.clone(), node.colour.otherColour());
+		} catch (PauseException e) {
+			// ComputerPlayer only pauses if the thread is interrupted, which is checked for on the next turn
+			return null;
+		}
+	}
+
+	/*
+	 * TREE NODES
+	 */
+
+	// colour has rolled the dice and is choosing a turn (the board is shared with the parent node and isn't changed)
+	private class DecisionNode {
+		private final UndoableBoardInterface board;
+		private final Colour colour;
+		private final List<Integer> diceValues;
+		private List<ChanceNode> children; // Created when the node is first visited
+		private int visits;
+
+		private DecisionNode(UndoableBoardInterface board, Colour colour, List<Integer> diceValues) {
+			this.board = board;
+			this.colour = colour;
+			this.diceValues = diceValues;
+			this.children = null;
+			this.visits = 0;
+		}
+
+		// Create a child for each of the best turns, highest scoring first (so they are tried in that order)
+		private void expand() {
+			if (children != null) {
+				return;
+			}
+
+			children = new ArrayList<ChanceNode>();
+			ComputerPlayer scorer = new ComputerPlayer();
+			int[] turns = scorer.generatePackedTurns(colour, board, diceValues);
+
+			// If no moves can be made then the only option is to pass
+			if (turns.length == 0) {
+				children.add(new ChanceNode(board, colour, PackedTurn.EMPTY));
+				return;
+			}
+
+			for (int index : ComputerPlayer.getBestTurns(scorer.scorePackedTurns(colour, board, turns), beamWidth)) {
+				UndoableBoardInterface boardAfter = (UndoableBoardInterface) board.clone();
+				try {
+					boardAfter.applyTrustedTurn(colour, new PackedTurn(turns[index]));
+				} catch (IllegalMoveException e) {
+					// This should never be reached
+					System.out.println("Logic error when expanding a node");
+					continue;
+				}
+
+				children.add(new ChanceNode(boardAfter, colour, turns[index]));
+			}
+		}
+
+		// UCB1, trying every turn once first
+		private ChanceNode select() {
+			ChanceNode best = null;
+			double bestValue = Double.NEGATIVE_INFINITY;
+			double logVisits = Math.log(visits);
+
+			for (ChanceNode child : children) {
+				if (child.visits == 0) {
+					return child;
+				}
+
+				double value = child.wins / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+				if (value > bestValue) {
+					bestValue = value;
+					best = child;
+				}
+			}
+
+			return best;
+		}
+	}
+
+	// The position after colour took turn (packed by PackedTurn), waiting for the other colour to roll
+	private class ChanceNode {
+		private final UndoableBoardInterface board;
+		private final Colour colour;
+		private final int turn;
+		private final DecisionNode[] children; // Indexed by roll (see Misc.getRollIndex), created when first rolled
+		private int visits;
+		private double wins;
+
+		private ChanceNode(UndoableBoardInterface board, Colour colour, int turn) {
+			this.board = board;
+			this.colour = colour;
+			this.turn = turn;
+			this.children = new DecisionNode[Misc.getDistinctRolls().size()];
+			this.visits = 0;
+			this.wins = 0;
+		}
+
+		private DecisionNode getChild(int rollIndex) {
+			if (children[rollIndex] == null) {
+				children[rollIndex] = new DecisionNode(board, colour.otherColour(), Misc.getDistinctRolls().get(rollIndex));
+			}
+
+			return children[rollIndex];
+		}
+	}
+}
@@ -0,0 +1,210 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Computer player that estimates the probability of winning after each turn by playing the rest of the game out (Monte Carlo rollouts)
+ * Turns are generated and scored by ComputerPlayer, and rollouts are played from the beamWidth highest scoring turns
+ * The rollouts use ComputerPlayer for both sides, and are played with HeadlessGame so the board is never copied per turn
+ * Either a number of rollouts per turn, a time budget, or both can be given (whichever runs out first stops the rollouts)
+ * Rollouts are split into tasks on a ForkJoinPool (shared with other players, see Misc.getSearchPool), and every task has its own random number generator split from the seed
+ */
+public class ComputerPlayerRollout implements PlayerInterface {
+	public static final int DEFAULT_ROLLOUTS = 64;
+	public static final int DEFAULT_BEAM_WIDTH = 4;
+	private static final int ROLLOUTS_PER_TASK = 8;
+
+	private final int rollouts; // Rollouts per turn (0 = no limit, so the time budget is used)
+	private final long timeBudget; // Milliseconds per call to getTurn (0 = no limit)
+	private final int beamWidth;
+	private final ForkJoinPool pool;
+	private final SplittableRandom random;
+
+	public ComputerPlayerRollout() {
+		this(DEFAULT_ROLLOUTS, 0, Runtime.getRuntime().availableProcessors(), DEFAULT_BEAM_WIDTH, System.nanoTime());
+	}
+
+	public ComputerPlayerRollout(int rollouts, int threads, long seed) {
+		this(rollouts, 0, threads, DEFAULT_BEAM_WIDTH, seed);
+	}
+
+	public ComputerPlayerRollout(int rollouts, long timeBudget, int threads, int beamWidth, long seed) {
+		if (rollouts < 0 || timeBudget < 0 || (rollouts == 0 && timeBudget == 0)) {
+			throw new IllegalArgumentException("Either the number of rollouts or the time budget must be positive");
+		}
+		if (threads < 1 || beamWidth < 1) {
+			throw new IllegalArgumentException("Threads and beam width must be at least 1");
+		}
+
+		this.rollouts = rollouts;
+		this.timeBudget = timeBudget;
+		this.beamWidth = beamWidth;
+		this.pool = Misc.getSearchPool(threads);
+		this.random = new SplittableRandom(seed);
+	}
+
+	@Override
+	public TurnInterface getTurn(Colour colour, BoardInterface board, List<Integer> diceValues) throws PauseException {
+		// Check if the thread has been interrupted (eg. closing the gui), in which case throw a pause exception
+		if (Thread.currentThread().isInterrupted()) {
+			throw new PauseException("Thread interrupted");
+		}
+
+		// If arguments are null or invalid then return a turn without any moves
+		if (colour == null || board == null || diceValues == null || !board.isValid() || (diceValues.size() != 2 && diceValues.size() != 4)) {
+			System.out.println("The computer player received invalid arguments");
+			return new Turn();
+		}
+
+		long deadline = Long.MAX_VALUE;
+		if (timeBudget > 0) {
+			deadline = System.currentTimeMillis() + timeBudget;
+		}
+
+		// Generate and score the turns in the same way as ComputerPlayer
+		UndoableBoardInterface undoableBoard = Board.toUndoableBoard(board);
+		ComputerPlayer scorer = new ComputerPlayer();
+		int[] turns = scorer.generatePackedTurns(colour, undoableBoard, diceValues);
+
+		if (turns.length == 0) {
+			return new Turn();
+		}
+
+		int[] candidates = ComputerPlayer.getBestTurns(scorer.scorePackedTurns(colour, undoableBoard, turns), beamWidth);
+		if (candidates.length == 1) {
+			return new PackedTurn(turns[candidates[0]]);
+		}
+
+		// Take each candidate turn on a copy of the board (a turn that wins doesn't need any rollouts)
+		List<UndoableBoardInterface> boardsAfter = new ArrayList<UndoableBoardInterface>();
+		for (int index : candidates) {
+			int turn = turns[index];
+			if (ComputerPlayer.isWinningTurn(undoableBoard, colour, turn)) {
+				return new PackedTurn(turn);
+			}
+
+			UndoableBoardInterface boardAfter = (UndoableBoardInterface) undoableBoard.clone();
+			try {
+				boardAfter.applyTrustedTurn(colour, new PackedTurn(turn));
+			} catch (IllegalMoveException e) {
+				// This should never be reached
+				System.out.println("Logic error when taking a turn before rollouts");
+			}
+			boardsAfter.add(boardAfter);
+		}
+
+		// Play the rollouts in rounds, until there have been enough rollouts or the time runs out
+		// Each round gives every candidate enough tasks to keep all the threads busy
+		// Every candidate splits the random numbers for its tasks from its own generator, so the rollouts played don't depend on the number of threads
+		int[] wins = new int[candidates.length];
+		int[] played = new int[candidates.length];
+		SplittableRandom[] candidateRandoms = new SplittableRandom[candidates.length];
+		for (int i = 0; i < candidates.length; i++) {
+			candidateRandoms[i] = random.split();
+		}
+		int tasksPerCandidate = Math.max(1, (pool.getParallelism() + candidates.length - 1) / candidates.length);
+		int rolloutsLeft = (rollouts == 0) ? Integer.MAX_VALUE : rollouts;
+
+		while (rolloutsLeft > 0 && System.currentTimeMillis() < deadline) {
+			List<List<RolloutTask>> round = new ArrayList<List<RolloutTask>>();
+			int roundRollouts = (int) Math.min(rolloutsLeft, (long) tasksPerCandidate * ROLLOUTS_PER_TASK);
+
+			for (int i = 0; i < candidates.length; i++) {
+				List<RolloutTask> tasks = new ArrayList<RolloutTask>();
+
+				for (int start = 0; start < roundRollouts; start += ROLLOUTS_PER_TASK) {
+					int count = Math.min(ROLLOUTS_PER_TASK, roundRollouts - start);
+					RolloutTask task = new RolloutTask(boardsAfter.get(i), colour, count, candidateRandoms[i].split(), deadline);
+					tasks.add(task);
+					pool.execute(task);
+				}
+
+				round.add(tasks);
+			}
+
+			// Collect the results of the round
+			for (int i = 0; i < candidates.length; i++) {
+				for (RolloutTask task : round.get(i)) {
+					int[] result = task.join();
+					wins[i] += result[0];
+					played[i] += result[1];
+				}
+			}
+
+			rolloutsLeft -= roundRollouts;
+		}
+
+		// Pick the turn with the highest proportion of wins (the highest scoring turn is used if no rollouts finished)
+		int bestIndex = 0;
+		double bestRate = -1;
+		for (int i = 0; i < candidates.length; i++) {
+			if (played[i] > 0 && (double) wins[i] / played[i] > bestRate) {
+				bestRate = (double) wins[i] / played[i];
+				bestIndex = i;
+			}
+		}
+
+		return new PackedTurn(turns[candidates[bestIndex]]);
+	}
+
+	public int getRollouts() {
+		return rollouts;
+	}
+
+	public long getTimeBudget() {
+		return timeBudget;
+	}
+
+	public int getThreads() {
+		return pool.getParallelism();
+	}
+
+	/*
+	 * PRIVATE CLASSES
+	 */
+
+	// Plays count rollouts from the board (with the other colour to move), and returns { wins for colour, rollouts played }
+	private static class RolloutTask extends RecursiveTask<int[]> {
+		private static final long serialVersionUID = 1L;
+
+		private final UndoableBoardInterface board;
+		private final Colour colour;
+		private final int count;
+		private final SplittableRandom random;
+		private final long deadline;
+
+		private RolloutTask(UndoableBoardInterface board, Colour colour, int count, SplittableRandom random, long deadline) {
+			this.board = board;
+			this.colour = colour;
+			this.count = count;
+			this.random = random;
+			this.deadline = deadline;
+		}
+
+		@Override
+		protected int[] compute() {
+			// ComputerPlayer only stores information for the turn it is taking, so it can play both sides
+			PlayerInterface policy = new ComputerPlayer();
+			HeadlessGame game = new HeadlessGame(policy, policy, new SeededDiceSource(random), true);
+			int[] result = new int[2];
+
+			for (int i = 0; i < count && System.currentTimeMillis() < deadline; i++) {
+				try {
+					// Each rollout is played on its own copy of the board (the other tasks share the original)
+					Colour winner = game.play((UndoableBoardInterface) board.clone(), colour.otherColour());
+					if (winner == colour) {
+						result[0]++;
+					}
+					result[1]++;
+				} catch (PauseException e) {
+					// ComputerPlayer only pauses if the thread is interrupted
+					break;
+				}
+			}
+
+			return result;
+		}
+	}
+}
@@ -3,92 +3,123 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /*
  * Class used to test the performance of the ComputerPlayer
+ * Usage: ComputerPlayerTesting [games] [threads] [seed]
+ *    or: ComputerPlayerTesting sprt elo0 elo1 alpha beta [threads] [seed] [max games]
+ * The second form runs a sequential probability ratio test (see SPRT), which stops as soon as the test has a result
+ * The games are split into chunks (ComputerPlayerTestingChunk) which are run on a fixed size thread pool
  * Made by wrtl76
  */
 
 public class ComputerPlayerTesting {
-	// All numbers should divide into each other
-	private final static int NUM_GAMES = 10000; // How many games to run (should be even)
-	private final static int GAMES_PER_STATUS = 500; // How games should be played before outputting a status
-	private final static int NUM_THREADS = 4; // Number of threads to create (timing becomes very inaccurate if this is larger than the number of physical cores, although using more logical cores can speed up execution)
-	public final static int GAMES_PER_THREAD = NUM_GAMES / NUM_THREADS;
-	private final static int CPU_IDLE_TIME = 50; // Milliseconds to idle per loop
+	private final static int DEFAULT_GAMES = 10000; // How many games to run if not given (should be even)
+	private final static int GAMES_PER_CHUNK = 20; // How many games are handed to a thread at once (small, so threads don't sit idle at the end)
+	private final static int STATUS_UPDATES = 20; // How many times to output a status
+	public final static boolean USE_PACKED_BOARD = true; // Play the games on a PackedBoard rather than a Board (cloning the board is much cheaper)
+	private final static long DEFAULT_SEED = 20170301; // Every chunk (and so every game) gets its own seed from this, so a run can be repeated
+	private final static int SPRT_MAX_GAMES = 200000; // Stop an SPRT that hasn't finished after this many games
+	private final static int SPRT_GAMES_PER_STATUS = 200; // An SPRT doesn't have a known number of games, so output a status every so many games
+	private final static String USAGE = "Usage: ComputerPlayerTesting [games (even)] [threads] [seed]\n   or: ComputerPlayerTesting sprt elo0 elo1 alpha beta [threads] [seed] [max games (even)]";
 
 	public ComputerPlayerTesting() {
 	}
 
 	public static void main(String[] args) {
-		// Make sure that I've set the constants up properly (ignore IDE warning)
-		if (GAMES_PER_THREAD % 2 != 0 || NUM_GAMES % NUM_THREADS != 0) {
-			System.out.println("Configuration is incorrect");
+		// Read the arguments, the number of threads defaults to the number of processors available
+		int numGames = DEFAULT_GAMES;
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		long seed = DEFAULT_SEED;
+		SPRT sprt = null;
+
+		try {
+			// The SPRT arguments come first, after that the arguments are the same apart from the number of games being last
+			int arg = 0;
+			if (args.length > 0 && args[0].equals("sprt")) {
+				if (args.length < 5) {
+					System.out.println(USAGE);
+					return;
+				}
+
+				sprt = new SPRT(Double.parseDouble(args[1]), Double.parseDouble(args[2]), Double.parseDouble(args[3]), Double.parseDouble(args[4]));
+				numGames = SPRT_MAX_GAMES;
+				arg = 5;
+			} else if (args.length > 0) {
+				numGames = Integer.parseInt(args[0]);
+				arg = 1;
+			}
+
+			if (args.length > arg) {
+				numThreads = Integer.parseInt(args[arg]);
+			}
+			if (args.length > arg + 1) {
+				seed = Long.parseLong(args[arg + 1]);
+			}
+			if (sprt != null && args.length > arg + 2) {
+				numGames = Integer.parseInt(args[arg + 2]);
+			}
+		} catch (IllegalArgumentException e) {
+			// Includes NumberFormatException
+			numGames = -1;
+		}
+
+		// Each player needs to play each colour the same number of times
+		if (numGames <= 0 || numGames % 2 != 0 || numThreads <= 0) {
+			System.out.println(USAGE);
 			return;
 		}
 
 		// Setup of initial variables and status update
 		long startTime = System.currentTimeMillis();
-		System.out.println("Performing computations:");
-
-		// Create the threads and start them
-		List<ComputerPlayerTestingThread> threads = new ArrayList<ComputerPlayerTestingThread>();
-		for (int i = 0; i < NUM_THREADS; i++) {
-			ComputerPlayerTestingThread thread = new ComputerPlayerTestingThread();
-			threads.add(thread);
-
-			Thread th = new Thread(thread);
-			th.start();
+		if (sprt != null) {
+			System.out.println("Performing SPRT (elo0 " + sprt.getElo0() + ", elo1 " + sprt.getElo1() + ", up to " + numGames + " games on " + numThreads + " threads, seed " + seed + "):");
+		} else {
+			System.out.println("Performing computations (" + numGames + " games on " + numThreads + " threads, seed " + seed + "):");
 		}
 
-		// Main loop while processing occurs
-		int nextUpdate = GAMES_PER_STATUS;
-		while (true) {
-			// Idle to save CPU time
-			try {
-				Thread.sleep(CPU_IDLE_TIME);
-			} catch (InterruptedException e) {
-				System.out.println("Sleep interrupted");
-			}
+		// Create the chunks and submit them to the executor
+		// Seeds are given out in the order of the chunks, so they don't depend on which thread runs the chunk
+		ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+		int gamesPerStatus = Math.max(1, numGames / STATUS_UPDATES);
+		if (sprt != null) {
+			gamesPerStatus = SPRT_GAMES_PER_STATUS;
+		}
+		ComputerPlayerTestingProgress progress = new ComputerPlayerTestingProgress(numGames, gamesPerStatus, sprt);
+		SplittableRandom seeds = new SplittableRandom(seed);
 
-			// Go through each thread
-			int curGames = 0;
-			boolean stopWaiting = true;
+		List<ComputerPlayerTestingChunk> chunks = new ArrayList<ComputerPlayerTestingChunk>();
+		List<CompletableFuture<Void>> futures = new ArrayList<CompletableFuture<Void>>();
 
-			for (ComputerPlayerTestingThread t : threads) {
-				if (!t.hasFinished()) {
-					stopWaiting = false;
-				}
+		// The executor's threads aren't daemons, so it is shut down even if a chunk fails (otherwise they would keep the JVM running)
+		try {
+			for (int firstGame = 0; firstGame < numGames; firstGame += GAMES_PER_CHUNK) {
+				int chunkGames = Math.min(GAMES_PER_CHUNK, numGames - firstGame);
+				ComputerPlayerTestingChunk chunk = new ComputerPlayerTestingChunk(firstGame, chunkGames, seeds.nextLong(), progress);
 
-				curGames += t.getGamesPlayed();
-			}
-			
-			if (curGames >= nextUpdate) {
-				double percent = (double) (nextUpdate * 100) / (double) NUM_GAMES;
-				
-				String status; 
-				if (percent % 1 == 0) {
-					status = Integer.toString((int) percent);
-				} else {
-					status = roundDouble(percent, 1);
-				}
-				System.out.println("Progress: " + status + "%");
-				nextUpdate += GAMES_PER_STATUS;
+				chunks.add(chunk);
+				futures.add(CompletableFuture.runAsync(chunk, executor));
 			}
 
-			if (stopWaiting) {
-				break;
-			}
+			// Wait for all the chunks to finish (the results of a chunk are visible once its future has completed)
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+		} finally {
+			executor.shutdown();
 		}
 
 		// Initialise variables for stats from finished game
 		Map<String, Integer> wins = new LinkedHashMap<String, Integer>();
+		Map<String, LatencyHistogram[]> latencies = new LinkedHashMap<String, LatencyHistogram[]>(); // Not doubles, then doubles
 		long effectiveTime = 0;
 		int gamesPlayed = 0;
 		int noTurns = 0;
 
 		// Get stats from finished games
-		for (ComputerPlayerTestingThread t : threads) {
+		for (ComputerPlayerTestingChunk t : chunks) {
 			effectiveTime += t.getExecutionTime();
 			gamesPlayed += t.getGamesPlayed();
 			noTurns += t.getNoTurns();
@@ -97,11 +128,20 @@ public class ComputerPlayerTesting {
 			for (String s : threadWins.keySet()) {
 				wins.put(s, wins.getOrDefault(s, 0) + threadWins.get(s));
 			}
+
+			Map<String, TimedPlayer> timedPlayers = t.getTimedPlayers();
+			for (String s : timedPlayers.keySet()) {
+				if (!latencies.containsKey(s)) {
+					latencies.put(s, new LatencyHistogram[] { new LatencyHistogram(), new LatencyHistogram() });
+				}
+				latencies.get(s)[0].add(timedPlayers.get(s).getLatencies(false));
+				latencies.get(s)[1].add(timedPlayers.get(s).getLatencies(true));
+			}
 		}
 
 		// Extract player1 from the linkedhashmap
 		String player1 = null;
-		for (String key : threads.get(0).getWins().keySet()) {
+		for (String key : chunks.get(0).getWins().keySet()) {
 			if (key != null) {
 				player1 = key;
 				break;
@@ -117,8 +157,8 @@ public class ComputerPlayerTesting {
 
 		// Statistical analysis - Standard deviation from a binomial distribution where p = 0.5
 		// Presumes that no errors have occurred
-		double sigma = wins.get(player1) - (NUM_GAMES / 2);
-		sigma /= Math.sqrt((double) NUM_GAMES / 4);
+		double sigma = wins.get(player1) - ((double) gamesPlayed / 2);
+		sigma /= Math.sqrt((double) gamesPlayed / 4);
 
 		// Output information
 		System.out.println("Computation finished");
@@ -138,9 +178,54 @@ public class ComputerPlayerTesting {
 		}
 
 		System.out.println("\nStandard deviations: " + roundDouble(sigma, 2));
+		printLatencies(latencies);
+
+		if (sprt != null) {
+			printSPRTResult(sprt);
+		}
+	}
+
+	// Outputs percentiles of the time each player took per turn, with doubles separately
+	private static void printLatencies(Map<String, LatencyHistogram[]> latencies) {
+		System.out.println("\nDecision latency (ms):	turns	mean	p50	p90	p99	p99.9	max");
+		for (String s : latencies.keySet()) {
+			printLatency(s, latencies.get(s)[0]);
+			printLatency(s + " (doubles)", latencies.get(s)[1]);
+		}
+	}
+
+	private static void printLatency(String name, LatencyHistogram h) {
+		String line = name + "	" + h.getCount() + "	" + roundDouble(h.getMean() / 1e6, 3);
+		double[] percentiles = { 50, 90, 99, 99.9 };
+		for (double p : percentiles) {
+			line += "	" + roundDouble(h.getPercentile(p) / 1e6, 3);
+		}
+		System.out.println(line + "	" + roundDouble(h.getMax() / 1e6, 3));
+	}
+
+	private static void printSPRTResult(SPRT sprt) {
+		String result;
+		switch (sprt.getStatus()) {
+		case ACCEPT_H1:
+			result = "H1 (elo1 = " + sprt.getElo1() + ") accepted";
+			break;
+		case ACCEPT_H0:
+			result = "H0 (elo0 = " + sprt.getElo0() + ") accepted";
+			break;
+		default:
+			result = "No result (the maximum number of games was reached)";
+			break;
+		}
+
+		int games = sprt.getWins() + sprt.getLosses();
+		System.out.println("\nSPRT: " + result);
+		System.out.println("LLR: " + roundDouble(sprt.getLLR(), 2) + " [" + roundDouble(sprt.getLowerBound(), 2) + ", " + roundDouble(sprt.getUpperBound(), 2) + "]");
+		if (sprt.getWins() > 0 && sprt.getLosses() > 0) {
+			System.out.println("Elo difference: " + roundDouble(SPRT.probabilityToElo((double) sprt.getWins() / games), 1));
+		}
 	}
 
-	private static String roundDouble(double number, int decimalPlaces) {
+	static String roundDouble(double number, int decimalPlaces) {
 		// http://stackoverflow.com/a/154354
 		BigDecimal bd = new BigDecimal(String.valueOf(number)).setScale(decimalPlaces, BigDecimal.ROUND_HALF_UP);
 		return bd.toPlainString();
@@ -0,0 +1,122 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/*
+ * A chunk of games, run as a single task by the executor in ComputerPlayerTesting
+ * Games are handed out in small chunks so that every thread keeps playing until all the games are finished
+ * The results are only read once the task has completed, the only state shared while running is the progress
+ * Made by wrtl76
+ */
+
+public class ComputerPlayerTestingChunk implements Runnable {
+	private final int firstGame;
+	private final int numGames;
+	private final SplittableRandom seeds; // Gives the seed for each game, so that threads never share random state
+	private final ComputerPlayerTestingProgress progress; // Shared by all the chunks
+
+	private long executionTime;
+	private int gamesPlayed;
+	private int noTurns;
+	private Map<String, Integer> wins;
+	private Map<String, TimedPlayer> timedPlayers; // The time each player took per turn, by class name
+
+	public ComputerPlayerTestingChunk(int firstGame, int numGames, long seed, ComputerPlayerTestingProgress progress) {
+		this.firstGame = firstGame;
+		this.numGames = numGames;
+		this.seeds = new SplittableRandom(seed);
+		this.progress = progress;
+
+		executionTime = 0;
+		gamesPlayed = 0;
+		noTurns = 0;
+	}
+
+	@Override
+	public void run() {
+		// Setup variables
+		// Players store information between calls, so every chunk has its own
+		// The players are wrapped so that every call to getTurn is timed
+		TimedPlayer player1 = new TimedPlayer(new ComputerPlayer());
+		TimedPlayer player2 = new TimedPlayer(new ComputerPlayerKieran()); // This would be an instance of the old player to test against
+		TimedPlayer[][] playerMaps = { { player1, player2 }, { player2, player1 } };
+
+		Game game = null;
+
+		wins = new LinkedHashMap<String, Integer>();
+		wins.put(null, 0);
+		wins.put(getName(player1), 0);
+		wins.put(getName(player2), 0);
+
+		timedPlayers = new LinkedHashMap<String, TimedPlayer>();
+		timedPlayers.put(getName(player1), player1);
+		timedPlayers.put(getName(player2), player2);
+
+		long startTime = System.currentTimeMillis();
+
+		// Perform the games (unless the run has been stopped early)
+		for (gamesPlayed = 0; gamesPlayed < numGames && !progress.isStopped(); gamesPlayed++) {
+			// Declare variables
+			// The players swap colours every game (using the game number, so it doesn't depend on how the games are split into chunks)
+			Colour winnerColour = null;
+			String winner = null;
+			TimedPlayer[] playerMap = playerMaps[(firstGame + gamesPlayed) % playerMaps.length];
+
+			// Play a game
+			try {
+				// Each game has its own dice source, so the game can be replayed from its seed
+				DiceSourceInterface diceSource = new SeededDiceSource(seeds.nextLong());
+				if (ComputerPlayerTesting.USE_PACKED_BOARD) {
+					game = new Game(new PackedBoard(), diceSource);
+				} else {
+					game = new Game(new Board(), diceSource);
+				}
+				game.setPlayer(Colour.values()[0], playerMap[0]);
+				game.setPlayer(Colour.values()[1], playerMap[1]);
+				winnerColour = game.play();
+			} catch (Exception e) {
+				winnerColour = null;
+			}
+
+			// Process the game afterwards
+			Boolean player1Won = null;
+			if (winnerColour != null) {
+				winner = getName(playerMap[winnerColour.ordinal()]);
+				player1Won = (playerMap[winnerColour.ordinal()] == player1);
+			}
+			wins.put(winner, wins.get(winner) + 1);
+			noTurns += game.getTurns();
+			progress.gameFinished(player1Won);
+		}
+
+		executionTime = System.currentTimeMillis() - startTime;
+	}
+
+	public long getExecutionTime() {
+		return executionTime;
+	}
+
+	public int getGamesPlayed() {
+		return gamesPlayed;
+	}
+
+	public int getNoTurns() {
+		return noTurns;
+	}
+
+	public Map<String, Integer> getWins() {
+		return wins;
+	}
+
+	public Map<String, TimedPlayer> getTimedPlayers() {
+		return timedPlayers;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static String getName(TimedPlayer player) {
+		return player.getPlayer().getClass().getSimpleName();
+	}
+}
@@ -0,0 +1,67 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Progress of a ComputerPlayerTesting run, shared by all the chunks
+ * Outputs a status every gamesPerStatus games, and if an SPRT is being run stops the chunks once it has a result
+ */
+public class ComputerPlayerTestingProgress {
+	private final AtomicInteger gamesFinished;
+	private final int gamesPerStatus;
+	private final int totalGames;
+	private final SPRT sprt; // Null if a fixed number of games is played
+	private volatile boolean stopped;
+
+	public ComputerPlayerTestingProgress(int totalGames, int gamesPerStatus, SPRT sprt) {
+		this.gamesFinished = new AtomicInteger(0);
+		this.gamesPerStatus = gamesPerStatus;
+		this.totalGames = totalGames;
+		this.sprt = sprt;
+		this.stopped = false;
+	}
+
+	// Called by the chunks after every game, player1Won is null if the game ended with an error
+	public void gameFinished(Boolean player1Won) {
+		if (sprt != null && player1Won != null && sprt.addResult(player1Won) != SPRT.Status.CONTINUE) {
+			stopped = true;
+		}
+
+		// Output a status when the total number of games passes a multiple of gamesPerStatus
+		int finished = gamesFinished.incrementAndGet();
+		if (finished % gamesPerStatus == 0) {
+			printProgress(finished);
+		}
+	}
+
+	// Chunks stop playing games once this is true
+	public boolean isStopped() {
+		return stopped;
+	}
+
+	public SPRT getSPRT() {
+		return sprt;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private void printProgress(int finished) {
+		double percent = (double) finished * 100 / (double) totalGames;
+
+		String status;
+		if (percent % 1 == 0) {
+			status = Integer.toString((int) percent);
+		} else {
+			status = ComputerPlayerTesting.roundDouble(percent, 1);
+		}
+
+		// Include the live LLR for an SPRT
+		if (sprt != null) {
+			status += "% (" + finished + " games), LLR: " + ComputerPlayerTesting.roundDouble(sprt.getLLR(), 2);
+			status += " [" + ComputerPlayerTesting.roundDouble(sprt.getLowerBound(), 2) + ", " + ComputerPlayerTesting.roundDouble(sprt.getUpperBound(), 2) + "]";
+			System.out.println("Progress: " + status);
+		} else {
+			System.out.println("Progress: " + status + "%");
+		}
+	}
+}
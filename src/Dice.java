@@ -5,9 +5,14 @@ public class Dice implements DiceInterface {
 	private List<DieInterface> dice;
 	
 	public Dice() {
+		this(null);
+	}
+	
+	//Both dice use the same source (null uses the static random variable in Die)
+	public Dice(DiceSourceInterface source) {
 		dice = new ArrayList<DieInterface>();
-		dice.add(new Die());
-		dice.add(new Die());
+		dice.add(new Die(source));
+		dice.add(new Die(source));
 	}
 
 	@Override
@@ -0,0 +1,21 @@
+/**
+ * DiceSourceInterface is where the values of dice come from, so that the randomness used by a game can be replaced (eg. seeded so that a game can be replayed).
+ *
+ * A source is not shared between threads, and all the dice of a game normally share a single source.
+ *
+ **/
+
+public interface DiceSourceInterface {
+
+    /**
+     * @return the value of the next roll of a die, in the range 1 to DieInterface.NUMBER_OF_SIDES_ON_DIE
+     **/
+    int nextValue();
+
+    /**
+     * sets the seed of the source, the values returned afterwards only depend on the seed
+     *
+     * @param seed the seed value to use for randomisation
+     **/
+    void setSeed(long seed);
+}
@@ -1,13 +1,20 @@
 import java.util.Random;
 
 public class Die implements DieInterface {
-	//Static random variable
+	//Static random variable, used by all dice that aren't given a source
 	private static final Random random = new Random();
 	//Object variables
 	private int rollValue; //Value of 0 indicates that the die has not been rolled
+	private DiceSourceInterface source; //Null if the static random variable is used
 	
 	public Die() {
+		this(null);
+	}
+	
+	//Use a different source for the values (eg. a seeded source for each game), null uses the shared static random variable
+	public Die(DiceSourceInterface source) {
 		rollValue = 0;
+		this.source = source;
 	}
 
 	@Override
@@ -17,6 +24,11 @@ public class Die implements DieInterface {
 
 	@Override
 	public void roll() {
+		if (source != null) {
+			rollValue = source.nextValue();
+			return;
+		}
+		
 		rollValue = random.nextInt(NUMBER_OF_SIDES_ON_DIE);
 		rollValue++; //Since nextInt returns [0, n)
 	}
@@ -46,7 +58,12 @@ public class Die implements DieInterface {
 
 	@Override
 	public void setSeed(long seed) {
-		random.setSeed(seed);
+		//Only dice without their own source share the static random variable
+		if (source != null) {
+			source.setSeed(seed);
+		} else {
+			random.setSeed(seed);
+		}
 	}
 
 }
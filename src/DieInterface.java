@@ -49,7 +49,7 @@ public interface DieInterface{
     void clear();
 
     /**
-     * sets the seed for the random number generator used by all dice
+     * sets the seed for the random number generator used by all dice (dice given their own DiceSourceInterface only reseed that source)
      *
      * @param seed the seed value to use for randomisation
      **/
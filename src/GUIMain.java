@@ -427,7 +427,7 @@ public class GUIMain {
 		FileChooser fileChooser = new FileChooser();
 		fileChooser.setTitle("Load game");
 		fileChooser.setInitialDirectory(new File(System.getProperty("user.home")));
-		fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("Text file", "*.txt"), new FileChooser.ExtensionFilter("Properties file", "*.properties"));
+		fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("Text file", "*.txt"), new FileChooser.ExtensionFilter("Properties file", "*.properties"), new FileChooser.ExtensionFilter("Binary save file", "*" + Game.BINARY_SAVE_EXTENSION));
 		File file = fileChooser.showOpenDialog(GUIBase.getStages().get("main"));
 
 		if (file == null) {
@@ -512,7 +512,7 @@ public class GUIMain {
 		fileChooser.setTitle("Save game");
 		fileChooser.setInitialFileName(game.getName() + ".txt");
 		fileChooser.setInitialDirectory(new File(System.getProperty("user.home")));
-		fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("Text file", "*.txt"), new FileChooser.ExtensionFilter("Properties file", "*.properties"));
+		fileChooser.getExtensionFilters().addAll(new FileChooser.ExtensionFilter("Text file", "*.txt"), new FileChooser.ExtensionFilter("Properties file", "*.properties"), new FileChooser.ExtensionFilter("Binary save file", "*" + Game.BINARY_SAVE_EXTENSION));
 		File file = fileChooser.showSaveDialog(GUIBase.getStages().get("main"));
 
 		// If the user cancels the operation then return
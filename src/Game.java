@@ -1,20 +1,37 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.zip.CRC32;
 
 import javafx.application.Application;
 import javafx.concurrent.Task;
 
 public class Game implements GameInterface {
+	// Games saved to files with this extension use the binary format rather than properties (see binarySaveGame)
+	public static final String BINARY_SAVE_EXTENSION = ".tbin";
+	private static final byte[] BINARY_MAGIC = { 'T', 'B', 'S', 'V' };
+	private static final int BINARY_VERSION = 1;
+
 	// Fields to store the state of the game
 	private BoardInterface board; // To set the name of the board for CLI and GUI we add setName and getName methods (which are not defined in the interface)
 	private DiceInterface dice;
+	private DiceSourceInterface diceSource; // Null if the dice use the static random variable in Die
 	private List<Integer> diceValues;
 	private Map<Colour, PlayerInterface> players;
 	private int curPlayer;
@@ -50,8 +67,19 @@ public class Game implements GameInterface {
 	}
 
 	public Game() {
-		board = new Board();
-		dice = new Dice();
+		this(new Board());
+	}
+
+	// Allows a different implementation of BoardInterface to be used (eg. PackedBoard for computer vs computer games)
+	public Game(BoardInterface board) {
+		this(board, null);
+	}
+
+	// Also allows the source of the dice rolls to be given (eg. a SeededDiceSource so that the game can be replayed from its seed)
+	public Game(BoardInterface board, DiceSourceInterface diceSource) {
+		this.board = board;
+		this.diceSource = diceSource;
+		dice = new Dice(diceSource);
 		players = new HashMap<Colour, PlayerInterface>();
 
 		// Fill the map with null values for each player required
@@ -89,6 +117,9 @@ public class Game implements GameInterface {
 
 		turns = 0;
 
+		// Players are given a read-only view of the board rather than a copy of it, since most of them make their own copy to search anyway
+		BoardInterface boardView = new ReadOnlyBoard(board);
+
 		// Main play loop
 		while (board.winner() == null) {
 			// Get the colour and corresponding player
@@ -97,7 +128,7 @@ public class Game implements GameInterface {
 
 			// Get the dice values
 			// If we are resuming a game then we get the values that have been saved, otherwise we roll the dice
-			// We create two copies of the dice values, so a rogue implementation of playerInterface cannot change the values given without us catching it
+			// The player is given an unmodifiable list of the dice values, so a rogue implementation of playerInterface cannot change the values without us catching it
 
 			// Increment the number of turns
 			turns++;
@@ -117,7 +148,7 @@ public class Game implements GameInterface {
 			// Get the players turn
 			TurnInterface curTurn = null;
 			try {
-				curTurn = curPlayer.getTurn(curColour, board.clone(), Misc.copyList(diceValues));
+				curTurn = curPlayer.getTurn(curColour, boardView, Collections.unmodifiableList(diceValues));
 			} catch (PauseException e) {
 				// The player wants to pause the game instead
 				return null;
@@ -165,6 +196,12 @@ public class Game implements GameInterface {
 		// Check that everything is valid before saving
 		// throwExceptionIfCannotSave();
 
+		// The format is picked from the extension of the file
+		if (isBinarySave(filename)) {
+			binarySaveGame(filename);
+			return;
+		}
+
 		Properties props = new Properties();
 
 		// Store information about constants that could change
@@ -190,6 +227,11 @@ public class Game implements GameInterface {
 
 	@Override
 	public void loadGame(String filename) throws IOException {
+		if (isBinarySave(filename)) {
+			binaryLoadGame(filename);
+			return;
+		}
+
 		// Load the properties from the file provided
 		Properties props = new Properties();
 		try (FileInputStream in = new FileInputStream(filename);) {
@@ -218,12 +260,7 @@ public class Game implements GameInterface {
 		Map<Colour, PlayerInterface> newPlayers = propsLoadPlayers(props);
 
 		// If we have got to this point then we have loaded the file without error
-		// We can now replace the old fields with the new fields loaded
-		board = newBoard;
-		dice = new Dice();
-		diceValues = diceValuesLoaded;
-		players = newPlayers;
-
+		replaceLoadedFields(newBoard, diceValuesLoaded, newPlayers);
 	}
 
 	/*
@@ -235,8 +272,7 @@ public class Game implements GameInterface {
 	}
 
 	public String getName() {
-		Board b = (Board) board; // Have to cast since getName is not defined in the interface
-		return b.getName();
+		return getBoardName();
 	}
 
 	public int getTurns() {
@@ -267,6 +303,75 @@ public class Game implements GameInterface {
 		return false;
 	}
 
+	// Have to cast since getName is not defined in the interface
+	private String getBoardName() {
+		return Board.nameOf(board);
+	}
+
+	// Replace the old fields with the new fields loaded from a file
+	private void replaceLoadedFields(BoardInterface newBoard, List<Integer> diceValuesLoaded, Map<Colour, PlayerInterface> newPlayers) {
+		// Keep using the same implementation of BoardInterface that the game was created with
+		if (board instanceof PackedBoard) {
+			newBoard = new PackedBoard(newBoard);
+		}
+
+		board = newBoard;
+		dice = new Dice(diceSource);
+		diceValues = diceValuesLoaded;
+		players = newPlayers;
+	}
+
+	// Create a player from the name of its class, or return null if the class isn't recognised
+	// Could use reflection for this, but it's easier not to (and more secure)
+	private PlayerInterface createPlayer(String classType) {
+		if (classType.equals("HumanConsolePlayer")) {
+			return new HumanConsolePlayer();
+		} else if (classType.equals("HumanGUIPlayer")) {
+			return new HumanGUIPlayer();
+		} else if (classType.equals("ComputerPlayer")) {
+			return new ComputerPlayer();
+		} else if (classType.equals("ComputerPlayerExpectimax")) {
+			return new ComputerPlayerExpectimax();
+		} else if (classType.equals("ComputerPlayerRollout")) {
+			return new ComputerPlayerRollout();
+		} else if (classType.equals("ComputerPlayerMCTS")) {
+			return new ComputerPlayerMCTS();
+		}
+
+		return null;
+	}
+
+	// Checks the number of dice values, and that 2 values are different and 4 values are the same
+	private void checkDiceValues(List<Integer> diceValues) throws IOException {
+		int noValues = diceValues.size();
+		if (noValues != 2 && noValues != 4) {
+			throw new IOException("There must be either 2 or 4 dice values to load");
+		}
+
+		for (int val : diceValues) {
+			if (val < 0 || val > DieInterface.NUMBER_OF_SIDES_ON_DIE) {
+				throw new IOException("Dice roll out of bounds");
+			}
+		}
+
+		// Convert the dice values to a map so we can perform additional checks
+		Map<Integer, Integer> diceMap = Misc.valuesToMap(diceValues);
+
+		if (noValues == 2) {
+			if (diceMap.size() != 2) {
+				throw new IOException("Dice values loaded are incorrect. The 2 values given must be different");
+			}
+		} else {
+			if (diceMap.size() != 1) {
+				throw new IOException("Dice values loaded are incorrect. The 4 values given must be the same");
+			}
+		}
+	}
+
+	private static boolean isBinarySave(String filename) {
+		return filename != null && filename.toLowerCase().endsWith(BINARY_SAVE_EXTENSION);
+	}
+
 	// Changes the current player to the next player
 	private void nextPlayer() {
 		curPlayer++;
@@ -300,13 +405,11 @@ public class Game implements GameInterface {
 	 * Property functions to improve readability
 	 */
 	private void propsAddBoard(Properties props) throws IOException {
-		// Cast BoardInterface to Board so we can access getName()
-		Board b = (Board) board;
-		String bName = b.getName();
+		String bName = getBoardName();
 
 		if (bName != null) {
 			props.setProperty("Board_NameInitialised", "true");
-			props.setProperty("Board_Name", b.getName());
+			props.setProperty("Board_Name", bName);
 		} else {
 			props.setProperty("Board_NameInitialised", "false");
 		}
@@ -472,20 +575,8 @@ public class Game implements GameInterface {
 			diceValues.add(val);
 		}
 		
-		// Convert the dice values to a map so we can perform additional checks
-		Map<Integer, Integer> diceMap = Misc.valuesToMap(diceValues);
-		
-		if (noValues == 2) {
-			if (diceMap.size() != 2) {
-				throw new IOException("Dice values loaded are incorrect. The 2 values given must be different");
-			}
-		} else {
-			if (diceMap.size() != 1) {
-				throw new IOException("Dice values loaded are incorrect. The 4 values given must be the same");
-			}
-		}
-		
-		
+		// Perform additional checks on the values
+		checkDiceValues(diceValues);
 
 		return diceValues;
 	}
@@ -532,18 +623,13 @@ public class Game implements GameInterface {
 			}
 
 			// Load the correct class for the players
-			// Could use reflection for this, but it's easier not to (and more secure)
 			String classType = propsLoadKeyString(props, playerString + "ClassType");
+			PlayerInterface player = createPlayer(classType);
 
-			if (classType.equals("HumanConsolePlayer")) {
-				newPlayers.put(c, new HumanConsolePlayer());
-			} else if (classType.equals("HumanGUIPlayer")) {
-				newPlayers.put(c, new HumanGUIPlayer());
-			} else if (classType.equals("ComputerPlayer")) {
-				newPlayers.put(c, new ComputerPlayer());
-			} else {
+			if (player == null) {
 				throw new IOException("Did not recognise the player type to load for colour " + c.toString());
 			}
+			newPlayers.put(c, player);
 		}
 
 		return newPlayers;
@@ -576,4 +662,208 @@ public class Game implements GameInterface {
 		return props.getProperty(keyName);
 	}
 
+	/*
+	 * Binary save format, used for files ending in BINARY_SAVE_EXTENSION
+	 * Stores the same information as the properties (along with the current player) in a single buffer:
+	 * - BINARY_MAGIC, version (byte)
+	 * - Metadata: number of colours (byte) and their names, die sides, number of locations, pieces per player (bytes)
+	 * - Board: whether it has a name (boolean), name, then Start, Knocked, End and 1 to NUMBER_OF_LOCATIONS each as a name and the number of pieces of each colour (byte)
+	 * - Dice: number of values (byte, 0 if the dice haven't been rolled) and the values (bytes)
+	 * - Players: class name of each colour's player (empty if there is no player), current player (byte)
+	 * - CRC32 of everything before it (int)
+	 * Strings are stored in modified UTF-8 (see DataOutputStream.writeUTF)
+	 */
+	private void binarySaveGame(String filename) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		out.write(BINARY_MAGIC);
+		out.writeByte(BINARY_VERSION);
+
+		// Metadata
+		out.writeByte(Colour.values().length);
+		for (Colour c : Colour.values()) {
+			out.writeUTF(c.toString());
+		}
+		out.writeByte(DieInterface.NUMBER_OF_SIDES_ON_DIE);
+		out.writeByte(BoardInterface.NUMBER_OF_LOCATIONS);
+		out.writeByte(BoardInterface.PIECES_PER_PLAYER);
+
+		// Board
+		String bName = getBoardName();
+		out.writeBoolean(bName != null);
+		if (bName != null) {
+			out.writeUTF(bName);
+		}
+
+		binaryAddLocation(out, board.getStartLocation());
+		binaryAddLocation(out, board.getKnockedLocation());
+		binaryAddLocation(out, board.getEndLocation());
+		for (int i = 1; i <= BoardInterface.NUMBER_OF_LOCATIONS; i++) {
+			try {
+				binaryAddLocation(out, board.getBoardLocation(i));
+			} catch (NoSuchLocationException e) {
+				throw new IOException("Could not convert board locations to binary");
+			}
+		}
+
+		// Dice (the same values as the properties)
+		List<Integer> savedValues;
+		try {
+			savedValues = dice.getValues();
+		} catch (NotRolledYetException e) {
+			savedValues = new ArrayList<Integer>();
+		}
+		out.writeByte(savedValues.size());
+		for (int val : savedValues) {
+			out.writeByte(val);
+		}
+
+		// Players
+		for (Colour c : Colour.values()) {
+			PlayerInterface p = players.get(c);
+			out.writeUTF(p == null ? "" : p.getClass().getSimpleName());
+		}
+		out.writeByte(curPlayer);
+
+		// Checksum
+		CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		out.writeInt((int) crc.getValue());
+
+		try (FileOutputStream file = new FileOutputStream(filename);) {
+			file.write(bytes.toByteArray());
+		} catch (Exception e) {
+			throw new IOException("Could not save the game to file");
+		}
+	}
+
+	private void binaryLoadGame(String filename) throws IOException {
+		byte[] data;
+		try {
+			data = Files.readAllBytes(Paths.get(filename));
+		} catch (NoSuchFileException e) {
+			throw new IOException("Could not find the file");
+		}
+
+		// Check the header and checksum before reading anything else
+		int length = data.length - 4;
+		if (length < BINARY_MAGIC.length + 1 || !Arrays.equals(Arrays.copyOf(data, BINARY_MAGIC.length), BINARY_MAGIC)) {
+			throw new IOException("The file is not a binary save file");
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(data, 0, length);
+		int checksum = ((data[length] & 0xFF) << 24) | ((data[length + 1] & 0xFF) << 16) | ((data[length + 2] & 0xFF) << 8) | (data[length + 3] & 0xFF);
+		if (checksum != (int) crc.getValue()) {
+			throw new IOException("The save file is corrupt (the checksum does not match)");
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, BINARY_MAGIC.length, length - BINARY_MAGIC.length));
+		try {
+			if (in.readUnsignedByte() != BINARY_VERSION) {
+				throw new IOException("The save file was made by a different version of the game");
+			}
+
+			// Check that the metadata is correct
+			if (!binaryCheckMetadata(in)) {
+				throw new IOException("Metadata is incorrect. This could be caused by loading a save file from a version of the game with different rules");
+			}
+
+			// Load board
+			Board newBoard = new Board();
+			if (in.readBoolean()) {
+				newBoard.setName(in.readUTF());
+			}
+			newBoard.setStartLocation(binaryLoadLocation(in, true));
+			newBoard.setKnockedLocation(binaryLoadLocation(in, true));
+			newBoard.setEndLocation(binaryLoadLocation(in, true));
+			for (int i = 1; i <= BoardInterface.NUMBER_OF_LOCATIONS; i++) {
+				try {
+					newBoard.setBoardLocation(i, binaryLoadLocation(in, false));
+				} catch (NoSuchLocationException e) {
+					// This exception should never be caught
+					throw new IOException("Error loading location into board position " + i);
+				}
+			}
+
+			if (!newBoard.isValid()) {
+				throw new IOException("The board was loaded correctly, but it is not in a valid state");
+			}
+
+			// Load dice rolls
+			List<Integer> diceValuesLoaded = null;
+			int noValues = in.readUnsignedByte();
+			if (noValues > 0) {
+				diceValuesLoaded = new ArrayList<Integer>();
+				for (int i = 0; i < noValues; i++) {
+					diceValuesLoaded.add(in.readUnsignedByte());
+				}
+				checkDiceValues(diceValuesLoaded);
+			}
+
+			// Load players
+			Map<Colour, PlayerInterface> newPlayers = new HashMap<Colour, PlayerInterface>();
+			for (Colour c : Colour.values()) {
+				String classType = in.readUTF();
+				PlayerInterface player = null;
+
+				if (!classType.isEmpty()) {
+					player = createPlayer(classType);
+					if (player == null) {
+						throw new IOException("Did not recognise the player type to load for colour " + c.toString());
+					}
+				}
+				newPlayers.put(c, player);
+			}
+
+			int curPlayerLoaded = in.readUnsignedByte();
+			if (curPlayerLoaded >= Colour.values().length) {
+				throw new IOException("The current player loaded is not a valid colour");
+			}
+
+			replaceLoadedFields(newBoard, diceValuesLoaded, newPlayers);
+			curPlayer = curPlayerLoaded;
+		} catch (EOFException e) {
+			throw new IOException("The save file ended before all of the game was loaded");
+		}
+	}
+
+	private void binaryAddLocation(DataOutputStream out, LocationInterface loc) throws IOException {
+		// As with the properties we store the name of the location, but not whether it is mixed
+		out.writeUTF(loc.getName());
+
+		for (Colour c : Colour.values()) {
+			out.writeByte(loc.numberOfPieces(c));
+		}
+	}
+
+	private LocationInterface binaryLoadLocation(DataInputStream in, boolean isMixed) throws IOException {
+		Location loc = new Location(in.readUTF());
+
+		// The pieces are set directly, rather than added one at a time
+		for (Colour c : Colour.values()) {
+			int noPieces = in.readUnsignedByte();
+			if (noPieces > BoardInterface.PIECES_PER_PLAYER) {
+				throw new IOException("Error adding pieces to location");
+			}
+			loc.setNumberOfPieces(c, noPieces);
+		}
+		loc.setMixed(isMixed);
+
+		return loc;
+	}
+
+	private boolean binaryCheckMetadata(DataInputStream in) throws IOException {
+		if (in.readUnsignedByte() != Colour.values().length) {
+			return false;
+		}
+		for (Colour c : Colour.values()) {
+			if (!in.readUTF().equals(c.toString())) {
+				return false;
+			}
+		}
+
+		return in.readUnsignedByte() == DieInterface.NUMBER_OF_SIDES_ON_DIE && in.readUnsignedByte() == BoardInterface.NUMBER_OF_LOCATIONS && in.readUnsignedByte() == BoardInterface.PIECES_PER_PLAYER;
+	}
 }
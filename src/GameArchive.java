@@ -0,0 +1,200 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/*
+ * Random access to the games in a game archive (written by GameArchiveWriter)
+ * The archive is memory mapped in segments, so reading a game only touches the pages of its index entry and its record
+ * Reads don't change any shared state, so an archive can be read by many threads at once
+ * Usage: GameArchive create <log file> <archive file>
+ *    or: GameArchive show <archive file> <game> [turn]
+ */
+public class GameArchive implements Closeable {
+	private final FileChannel channel;
+	private final MappedByteBuffer[] segments;
+	private final MappedByteBuffer index;
+	private final String[] players;
+	private final int games;
+
+	public GameArchive(String filename) throws IOException {
+		channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+
+		try {
+			// Read the header
+			ByteBuffer header = ByteBuffer.allocate(GameArchiveWriter.HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+			}
+			header.flip();
+			byte[] magic = new byte[GameArchiveWriter.MAGIC.length];
+			if (header.remaining() < GameArchiveWriter.HEADER_SIZE || !Arrays.equals(getBytes(header, magic), GameArchiveWriter.MAGIC)) {
+				throw new IOException("The file " + filename + " is not a game archive");
+			}
+
+			games = header.getInt();
+			long namesOffset = header.getLong();
+			long indexOffset = header.getLong();
+			if (games < 0 || namesOffset > indexOffset || indexOffset + (long) games * 8 > channel.size()) {
+				throw new IOException("The game archive " + filename + " is corrupt");
+			}
+
+			// Map the games a segment at a time (games never cross segments)
+			int numSegments = (int) ((namesOffset + GameArchiveWriter.SEGMENT_SIZE - 1) / GameArchiveWriter.SEGMENT_SIZE);
+			segments = new MappedByteBuffer[numSegments];
+			for (int i = 0; i < numSegments; i++) {
+				long start = i * GameArchiveWriter.SEGMENT_SIZE;
+				segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(GameArchiveWriter.SEGMENT_SIZE, namesOffset - start));
+			}
+
+			// The player names are read straight away, and the index is mapped
+			ByteBuffer names = channel.map(FileChannel.MapMode.READ_ONLY, namesOffset, indexOffset - namesOffset);
+			players = new String[names.getInt()];
+			for (int i = 0; i < players.length; i++) {
+				players[i] = new String(getBytes(names, new byte[names.getShort()]), StandardCharsets.UTF_8);
+			}
+			index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) games * 8);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		} catch (RuntimeException e) {
+			// eg. a negative length or reading past the end of a buffer
+			channel.close();
+			throw new IOException("The game archive " + filename + " is corrupt", e);
+		}
+	}
+
+	public int getGames() {
+		return games;
+	}
+
+	// Returns game id (in the order they were written to the archive)
+	public GameRecord getGame(int id) throws IOException {
+		if (id < 0 || id >= games) {
+			throw new IndexOutOfBoundsException("Game " + id + " of " + games);
+		}
+
+		long offset = index.getLong(id * 8);
+		int segment = (int) (offset / GameArchiveWriter.SEGMENT_SIZE);
+		if (segment >= segments.length) {
+			throw new IOException("The game archive is corrupt (game " + id + ")");
+		}
+
+		// Use a separate view of the segment, so that the position isn't shared between threads
+		ByteBuffer buffer = segments[segment].duplicate();
+		buffer.position((int) (offset - segment * GameArchiveWriter.SEGMENT_SIZE));
+
+		try {
+			long seed = buffer.getLong();
+			String firstPlayer = players[buffer.getShort() & 0xFFFF];
+			String secondPlayer = players[buffer.getShort() & 0xFFFF];
+			byte winnerByte = buffer.get();
+			int turnCount = getVarInt(buffer);
+			byte[] turns = getBytes(buffer, new byte[getVarInt(buffer)]);
+
+			Colour winner = null;
+			if (winnerByte != GameArchiveWriter.NO_WINNER) {
+				winner = Colour.values()[winnerByte];
+			}
+			return new GameRecord(seed, firstPlayer, secondPlayer, winner, turnCount, turns);
+		} catch (RuntimeException e) {
+			throw new IOException("The game archive is corrupt (game " + id + ")", e);
+		}
+	}
+
+	// Returns the board of game id after the given number of turns have been taken (0 is the start of the game)
+	public Board getBoard(int id, int turns) throws IOException, IllegalTurnException {
+		GameRecord record = getGame(id);
+		if (turns < 0 || turns > record.getTurnCount()) {
+			throw new IndexOutOfBoundsException("Turn " + turns + " of " + record.getTurnCount());
+		}
+
+		Board board = new Board();
+		for (int i = 0; i < turns; i++) {
+			board.takeTurn(record.getTurnColour(i), record.getTurn(i), record.getDiceValues(i));
+		}
+
+		return board;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	public static void main(String[] args) {
+		if (args.length == 3 && args[0].equals("create")) {
+			create(args[1], args[2]);
+		} else if ((args.length == 3 || args.length == 4) && args[0].equals("show")) {
+			try {
+				show(args[1], Integer.parseInt(args[2]), args.length == 4 ? Integer.parseInt(args[3]) : -1);
+			} catch (NumberFormatException e) {
+				System.out.println("The game and turn must be numbers");
+			}
+		} else {
+			System.out.println("Usage: GameArchive create <log file> <archive file>\n   or: GameArchive show <archive file> <game> [turn]");
+		}
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// Creates an archive of all the games in a game log
+	private static void create(String logFile, String archiveFile) {
+		try (GameLogReader reader = new GameLogReader(logFile); GameArchiveWriter writer = new GameArchiveWriter(archiveFile);) {
+			GameRecord record;
+			while ((record = reader.next()) != null) {
+				writer.write(record);
+			}
+			System.out.println("Archived " + writer.getGames() + " games to " + archiveFile);
+		} catch (IOException e) {
+			System.out.println("Could not create the archive\n" + e.toString());
+		}
+	}
+
+	// Outputs a game, and the board at a turn if one is given
+	private static void show(String archiveFile, int id, int turn) {
+		try (GameArchive archive = new GameArchive(archiveFile);) {
+			GameRecord record = archive.getGame(id);
+			Colour winner = record.getWinner();
+			System.out.println("Game " + id + " of " + archive.getGames() + " (seed " + record.getSeed() + ")");
+			for (Colour c : Colour.values()) {
+				System.out.println(c + ": " + record.getPlayer(c));
+			}
+			System.out.println("Winner: " + (winner == null ? "none" : winner + " (" + record.getPlayer(winner) + ")") + " after " + record.getTurnCount() + " turns");
+
+			if (turn >= 0) {
+				System.out.println("\nBoard after " + turn + " turns:");
+				System.out.println(archive.getBoard(id, turn).toString());
+				if (turn < record.getTurnCount()) {
+					System.out.println("Next: " + record.getTurnColour(turn) + " rolls " + record.getDiceValues(turn));
+				}
+			}
+		} catch (IOException | IllegalTurnException | IndexOutOfBoundsException e) {
+			System.out.println("Could not show the game\n" + e.toString());
+		}
+	}
+
+	private static byte[] getBytes(ByteBuffer buffer, byte[] bytes) {
+		buffer.get(bytes);
+		return bytes;
+	}
+
+	private static int getVarInt(ByteBuffer buffer) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("The game archive contains an invalid number");
+	}
+}
@@ -0,0 +1,191 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Writes GameRecords to a game archive, which is read with GameArchive
+ * Unlike a game log, an archive has an index of where every game starts, so any game can be read without reading the ones before it
+ * The archive is laid out as:
+ * - Header: MAGIC, number of games (int), offset of the player names (long), offset of the index (long)
+ * - Games: seed (long), player index for each colour (short each), winner (byte, NO_WINNER if none), turn count (varint), turn bytes length (varint), turn bytes (see GameRecord)
+ * - Player names: number of names (int), then for each name its length (short) and UTF-8 bytes
+ * - Index: the offset of every game (long each)
+ * A game never crosses a multiple of SEGMENT_SIZE (the space before it is left empty), so that the archive can be mapped in segments
+ */
+public class GameArchiveWriter implements Closeable {
+	static final byte[] MAGIC = { 'T', 'G', 'A', '1' };
+	static final int HEADER_SIZE = MAGIC.length + 4 + 8 + 8;
+	static final long SEGMENT_SIZE = 1L << 30;
+	static final byte NO_WINNER = -1;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAX_PLAYERS = 1 << 16;
+	private static final int MAX_VARINT_BYTES = 5;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final Map<String, Integer> playerIndexes;
+	private long position; // Offset in the file that the next byte written to the buffer will be at
+	private long[] offsets;
+	private int games;
+
+	// Creates a new archive, replacing the file if it exists
+	public GameArchiveWriter(String filename) throws IOException {
+		channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		playerIndexes = new LinkedHashMap<String, Integer>();
+		offsets = new long[1024];
+		games = 0;
+
+		// The header is written when the archive is closed
+		position = HEADER_SIZE;
+		channel.position(HEADER_SIZE);
+	}
+
+	// Adds a game, returning its id in the archive
+	public synchronized int write(GameRecord record) throws IOException {
+		int length = record.getTurnBytesLength();
+		int size = 8 + 2 + 2 + 1 + 2 * MAX_VARINT_BYTES + length;
+		if (size > SEGMENT_SIZE) {
+			throw new IOException("The game is too large to archive");
+		}
+
+		// Leave the rest of the segment empty if the game would cross into the next one
+		long segmentEnd = (position / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+		if (position + size > segmentEnd) {
+			while (position < segmentEnd) {
+				ensureSpace(1);
+				buffer.put((byte) 0);
+				position++;
+			}
+		}
+
+		if (games == offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+		offsets[games] = position;
+
+		int player1 = getPlayerIndex(record.getPlayer(Colour.values()[0]));
+		int player2 = getPlayerIndex(record.getPlayer(Colour.values()[1]));
+		ensureSpace(8 + 2 + 2 + 1 + 2 * MAX_VARINT_BYTES);
+		int start = buffer.position();
+		buffer.putLong(record.getSeed());
+		buffer.putShort((short) player1);
+		buffer.putShort((short) player2);
+		buffer.put(record.getWinner() == null ? NO_WINNER : (byte) record.getWinner().ordinal());
+		putVarInt(record.getTurnCount());
+		putVarInt(length);
+		position += buffer.position() - start;
+		putBytes(record.getTurnBytes(), length);
+
+		return games++;
+	}
+
+	public synchronized int getGames() {
+		return games;
+	}
+
+	// Writes the player names, the index and the header, and closes the file
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			long namesOffset = position;
+			ensureSpace(4);
+			buffer.putInt(playerIndexes.size());
+			position += 4;
+			for (String name : playerIndexes.keySet()) {
+				byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+				ensureSpace(2);
+				buffer.putShort((short) bytes.length);
+				position += 2;
+				putBytes(bytes, bytes.length);
+			}
+
+			long indexOffset = position;
+			for (int i = 0; i < games; i++) {
+				ensureSpace(8);
+				buffer.putLong(offsets[i]);
+				position += 8;
+			}
+			flush();
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			header.put(MAGIC);
+			header.putInt(games);
+			header.putLong(namesOffset);
+			header.putLong(indexOffset);
+			header.flip();
+			long headerPosition = 0;
+			while (header.hasRemaining()) {
+				headerPosition += channel.write(header, headerPosition);
+			}
+		} finally {
+			channel.close();
+		}
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private int getPlayerIndex(String name) throws IOException {
+		if (name == null) {
+			name = "";
+		}
+
+		Integer index = playerIndexes.get(name);
+		if (index == null) {
+			if (playerIndexes.size() >= MAX_PLAYERS || name.getBytes(StandardCharsets.UTF_8).length > Short.MAX_VALUE) {
+				throw new IOException("The player " + name + " can't be added to the archive");
+			}
+			index = playerIndexes.size();
+			playerIndexes.put(name, index);
+		}
+
+		return index;
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	private void ensureSpace(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+
+	// Writes bytes (updating the position)
+	private void putBytes(byte[] bytes, int length) throws IOException {
+		int offset = 0;
+		while (offset < length) {
+			if (!buffer.hasRemaining()) {
+				flush();
+			}
+			int chunk = Math.min(buffer.remaining(), length - offset);
+			buffer.put(bytes, offset, chunk);
+			offset += chunk;
+		}
+		position += length;
+	}
+
+	// 7 bits per byte, with the top bit set if there are more bytes (the position isn't updated)
+	private void putVarInt(int value) {
+		while ((value & ~0x7F) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+}
@@ -0,0 +1,346 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+/*
+ * End to end benchmark, plays a fixed set of seeded games between two players through Game.play on a single thread
+ * Reports games and turns per second, the p50/p99 time players take to decide a turn, and the bytes allocated per turn
+ * The games are timed REPETITIONS times, and the median of each result is reported along with the spread (lowest to highest)
+ * The medians are compared against a baseline file, and any median more than TOLERANCE worse than the baseline is a regression
+ * The number of turns played is also compared, as it only changes if a player's decisions have changed
+ * Baselines depend on the machine, so update the baseline (and commit it) when moving to a different machine
+ * Usage: GameBenchmark [update] [games (even)] [seed] [player1 player2]
+ */
+public class GameBenchmark {
+	private final static int DEFAULT_GAMES = 200;
+	private final static int WARMUP_GAMES = 400; // Played before timing, so that the JIT has compiled the players (the first few hundred games are much slower)
+	private final static int REPETITIONS = 5; // Odd, so the median is one of the results
+	private final static long DEFAULT_SEED = 20170301;
+	private final static double TOLERANCE = 0.2;
+	private final static String BASELINE_FILE = "computer-player-testing/game-benchmark-baseline.properties";
+	private final static String[] DEFAULT_PLAYERS = { "ComputerPlayer", "ComputerPlayerKieran" };
+
+	private final PlayerFactoryInterface[] factories;
+	private final int numGames;
+	private final long seed;
+
+	// Results of the last set of games played
+	private long nanosTaken;
+	private int turns;
+	private long allocatedBytes; // -1 if the JVM can't measure allocations
+
+	// Results of each repetition of the last run
+	private double[] gamesPerSecond;
+	private double[] turnsPerSecond;
+	private double[] latencyP50;
+	private double[] latencyP99;
+	private double[] bytesPerTurn; // -1 if the JVM can't measure allocations
+	private boolean sameTurns; // False if the repetitions didn't all play the same number of turns
+	private LatencyHistogram latencies; // Over every repetition
+
+	public GameBenchmark(PlayerFactoryInterface player1, PlayerFactoryInterface player2, int numGames, long seed) {
+		this.factories = new PlayerFactoryInterface[] { player1, player2 };
+		this.numGames = numGames;
+		this.seed = seed;
+	}
+
+	// Plays the warm up games and then the timed games, REPETITIONS times with the same seed
+	public void run() throws PlayerNotDefinedException {
+		playGames(WARMUP_GAMES, ~seed);
+
+		gamesPerSecond = new double[REPETITIONS];
+		turnsPerSecond = new double[REPETITIONS];
+		latencyP50 = new double[REPETITIONS];
+		latencyP99 = new double[REPETITIONS];
+		bytesPerTurn = new double[REPETITIONS];
+		sameTurns = true;
+		latencies = new LatencyHistogram();
+
+		int firstTurns = -1;
+		for (int r = 0; r < REPETITIONS; r++) {
+			LatencyHistogram repetitionLatencies = new LatencyHistogram();
+			for (LatencyHistogram h : playGames(numGames, seed)) {
+				repetitionLatencies.add(h);
+			}
+			latencies.add(repetitionLatencies);
+
+			gamesPerSecond[r] = numGames * 1e9 / nanosTaken;
+			turnsPerSecond[r] = turns * 1e9 / nanosTaken;
+			latencyP50[r] = repetitionLatencies.getPercentile(50);
+			latencyP99[r] = repetitionLatencies.getPercentile(99);
+			bytesPerTurn[r] = (allocatedBytes < 0) ? -1 : allocatedBytes / Math.max(1, turns);
+
+			if (firstTurns < 0) {
+				firstTurns = turns;
+			} else if (turns != firstTurns) {
+				sameTurns = false;
+			}
+		}
+	}
+
+	// The median over the repetitions
+	public double getGamesPerSecond() {
+		return median(gamesPerSecond);
+	}
+
+	public double getTurnsPerSecond() {
+		return median(turnsPerSecond);
+	}
+
+	// Turns played in the last repetition (every repetition plays the same games, so they should all be the same)
+	public int getTurns() {
+		return turns;
+	}
+
+	// False if the players aren't deterministic, in which case the turns can't be used to tell if their decisions have changed
+	public boolean isSameTurns() {
+		return sameTurns;
+	}
+
+	public long getBytesPerTurn() {
+		return (long) median(bytesPerTurn);
+	}
+
+	// Nanoseconds taken by players to decide a turn (over both players and every repetition)
+	public LatencyHistogram getLatencies() {
+		return latencies;
+	}
+
+	// The median results as properties, with the names used in the baseline file
+	public Properties getResults() {
+		Properties results = new Properties();
+		results.setProperty("gamesPerSecond", Double.toString(getGamesPerSecond()));
+		results.setProperty("turnsPerSecond", Double.toString(getTurnsPerSecond()));
+		results.setProperty("latencyP50", Long.toString((long) median(latencyP50)));
+		results.setProperty("latencyP99", Long.toString((long) median(latencyP99)));
+		results.setProperty("bytesPerTurn", Long.toString(getBytesPerTurn()));
+		results.setProperty("turns", Integer.toString(turns));
+		return results;
+	}
+
+	// Key prefix for the results in the baseline file, as results are only comparable with the same players, games and seed
+	public String getBaselineKey() {
+		return factories[0].getName() + "_" + factories[1].getName() + "_" + numGames + "_" + seed + ".";
+	}
+
+	public static void main(String[] args) {
+		boolean update = false;
+		int numGames = DEFAULT_GAMES;
+		long seed = DEFAULT_SEED;
+		String[] players = DEFAULT_PLAYERS;
+
+		// Read the arguments
+		int arg = 0;
+		if (args.length > 0 && args[0].equals("update")) {
+			update = true;
+			arg++;
+		}
+
+		try {
+			if (args.length > arg) {
+				numGames = Integer.parseInt(args[arg]);
+			}
+			if (args.length > arg + 1) {
+				seed = Long.parseLong(args[arg + 1]);
+			}
+		} catch (NumberFormatException e) {
+			numGames = -1;
+		}
+
+		if (args.length == arg + 4) {
+			players = new String[] { args[arg + 2], args[arg + 3] };
+		} else if (args.length > arg + 2) {
+			numGames = -1;
+		}
+
+		PlayerFactoryInterface player1 = Tournament.getFactory(players[0]);
+		PlayerFactoryInterface player2 = Tournament.getFactory(players[1]);
+		if (numGames <= 0 || numGames % 2 != 0 || player1 == null || player2 == null) {
+			System.out.println("Usage: GameBenchmark [update] [games (even)] [seed] [player1 player2]");
+			return;
+		}
+
+		// Run the benchmark
+		System.out.println("Playing " + numGames + " games (seed " + seed + ") " + REPETITIONS + " times: " + players[0] + " vs " + players[1]);
+		GameBenchmark benchmark = new GameBenchmark(player1, player2, numGames, seed);
+		try {
+			benchmark.run();
+		} catch (PlayerNotDefinedException e) {
+			// Should never be reached
+			System.out.println("Logic error when playing the benchmark games");
+			return;
+		}
+
+		// Medians, with the lowest and highest repetition so that the noise can be seen
+		System.out.println("Games per second:	" + formatSpread(benchmark.gamesPerSecond, 1, 2));
+		System.out.println("Turns per second:	" + formatSpread(benchmark.turnsPerSecond, 1, 0));
+		System.out.println("Turns played:		" + benchmark.getTurns() + (benchmark.isSameTurns() ? "" : " (differs between repetitions)"));
+		System.out.println("Decision p50 (ms):	" + formatSpread(benchmark.latencyP50, 1e6, 3));
+		System.out.println("Decision p99 (ms):	" + formatSpread(benchmark.latencyP99, 1e6, 3));
+		System.out.println("Decision max:		" + formatNanos(benchmark.getLatencies().getMax()));
+		System.out.println("Bytes per turn:		" + (benchmark.getBytesPerTurn() < 0 ? "not available" : formatSpread(benchmark.bytesPerTurn, 1, 0)));
+
+		// Compare with (or update) the baseline
+		try {
+			Properties baseline = loadBaseline();
+			if (update) {
+				Properties results = benchmark.getResults();
+				for (String name : results.stringPropertyNames()) {
+					baseline.setProperty(benchmark.getBaselineKey() + name, results.getProperty(name));
+				}
+				saveBaseline(baseline);
+				System.out.println("\nUpdated the baseline in " + BASELINE_FILE);
+			} else if (!compare(benchmark, baseline)) {
+				System.exit(1);
+			}
+		} catch (IOException e) {
+			System.out.println("Could not access the baseline file " + BASELINE_FILE + "\n" + e.toString());
+		}
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// Plays the games, alternating the colours of the players, and returns the latencies of each player
+	private LatencyHistogram[] playGames(int games, long gamesSeed) throws PlayerNotDefinedException {
+		SplittableRandom seeds = new SplittableRandom(gamesSeed);
+		TimedPlayer player1 = new TimedPlayer(factories[0].createPlayer(seeds.nextLong()));
+		TimedPlayer player2 = new TimedPlayer(factories[1].createPlayer(seeds.nextLong()));
+		PlayerInterface[][] playerMaps = { { player1, player2 }, { player2, player1 } };
+
+		turns = 0;
+		long startBytes = getAllocatedBytes();
+		long startTime = System.nanoTime();
+
+		for (int i = 0; i < games; i++) {
+			Game game;
+			DiceSourceInterface diceSource = new SeededDiceSource(seeds.nextLong());
+			if (ComputerPlayerTesting.USE_PACKED_BOARD) {
+				game = new Game(new PackedBoard(), diceSource);
+			} else {
+				game = new Game(new Board(), diceSource);
+			}
+
+			PlayerInterface[] playerMap = playerMaps[i % playerMaps.length];
+			game.setPlayer(Colour.values()[0], playerMap[0]);
+			game.setPlayer(Colour.values()[1], playerMap[1]);
+			game.play();
+			turns += game.getTurns();
+		}
+
+		nanosTaken = System.nanoTime() - startTime;
+		long endBytes = getAllocatedBytes();
+		allocatedBytes = (startBytes < 0 || endBytes < 0) ? -1 : endBytes - startBytes;
+
+		return new LatencyHistogram[] { player1.getLatencies(), player2.getLatencies() };
+	}
+
+	// Bytes allocated by the current thread so far, or -1 if the JVM can't measure it
+	private static long getAllocatedBytes() {
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+			if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+				return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+
+		return -1;
+	}
+
+	// Outputs how each result compares with the baseline, returns false if there is a regression
+	private static boolean compare(GameBenchmark benchmark, Properties baseline) {
+		String key = benchmark.getBaselineKey();
+		if (baseline.getProperty(key + "turns") == null) {
+			System.out.println("\nNo baseline for these players, games and seed (run with update to create one)");
+			return true;
+		}
+
+		Properties results = benchmark.getResults();
+		boolean passed = true;
+		System.out.println("\nComparison with the baseline:");
+
+		// For throughput higher is better, for the others lower is better
+		passed &= compareResult("gamesPerSecond", results, baseline, key, true);
+		passed &= compareResult("turnsPerSecond", results, baseline, key, true);
+		passed &= compareResult("latencyP50", results, baseline, key, false);
+		passed &= compareResult("latencyP99", results, baseline, key, false);
+		passed &= compareResult("bytesPerTurn", results, baseline, key, false);
+
+		if (!benchmark.isSameTurns()) {
+			System.out.println("Turns played differ between repetitions, so the players' decisions can't be compared with the baseline");
+		} else if (!results.getProperty("turns").equals(baseline.getProperty(key + "turns"))) {
+			System.out.println("Turns played differ from the baseline (" + baseline.getProperty(key + "turns") + "), so the players' decisions have changed");
+		}
+
+		System.out.println(passed ? "\nNo regressions" : "\nREGRESSION (median more than " + (int) (TOLERANCE * 100) + "% worse than the baseline)");
+		return passed;
+	}
+
+	private static boolean compareResult(String name, Properties results, Properties baseline, String key, boolean higherIsBetter) {
+		double value = Double.parseDouble(results.getProperty(name));
+		String baselineString = baseline.getProperty(key + name);
+
+		// Results that can't be measured (eg. allocations on some JVMs) are skipped
+		if (baselineString == null || value < 0 || Double.parseDouble(baselineString) < 0) {
+			System.out.println(name + ": not compared");
+			return true;
+		}
+
+		double baselineValue = Double.parseDouble(baselineString);
+		double change = baselineValue == 0 ? 0 : (value - baselineValue) / baselineValue;
+		boolean passed = higherIsBetter ? change >= -TOLERANCE : change <= TOLERANCE;
+
+		System.out.println(name + ": " + ComputerPlayerTesting.roundDouble(value, 2) + " (baseline " + ComputerPlayerTesting.roundDouble(baselineValue, 2) + ", " + (change >= 0 ? "+" : "") + ComputerPlayerTesting.roundDouble(change * 100, 1) + "%)" + (passed ? "" : " REGRESSION"));
+		return passed;
+	}
+
+	private static Properties loadBaseline() throws IOException {
+		Properties baseline = new Properties();
+		if (new File(BASELINE_FILE).exists()) {
+			try (FileInputStream in = new FileInputStream(BASELINE_FILE);) {
+				baseline.load(in);
+			}
+		}
+
+		return baseline;
+	}
+
+	private static void saveBaseline(Properties baseline) throws IOException {
+		try (FileOutputStream out = new FileOutputStream(BASELINE_FILE);) {
+			baseline.store(out, "GameBenchmark baseline\nResults are only comparable on the machine they were measured on");
+		}
+	}
+
+	private static String formatNanos(long nanos) {
+		return ComputerPlayerTesting.roundDouble(nanos / 1e6, 3) + "ms";
+	}
+
+	// The median followed by the lowest and highest values, and the range as a percentage of the median
+	private static String formatSpread(double[] values, double divisor, int places) {
+		double median = median(values);
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		double spread = median == 0 ? 0 : (sorted[sorted.length - 1] - sorted[0]) / median;
+
+		return ComputerPlayerTesting.roundDouble(median / divisor, places) + " (" + ComputerPlayerTesting.roundDouble(sorted[0] / divisor, places) + " to "
+				+ ComputerPlayerTesting.roundDouble(sorted[sorted.length - 1] / divisor, places) + ", spread " + ComputerPlayerTesting.roundDouble(spread * 100, 1) + "%)";
+	}
+
+	private static double median(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int middle = sorted.length / 2;
+		if (sorted.length % 2 == 0) {
+			return (sorted[middle - 1] + sorted[middle]) / 2;
+		}
+
+		return sorted[middle];
+	}
+}
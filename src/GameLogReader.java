@@ -0,0 +1,187 @@
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Reads the games from a game log written by GameLogWriter, one at a time so that logs of any size can be scanned
+ * The file is read in large blocks into a buffer, and the records are decoded from the buffer
+ */
+public class GameLogReader implements Closeable {
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final String[] players; // Player names by index, as defined so far
+	private boolean finished;
+
+	public GameLogReader(String filename) throws IOException {
+		channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		buffer.limit(0);
+		players = new String[GameLogWriter.MAX_PLAYERS];
+		finished = false;
+
+		try {
+			byte[] magic = new byte[GameLogWriter.MAGIC.length];
+			if (!fill(magic.length)) {
+				throw new IOException("The file " + filename + " is not a game log");
+			}
+			buffer.get(magic);
+			if (!Arrays.equals(magic, GameLogWriter.MAGIC)) {
+				throw new IOException("The file " + filename + " is not a game log");
+			}
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	// Returns the next game in the log, or null if there are no more
+	// Throws an EOFException if the log ends part way through a record (eg. the writer wasn't closed)
+	public GameRecord next() throws IOException {
+		if (finished) {
+			return null;
+		}
+
+		while (true) {
+			if (!fill(1)) {
+				finished = true;
+				return null;
+			}
+
+			byte type = buffer.get();
+			if (type == GameLogWriter.RECORD_PLAYER) {
+				require(1);
+				int index = buffer.get() & 0xFF;
+				byte[] name = new byte[getVarInt()];
+				require(name.length);
+				buffer.get(name);
+				players[index] = new String(name, StandardCharsets.UTF_8);
+			} else if (type == GameLogWriter.RECORD_GAME) {
+				require(8 + 3);
+				long seed = buffer.getLong();
+				String firstPlayer = getPlayer(buffer.get() & 0xFF);
+				String secondPlayer = getPlayer(buffer.get() & 0xFF);
+				byte winnerByte = buffer.get();
+				int turnCount = getVarInt();
+				byte[] turns = new byte[getVarInt()];
+				require(turns.length);
+				buffer.get(turns);
+
+				Colour winner = null;
+				if (winnerByte != GameLogWriter.NO_WINNER) {
+					winner = Colour.values()[winnerByte];
+				}
+				return new GameRecord(seed, firstPlayer, secondPlayer, winner, turnCount, turns);
+			} else {
+				throw new IOException("The game log contains an unknown record type (" + type + ")");
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	// Scans a game log and outputs the number of games and the wins of each player
+	public static void main(String[] args) {
+		if (args.length != 1) {
+			System.out.println("Usage: GameLogReader <file>");
+			return;
+		}
+
+		long startTime = System.currentTimeMillis();
+		Map<String, Integer> wins = new TreeMap<String, Integer>();
+		int games = 0;
+		long turns = 0;
+		int errors = 0;
+
+		try (GameLogReader reader = new GameLogReader(args[0]);) {
+			GameRecord record;
+			while ((record = reader.next()) != null) {
+				games++;
+				turns += record.getTurnCount();
+
+				for (Colour c : Colour.values()) {
+					wins.putIfAbsent(record.getPlayer(c), 0);
+				}
+				if (record.getWinner() == null) {
+					errors++;
+				} else {
+					String winner = record.getPlayer(record.getWinner());
+					wins.put(winner, wins.get(winner) + 1);
+				}
+			}
+		} catch (IOException e) {
+			System.out.println("Could not read the game log " + args[0] + "\n" + e.toString());
+		}
+
+		double seconds = Math.max(1, System.currentTimeMillis() - startTime) / 1000.0;
+		System.out.println("Games: " + games + " (" + turns + " turns) read in " + ComputerPlayerTesting.roundDouble(seconds, 2) + "s");
+		for (String player : wins.keySet()) {
+			System.out.println(player + " - " + wins.get(player));
+		}
+		System.out.println("Errors - " + errors);
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private String getPlayer(int index) throws IOException {
+		if (players[index] == null) {
+			throw new IOException("The game log uses a player that hasn't been defined (" + index + ")");
+		}
+
+		return players[index];
+	}
+
+	// Makes sure there are at least bytes bytes in the buffer, returns false if the end of the file is reached first
+	private boolean fill(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes) {
+			return true;
+		}
+		if (bytes > buffer.capacity()) {
+			throw new IOException("The game log contains a record that is too large");
+		}
+
+		buffer.compact();
+		while (buffer.position() < bytes) {
+			if (channel.read(buffer) < 0) {
+				break;
+			}
+		}
+		buffer.flip();
+
+		return buffer.remaining() >= bytes;
+	}
+
+	private void require(int bytes) throws IOException {
+		if (!fill(bytes)) {
+			throw new EOFException("The game log ends part way through a record");
+		}
+	}
+
+	private int getVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			require(1);
+			byte b = buffer.get();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+
+		throw new IOException("The game log contains an invalid number");
+	}
+}
@@ -0,0 +1,162 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Appends GameRecords to a binary game log, which can be read back with GameLogReader
+ * The log starts with MAGIC, followed by a stream of records:
+ * - Player: RECORD_PLAYER, index (1 byte), name length (varint), name (UTF-8). Gives the name for a player index from this point on
+ * - Game: RECORD_GAME, seed (8 bytes), player index for each colour (1 byte each), winner (1 byte, NO_WINNER if none), turn count (varint), turn bytes length (varint), turn bytes (see GameRecord)
+ * A game with 130 turns takes about 400 bytes, and it is written to a buffer so that the file is only written to in large blocks
+ * Players are defined again by each writer, so a log can be appended to by later runs
+ * A writer can be shared by many threads, each record is written in one go
+ */
+public class GameLogWriter implements Closeable {
+	static final byte[] MAGIC = { 'T', 'G', 'L', '1' };
+	static final byte RECORD_PLAYER = 0;
+	static final byte RECORD_GAME = 1;
+	static final byte NO_WINNER = -1;
+	static final int MAX_PLAYERS = 256;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAX_VARINT_BYTES = 5;
+
+	private final FileChannel channel;
+	private final ByteBuffer buffer;
+	private final Map<String, Integer> playerIndexes;
+	private int games;
+
+	// Creates the log if it doesn't exist, otherwise games are added to the end of it
+	public GameLogWriter(String filename) throws IOException {
+		channel = FileChannel.open(Paths.get(filename), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		playerIndexes = new HashMap<String, Integer>();
+		games = 0;
+
+		try {
+			if (channel.size() == 0) {
+				buffer.put(MAGIC);
+			} else {
+				// Make sure we're adding to a game log
+				ByteBuffer magic = ByteBuffer.allocate(MAGIC.length);
+				while (magic.hasRemaining() && channel.read(magic, magic.position()) > 0) {
+				}
+				if (magic.hasRemaining() || !Arrays.equals(magic.array(), MAGIC)) {
+					throw new IOException("The file " + filename + " is not a game log");
+				}
+				channel.position(channel.size());
+			}
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	public synchronized void write(GameRecord record) throws IOException {
+		int[] players = new int[2];
+		for (Colour c : Colour.values()) {
+			players[c.ordinal()] = getPlayerIndex(record.getPlayer(c));
+		}
+
+		int length = record.getTurnBytesLength();
+		ensureSpace(1 + 8 + 3 + 2 * MAX_VARINT_BYTES);
+		buffer.put(RECORD_GAME);
+		buffer.putLong(record.getSeed());
+		buffer.put((byte) players[0]);
+		buffer.put((byte) players[1]);
+		buffer.put(record.getWinner() == null ? NO_WINNER : (byte) record.getWinner().ordinal());
+		putVarInt(record.getTurnCount());
+		putVarInt(length);
+		putBytes(record.getTurnBytes(), length);
+
+		games++;
+	}
+
+	// Number of games written by this writer
+	public synchronized int getGames() {
+		return games;
+	}
+
+	// Writes everything in the buffer to the file
+	public synchronized void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// Gets the index of a player, adding a player record the first time the player is seen
+	private int getPlayerIndex(String name) throws IOException {
+		if (name == null) {
+			name = "";
+		}
+
+		Integer index = playerIndexes.get(name);
+		if (index != null) {
+			return index;
+		}
+
+		index = playerIndexes.size();
+		if (index >= MAX_PLAYERS) {
+			throw new IOException("A game log can't have more than " + MAX_PLAYERS + " players");
+		}
+		playerIndexes.put(name, index);
+
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		ensureSpace(2 + MAX_VARINT_BYTES);
+		buffer.put(RECORD_PLAYER);
+		buffer.put((byte) (int) index);
+		putVarInt(bytes.length);
+		putBytes(bytes, bytes.length);
+
+		return index;
+	}
+
+	private void ensureSpace(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+
+	private void putBytes(byte[] bytes, int length) throws IOException {
+		int offset = 0;
+		while (offset < length) {
+			if (!buffer.hasRemaining()) {
+				flush();
+			}
+			int chunk = Math.min(buffer.remaining(), length - offset);
+			buffer.put(bytes, offset, chunk);
+			offset += chunk;
+		}
+	}
+
+	// 7 bits per byte, with the top bit set if there are more bytes
+	private void putVarInt(int value) {
+		while ((value & ~0x7F) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+}
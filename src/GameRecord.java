@@ -0,0 +1,196 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Record of a single game for a game log (see GameLogWriter and GameLogReader): the dice seed, the players, the winner and every turn taken
+ * Turns are stored packed into bytes as they are added:
+ * - A header byte of (number of moves * 36 + dice index), where the dice index is (first die - 1) * 6 + (second die - 1)
+ * - Then a byte per move of (source location * 6 + dice value - 1)
+ * So a turn of 2 moves takes 3 bytes. Doubles only store the first two dice, as the other two are the same
+ */
+public class GameRecord {
+	public static final int MAX_MOVES = 4;
+
+	private static final int SIDES = DieInterface.NUMBER_OF_SIDES_ON_DIE;
+	private static final int DICE_COMBINATIONS = SIDES * SIDES;
+
+	private final long seed; // Seed of the SeededDiceSource the game was played with
+	private final String[] players; // Names of the players, indexed by colour.ordinal()
+	private Colour winner; // Null if the game had no winner (eg. an error)
+
+	private byte[] turns;
+	private int length; // Bytes of turns used
+	private int turnCount;
+	private int[] turnOffsets; // Where each turn starts, only created when turns are read
+	private boolean replayable; // False once a turn couldn't be stored, as the turns after it can't be replayed either
+
+	public GameRecord(long seed, String firstPlayer, String secondPlayer) {
+		this.seed = seed;
+		this.players = new String[] { firstPlayer, secondPlayer };
+		this.winner = null;
+		this.turns = new byte[256];
+		this.length = 0;
+		this.turnCount = 0;
+		this.replayable = true;
+	}
+
+	// Used by GameLogReader, the turns are used directly rather than copied
+	GameRecord(long seed, String firstPlayer, String secondPlayer, Colour winner, int turnCount, byte[] turns) {
+		this.seed = seed;
+		this.players = new String[] { firstPlayer, secondPlayer };
+		this.winner = winner;
+		this.turns = turns;
+		this.length = turns.length;
+		this.turnCount = turnCount;
+		this.replayable = true;
+	}
+
+	// Adds a turn taken with the given dice, throws an IllegalArgumentException if the turn can't be stored (eg. invalid dice or locations)
+	public void addTurn(List<Integer> diceValues, TurnInterface turn) {
+		if (diceValues == null || diceValues.size() < 2 || turn == null || turn.getMoves().size() > MAX_MOVES) {
+			throw new IllegalArgumentException("The turn can't be stored in a game record");
+		}
+
+		int die1 = diceValues.get(0);
+		int die2 = diceValues.get(1);
+		if (!isDiceValue(die1) || !isDiceValue(die2)) {
+			throw new IllegalArgumentException("The dice can't be stored in a game record");
+		}
+
+		// Check every move before storing any of the turn, so the record is left unchanged if the turn can't be stored
+		List<MoveInterface> moves = turn.getMoves();
+		for (MoveInterface m : moves) {
+			int source = m.getSourceLocation();
+			if (source < 0 || source > BoardInterface.NUMBER_OF_LOCATIONS || !isDiceValue(m.getDiceValue())) {
+				throw new IllegalArgumentException("The move can't be stored in a game record");
+			}
+		}
+
+		ensureCapacity(1 + moves.size());
+		turns[length++] = (byte) (moves.size() * DICE_COMBINATIONS + (die1 - 1) * SIDES + (die2 - 1));
+		for (MoveInterface m : moves) {
+			turns[length++] = (byte) (m.getSourceLocation() * SIDES + m.getDiceValue() - 1);
+		}
+
+		turnCount++;
+		turnOffsets = null;
+	}
+
+	// Called when a turn of the game couldn't be stored, the record is kept for the game's outcome but no more turns are added
+	public void setNotReplayable() {
+		replayable = false;
+	}
+
+	public boolean isReplayable() {
+		return replayable;
+	}
+
+	public void setWinner(Colour winner) {
+		this.winner = winner;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public String getPlayer(Colour colour) {
+		return players[colour.ordinal()];
+	}
+
+	public Colour getWinner() {
+		return winner;
+	}
+
+	public int getTurnCount() {
+		return turnCount;
+	}
+
+	// The dice rolled for a turn (4 values for doubles, as Dice gives)
+	public List<Integer> getDiceValues(int turn) {
+		int header = turns[getTurnOffset(turn)] & 0xFF;
+		int die1 = (header % DICE_COMBINATIONS) / SIDES + 1;
+		int die2 = header % SIDES + 1;
+
+		List<Integer> diceValues = new ArrayList<Integer>();
+		diceValues.add(die1);
+		diceValues.add(die2);
+		if (die1 == die2) {
+			diceValues.add(die1);
+			diceValues.add(die2);
+		}
+
+		return diceValues;
+	}
+
+	// The turn taken (the first colour takes turn 0, and then they alternate)
+	public TurnInterface getTurn(int turn) {
+		int offset = getTurnOffset(turn);
+		int moves = (turns[offset] & 0xFF) / DICE_COMBINATIONS;
+		TurnInterface t = new Turn();
+
+		try {
+			for (int i = 1; i <= moves; i++) {
+				int value = turns[offset + i] & 0xFF;
+				MoveInterface m = new Move();
+				m.setSourceLocation(value / SIDES);
+				m.setDiceValue(value % SIDES + 1);
+				t.addMove(m);
+			}
+		} catch (Exception e) {
+			// Should never be reached, only valid values are stored
+			System.out.println("Logic error when reading a game record");
+		}
+
+		return t;
+	}
+
+	// Colour of the player that took a turn
+	public Colour getTurnColour(int turn) {
+		return Colour.values()[turn % 2];
+	}
+
+	/*
+	 * PACKAGE METHODS (used by GameLogWriter)
+	 */
+
+	byte[] getTurnBytes() {
+		return turns;
+	}
+
+	int getTurnBytesLength() {
+		return length;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static boolean isDiceValue(int value) {
+		return value >= 1 && value <= SIDES;
+	}
+
+	private void ensureCapacity(int extra) {
+		if (length + extra > turns.length) {
+			turns = Arrays.copyOf(turns, Math.max(turns.length * 2, length + extra));
+		}
+	}
+
+	private int getTurnOffset(int turn) {
+		if (turn < 0 || turn >= turnCount) {
+			throw new IndexOutOfBoundsException("Turn " + turn + " of " + turnCount);
+		}
+
+		// Find where every turn starts the first time a turn is read
+		if (turnOffsets == null) {
+			turnOffsets = new int[turnCount];
+			int offset = 0;
+			for (int i = 0; i < turnCount; i++) {
+				turnOffsets[i] = offset;
+				offset += 1 + (turns[offset] & 0xFF) / DICE_COMBINATIONS;
+			}
+		}
+
+		return turnOffsets[turn];
+	}
+}
@@ -0,0 +1,87 @@
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Plays games between two players as fast as possible, for simulations (eg. rollouts in ComputerPlayerRollout)
+ * Unlike Game there is no GUI, pausing or saving, and the board isn't copied before it is given to a player, so the players must not modify it
+ * If the turns are trusted (ie. generated from the board, as ComputerPlayer does) then they are applied without being validated again
+ * The dice are rolled with the given source, so a game can be repeated by using a SeededDiceSource with the same seed
+ */
+public class HeadlessGame {
+	public static final int MAX_TURNS = 10000; // Stop games that can't finish (eg. if both players can never move)
+
+	private static final Colour[] COLOURS = Colour.values();
+
+	private final PlayerInterface[] players; // Indexed by colour.ordinal()
+	private final DiceSourceInterface diceSource;
+	private final boolean trustTurns;
+	private int turns;
+
+	public HeadlessGame(PlayerInterface firstPlayer, PlayerInterface secondPlayer, DiceSourceInterface diceSource, boolean trustTurns) {
+		this.players = new PlayerInterface[] { firstPlayer, secondPlayer };
+		this.diceSource = diceSource;
+		this.trustTurns = trustTurns;
+		this.turns = 0;
+	}
+
+	// Play a new game from the start, the first colour moves first (same as Game)
+	public Colour play() throws PauseException {
+		return play(new PackedBoard(), COLOURS[0]);
+	}
+
+	// Play the game to the end from the position on the board (which is updated as the game is played), starting with colour
+	// Returns the winner, or null if the game didn't finish in MAX_TURNS turns
+	public Colour play(UndoableBoardInterface board, Colour colour) throws PauseException {
+		for (int i = 0; i < MAX_TURNS; i++) {
+			if (board.winner() != null) {
+				return board.winner();
+			}
+
+			turns++;
+			List<Integer> diceValues = roll();
+			TurnInterface turn = players[colour.ordinal()].getTurn(colour, board, diceValues);
+
+			// As in Game, a player that makes an invalid turn forfeits the game
+			try {
+				if (trustTurns) {
+					board.applyTrustedTurn(colour, turn);
+				} else {
+					board.takeTurn(colour, turn, diceValues);
+				}
+			} catch (IllegalMoveException e) {
+				return colour.otherColour();
+			} catch (IllegalTurnException e) {
+				return colour.otherColour();
+			}
+
+			colour = colour.otherColour();
+		}
+
+		return board.winner();
+	}
+
+	// Number of turns played (over all of the games played)
+	public int getTurns() {
+		return turns;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// Same values as Dice (four values if a double is rolled)
+	private List<Integer> roll() {
+		List<Integer> values = new ArrayList<Integer>();
+		int value1 = diceSource.nextValue();
+		int value2 = diceSource.nextValue();
+
+		values.add(value1);
+		values.add(value2);
+		if (value1 == value2) {
+			values.add(value1);
+			values.add(value2);
+		}
+
+		return values;
+	}
+}
@@ -20,11 +20,13 @@ public class HumanConsolePlayer implements PlayerInterface {
 			return turn;
 		}
 
-		// Backup the board in case we need to reset it (eg. user selects an invalid sequence of moves)
+		// Make moves on our own copy of the board, since the board given can't be changed
+		// Also backup the board in case we need to reset it (eg. user selects an invalid sequence of moves)
+		board = board.clone();
 		BoardInterface boardBackup = board.clone();
 
 		// Get the number of moves required (unless the player has won)
-		int movesRequired = Board.getMaximumMoves(board, colour, diceValues);
+		int movesRequired = MaxMovesOracle.getMaximumMoves(board, colour, diceValues);
 
 		// Turn message, also notifies us if we have to forfeit the turn
 		if (!printTurnMsg(colour, diceValues, movesRequired)) {
@@ -38,18 +38,18 @@ public class HumanGUIPlayer implements PlayerInterface {
 			return turn;
 		}
 
-		// Save the arguments to fields and copy the board and dice values (so that we can reset them if we need to)
-		this.board = board;
+		// Save copies of the arguments to fields (the board and dice values given can't be changed), and back them up so that we can reset them if we need to
+		this.board = board.clone();
 		this.backupBoard = board.clone();
 		this.colour = colour;
-		this.diceValues = diceValues;
+		this.diceValues = Misc.copyList(diceValues);
 		this.backupDiceValues = Misc.copyList(diceValues);
 
 		// Get the main gui controller and use it to update the gui
 		guiMain = (GUIMain) GUIBase.getControllers().get("main");
 
 		// Check how many of the dice we can use
-		int maxMoves = Board.getMaximumMoves(board, colour, diceValues);
+		int maxMoves = MaxMovesOracle.getMaximumMoves(board, colour, diceValues);
 		if (maxMoves == 0) {
 			Platform.runLater(new Runnable() {
 				public void run() {
@@ -0,0 +1,122 @@
+/*
+ * Histogram of latencies (or any other positive values) with a fixed relative precision, so that percentiles can be found without keeping every value
+ * Values below 2 * SUB_BUCKETS are stored exactly, above that each power of 2 is split into SUB_BUCKETS buckets (about 3% precision)
+ * Not thread safe, each thread should record into its own histogram and merge them afterwards
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final long[] counts;
+	private long count;
+	private long total;
+	private long min;
+	private long max;
+
+	public LatencyHistogram() {
+		counts = new long[BUCKETS];
+		count = 0;
+		total = 0;
+		min = Long.MAX_VALUE;
+		max = 0;
+	}
+
+	// Negative values are recorded as 0
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+
+		counts[getIndex(value)]++;
+		count++;
+		total += value;
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+
+	// Adds all the values recorded by another histogram
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] += other.counts[i];
+		}
+
+		count += other.count;
+		total += other.total;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public double getMean() {
+		if (count == 0) {
+			return 0;
+		}
+
+		return (double) total / count;
+	}
+
+	public long getMin() {
+		if (count == 0) {
+			return 0;
+		}
+
+		return min;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	// Returns the value that percentile percent of the values are at or below (to the precision of the buckets)
+	public long getPercentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+
+		long target = (long) Math.ceil(percentile / 100 * count);
+		target = Math.max(1, Math.min(count, target));
+
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= target) {
+				// Use the highest value in the bucket, but never more than the largest value recorded
+				return Math.min(max, getHighestValue(i));
+			}
+		}
+
+		return max;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static int getIndex(long value) {
+		if (value < 2 * SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		// Shift the value so that it's in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+		int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+	}
+
+	private static long getHighestValue(int index) {
+		if (index < 2 * SUB_BUCKETS) {
+			return index;
+		}
+
+		int shift = index / SUB_BUCKETS - 1;
+		long lowest = (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+}
@@ -1,22 +1,32 @@
-import java.util.HashMap;
-import java.util.Map;
-
 public class Location implements LocationInterface {
+	private static final Colour[] COLOURS = Colour.values();
+	
 	private boolean isMixed;
 	private String name;
-	private Map<Colour, Integer> pieces; //We only expect 2 colours, but using a map allows a relatively easy transistion to multiple colours
+	private int[] pieces; //The number of pieces of each colour, indexed by Colour.ordinal() (so more colours only need adding to Colour)
+	
+	//The board this location belongs to (if any) is told when the number of pieces changes, so it can keep its position key up to date
+	private Board board;
+	private int boardIndex;
 	
 	public Location(String name) {
 		this.name = name;
 		isMixed = false;
-		pieces = new HashMap<Colour, Integer>();
+		pieces = new int[COLOURS.length];
 	}
 	
 	// In case a blank constructor is also needed
 	public Location() {
 		this.name = "undefined";
 		isMixed = false;
-		pieces = new HashMap<Colour, Integer>();
+		pieces = new int[COLOURS.length];
+	}
+	
+	//Copy the name, pieces and whether the location is mixed from another location in one go (the copy doesn't belong to a board)
+	Location(Location other) {
+		this.name = other.name;
+		this.isMixed = other.isMixed;
+		this.pieces = other.pieces.clone();
 	}
 
 	@Override
@@ -41,12 +51,22 @@ public class Location implements LocationInterface {
 
 	@Override
 	public boolean isEmpty() {
-		return pieces.isEmpty();
+		for (int count : pieces) {
+			if (count > 0) {
+				return false;
+			}
+		}
+		
+		return true;
 	}
 
 	@Override
 	public int numberOfPieces(Colour colour) {
-		return pieces.getOrDefault(colour, 0);
+		if (colour == null) {
+			return 0;
+		}
+		
+		return pieces[colour.ordinal()];
 	}
 
 	@Override
@@ -62,8 +82,8 @@ public class Location implements LocationInterface {
 		}
 		
 		//We can't add a piece if there exists 2 or more pieces of a different colour
-		for (Colour c : pieces.keySet()) {
-			if (pieces.get(c) >= 2 && c != colour) {
+		for (int i = 0; i < pieces.length; i++) {
+			if (pieces[i] >= 2 && i != colour.ordinal()) {
 				return false;
 			}
 		}
@@ -81,23 +101,24 @@ public class Location implements LocationInterface {
 		
 		//If it is not a mixed location then knock off all the other colours (or throw exception if colour contains 2 or more pieces)
 		if (!isMixed) {
-			for (Colour c : pieces.keySet()) {
-				if (c == colour) {
+			for (int i = 0; i < pieces.length; i++) {
+				if (i == colour.ordinal() || pieces[i] == 0) {
 					continue;
 				}
 				
-				if (pieces.get(c) >= 2) {
+				if (pieces[i] >= 2) {
 					throw new IllegalMoveException("Cannot move to a location which contains 2 or more (same-coloured) pieces of a different colour");
 				}
 				
 				//Remove the piece and store the colour (for when we return at the end)
-				ret = c;
-				this.removePiece(c);
+				ret = COLOURS[i];
+				this.removePiece(ret);
 			}
 		}
 		
 		//Add the piece
-		pieces.put(colour, pieces.getOrDefault(colour, 0) + 1);
+		int oldCount = pieces[colour.ordinal()]++;
+		piecesChanged(colour, oldCount);
 		
 		//Return (will either be a colour or null)
 		return ret;
@@ -105,7 +126,7 @@ public class Location implements LocationInterface {
 
 	@Override
 	public boolean canRemovePiece(Colour colour) {
-		return pieces.containsKey(colour);
+		return numberOfPieces(colour) > 0;
 	}
 
 	@Override
@@ -115,12 +136,8 @@ public class Location implements LocationInterface {
 			throw new IllegalMoveException("Cannot remove a piece that does not exist");
 		}
 		
-		//If there is only 1 piece of the colour, then remove it from the map, otherwise decrement
-		if (pieces.get(colour) == 1) {
-			pieces.remove(colour);
-		} else {
-			pieces.put(colour, pieces.get(colour) - 1);
-		}
+		int oldCount = pieces[colour.ordinal()]--;
+		piecesChanged(colour, oldCount);
 	}
 
 	@Override
@@ -131,7 +148,38 @@ public class Location implements LocationInterface {
 		}
 		
 		//If we have 2 or more colours in the location then we are not in a valid state 
-		return (pieces.size() <= 1);
+		int colours = 0;
+		for (int count : pieces) {
+			if (count > 0) {
+				colours++;
+			}
+		}
+		
+		return (colours <= 1);
+	}
+	
+	//Set the board that this location belongs to, and its index in the board (null if it doesn't belong to a board)
+	void setBoard(Board board, int boardIndex) {
+		this.board = board;
+		this.boardIndex = boardIndex;
+	}
+	
+	Board getBoard() {
+		return board;
+	}
+	
+	//Set the number of pieces of a colour directly (eg. when loading a game), rather than adding them one at a time
+	//The location isn't checked, so the board should be checked afterwards
+	void setNumberOfPieces(Colour colour, int number) {
+		int oldCount = pieces[colour.ordinal()];
+		pieces[colour.ordinal()] = Math.max(number, 0);
+		piecesChanged(colour, oldCount);
+	}
+	
+	private void piecesChanged(Colour colour, int oldCount) {
+		if (board != null) {
+			board.locationChanged(boardIndex, colour, oldCount, numberOfPieces(colour));
+		}
 	}
 
 }
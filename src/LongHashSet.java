@@ -0,0 +1,121 @@
+import java.util.Arrays;
+
+/*
+ * A set of longs (eg. position keys) stored in arrays with open addressing, so that adding a key doesn't create any objects
+ * Clearing the set is constant time, so a single set can be reused for every search: each slot is stamped with the generation it was added in,
+ * and clearing starts a new generation so that all of the old slots count as empty
+ */
+public class LongHashSet {
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private long[] keys;
+	private int[] stamps; // The generation of the key in each slot, slots from other generations are empty
+	private int stamp;
+	private int size;
+	private int shift; // The hash of a key is its top (64 - shift) bits after mixing
+
+	public LongHashSet() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	// The set grows as needed, the capacity is the number of keys to leave room for
+	public LongHashSet(int capacity) {
+		int slots = Integer.highestOneBit(Math.max(capacity, DEFAULT_CAPACITY / 2) * 2 - 1) * 2;
+		keys = new long[slots];
+		stamps = new int[slots];
+		stamp = 1;
+		size = 0;
+		shift = 64 - Integer.numberOfTrailingZeros(slots);
+	}
+
+	// Adds the key, returns false if it was already in the set
+	public boolean add(long key) {
+		int mask = keys.length - 1;
+		int i = getSlot(key);
+
+		while (stamps[i] == stamp) {
+			if (keys[i] == key) {
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+
+		keys[i] = key;
+		stamps[i] = stamp;
+		size++;
+
+		// Keep at least half of the slots empty
+		if (size * 2 > keys.length) {
+			grow();
+		}
+
+		return true;
+	}
+
+	public boolean contains(long key) {
+		int mask = keys.length - 1;
+		int i = getSlot(key);
+
+		while (stamps[i] == stamp) {
+			if (keys[i] == key) {
+				return true;
+			}
+			i = (i + 1) & mask;
+		}
+
+		return false;
+	}
+
+	// Removes every key, without clearing the arrays (unless the generations have run out)
+	public void clear() {
+		stamp++;
+		if (stamp == Integer.MAX_VALUE) {
+			Arrays.fill(stamps, 0);
+			stamp = 1;
+		}
+
+		size = 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// Mix the bits of the key, so that keys that only differ in their low bits don't end up next to each other
+	private int getSlot(long key) {
+		return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+	}
+
+	// Double the number of slots, only keys from the current generation are kept
+	private void grow() {
+		long[] oldKeys = keys;
+		int[] oldStamps = stamps;
+		int oldStamp = stamp;
+
+		keys = new long[oldKeys.length * 2];
+		stamps = new int[oldKeys.length * 2];
+		stamp = 1;
+		shift--;
+
+		int mask = keys.length - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldStamps[j] == oldStamp) {
+				int i = getSlot(oldKeys[j]);
+				while (stamps[i] == stamp) {
+					i = (i + 1) & mask;
+				}
+
+				keys[i] = oldKeys[j];
+				stamps[i] = stamp;
+			}
+		}
+	}
+}
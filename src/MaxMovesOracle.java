@@ -0,0 +1,186 @@
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Shared answer to "how many of these dice can be used", which is needed by Board.takeTurn, the players, and the computer player's turn generation
+ * The answer only depends on the position, the colour, and the dice (in any order), so results are cached on those
+ * Positions are identified by their Zobrist key (see Zobrist), the cache is a fixed number of slots picked by the bits of the key
+ * The cache is used by every thread without locking: entries are immutable and are swapped in whole, so a read sees either an old or a new entry
+ * A new result replaces whatever was in its slot, and results lost to another thread writing the same slot are searched for again
+ */
+public class MaxMovesOracle {
+	private static final int CACHE_SIZE = 1 << 16; // Must be a power of 2
+	private static final int DICE_BITS = 4; // Number of bits used to store how many dice of a single value there are
+	private static final Colour[] COLOURS = Colour.values();
+
+	private static final CacheEntry[] cache = new CacheEntry[CACHE_SIZE];
+
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+
+	public MaxMovesOracle() {
+	}
+
+	// Compute the number of maximum moves possible (uses the cache if possible)
+	public static int getMaximumMoves(BoardInterface b, Colour colour, List<Integer> diceValues) {
+		// Cache doesn't need to handle invalid arguments
+		if (b == null || colour == null || diceValues == null) {
+			return 0;
+		}
+
+		long diceKey = getDiceKey(diceValues);
+		if (diceKey < 0) {
+			return searchMaximumMoves(Board.toUndoableBoard(b), colour, Misc.copyList(diceValues));
+		}
+
+		// A read-only view has to be copied before it can be searched, so only do that if the result isn't cached
+		// Otherwise the search makes and undoes moves on a single board, so get that board before computing the key
+		long positionKey;
+		UndoableBoardInterface board = null;
+		if (b instanceof ReadOnlyBoard) {
+			positionKey = ((ReadOnlyBoard) b).getPositionKey();
+		} else {
+			board = Board.toUndoableBoard(b);
+			positionKey = board.getPositionKey();
+		}
+
+		int diceAndColour = (int) diceKey * COLOURS.length + colour.ordinal();
+		int slot = getSlot(positionKey, diceAndColour);
+		CacheEntry entry = cache[slot];
+		if (entry != null && entry.positionKey == positionKey && entry.diceAndColour == diceAndColour) {
+			hits.increment();
+			return entry.maxMoves;
+		}
+		misses.increment();
+
+		// If two threads search for the same key at once then they both get the same answer anyway
+		if (board == null) {
+			board = Board.toUndoableBoard(b);
+		}
+		int maxMoves = searchMaximumMoves(board, colour, Misc.copyList(diceValues));
+		cache[slot] = new CacheEntry(positionKey, diceAndColour, maxMoves);
+
+		return maxMoves;
+	}
+
+	// Remove all results (eg. before timing searches), shouldn't be called while other threads are using the cache
+	public static void clear() {
+		for (int i = 0; i < CACHE_SIZE; i++) {
+			cache[i] = null;
+		}
+		hits.reset();
+		misses.reset();
+	}
+
+	public static String getStats() {
+		int entries = 0;
+		for (CacheEntry entry : cache) {
+			if (entry != null) {
+				entries++;
+			}
+		}
+
+		return "Maximum moves cache: " + entries + " entries, " + hits.sum() + " hits, " + misses.sum() + " misses";
+	}
+
+	// Compute the number of maximum moves possible without looking in or adding to the cache (eg. for benchmarking the search)
+	public static int getMaximumMovesUncached(BoardInterface b, Colour colour, List<Integer> diceValues) {
+		if (b == null || colour == null || diceValues == null) {
+			return 0;
+		}
+
+		return searchMaximumMoves(Board.toUndoableBoard(b), colour, Misc.copyList(diceValues));
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	// The slot of the cache for a key, the position key is already random so only the dice and colour need mixing in
+	private static int getSlot(long positionKey, int diceAndColour) {
+		return ((int) (positionKey ^ (positionKey >>> 32)) ^ (diceAndColour * 0x9E3779B9)) & (CACHE_SIZE - 1);
+	}
+
+	// The number of dice of each value, stored in DICE_BITS bits each so that the order of the dice doesn't matter
+	// Returns -1 if the dice can't be stored this way (eg. invalid dice values), in which case the result isn't cached
+	private static long getDiceKey(List<Integer> diceValues) {
+		long counts = 0;
+		int maxCount = (1 << DICE_BITS) - 1;
+		int[] valueCounts = new int[DieInterface.NUMBER_OF_SIDES_ON_DIE + 1];
+
+		for (Integer die : diceValues) {
+			if (die == null || die < 1 || die > DieInterface.NUMBER_OF_SIDES_ON_DIE || ++valueCounts[die] > maxCount) {
+				return -1;
+			}
+			counts += 1L << (DICE_BITS * (die - 1));
+		}
+
+		// The key is combined with the colour in an int
+		if (counts > Integer.MAX_VALUE / COLOURS.length) {
+			return -1;
+		}
+
+		return counts;
+	}
+
+	private static int searchMaximumMoves(UndoableBoardInterface b, Colour colour, List<Integer> diceValues) {
+		// Each level of the search has its own buffer of moves, and each level uses up a dice value
+		return searchMaximumMoves(b, colour, diceValues, new int[diceValues.size() + 1][UndoableBoardInterface.MAX_POSSIBLE_MOVES], 0);
+	}
+
+	// Recursive function to compute the number of maximum moves possible
+	// The board and dice values are modified during the search, but are restored before returning
+	private static int searchMaximumMoves(UndoableBoardInterface b, Colour colour, List<Integer> diceValues, int[][] moveBuffers, int depth) {
+		// Get the possible moves
+		int[] posMoves = moveBuffers[depth];
+		int numMoves = b.possibleMoves(colour, diceValues, posMoves);
+
+		// The maximum number of moves we can make with the current diceValues
+		int maxValue = 0;
+
+		for (int i = 0; i < numMoves; i++) {
+			// Make the move
+			MoveInterface move = Move.valueOf(posMoves[i]);
+			int undoRecord;
+			try {
+				undoRecord = b.makeUndoableMove(colour, move);
+			} catch (IllegalMoveException e) {
+				// Should never be reached
+				System.out.println("Logic error when computing maximum number of possible moves");
+				System.out.println(e.toString());
+				continue;
+			}
+
+			// Remove the die used, recursively call itself, and then put the die back and undo the move
+			Integer diceValue = move.getDiceValue();
+			diceValues.remove(diceValue); // Removing an Integer removes the object, not the object at the location of the primitive (int)
+			int val = searchMaximumMoves(b, colour, diceValues, moveBuffers, depth + 1) + 1;
+			diceValues.add(diceValue);
+			b.undoMove(undoRecord);
+
+			// Update the maximum value
+			if (val > maxValue) {
+				maxValue = val;
+				if (maxValue == diceValues.size()) {
+					return maxValue;
+				}
+			}
+		}
+
+		return maxValue;
+	}
+
+	// A result in the cache, along with the position key, dice and colour it is for
+	// The fields are final so that an entry written by one thread is seen whole by the others
+	private static final class CacheEntry {
+		private final long positionKey;
+		private final int diceAndColour;
+		private final int maxMoves;
+
+		private CacheEntry(long positionKey, int diceAndColour, int maxMoves) {
+			this.positionKey = positionKey;
+			this.diceAndColour = diceAndColour;
+			this.maxMoves = maxMoves;
+		}
+	}
+}
@@ -1,13 +1,43 @@
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 /*
  * Helper class to store methods that are used between classes
  */
 
 public class Misc {
+	// Every distinct roll of the dice (21 for 6 sided dice) and its probability, see getDistinctRolls
+	private static final List<List<Integer>> ROLLS = new ArrayList<List<Integer>>();
+	private static final List<Double> ROLL_PROBABILITIES = new ArrayList<Double>();
+
+	// Pools for the search players by their number of threads, see getSearchPool
+	private static final Map<Integer, ForkJoinPool> SEARCH_POOLS = new ConcurrentHashMap<Integer, ForkJoinPool>();
+
+	static {
+		int sides = DieInterface.NUMBER_OF_SIDES_ON_DIE;
+
+		for (int i = 1; i <= sides; i++) {
+			for (int j = i; j <= sides; j++) {
+				List<Integer> roll = new ArrayList<Integer>();
+				if (i == j) {
+					// Doubles are played 4 times and are half as likely as two different values
+					Collections.addAll(roll, i, i, i, i);
+					ROLL_PROBABILITIES.add(1.0 / (sides * sides));
+				} else {
+					Collections.addAll(roll, i, j);
+					ROLL_PROBABILITIES.add(2.0 / (sides * sides));
+				}
+
+				ROLLS.add(Collections.unmodifiableList(roll));
+			}
+		}
+	}
 
 	public Misc() {
 	}
@@ -35,4 +65,36 @@ public class Misc {
 		return map;
 	}
 
+	// Every distinct roll of the dice in the same format as Dice.getValues (four values for a double), ordered by the lowest then highest value
+	public static List<List<Integer>> getDistinctRolls() {
+		return Collections.unmodifiableList(ROLLS);
+	}
+
+	// Probability of the roll with the index given (in the list from getDistinctRolls)
+	public static double getRollProbability(int rollIndex) {
+		return ROLL_PROBABILITIES.get(rollIndex);
+	}
+
+	// Index of a roll (in the list from getDistinctRolls) from the values of the two dice, in any order
+	public static int getRollIndex(int value1, int value2) {
+		int low = Math.min(value1, value2);
+		int high = Math.max(value1, value2);
+		int sides = DieInterface.NUMBER_OF_SIDES_ON_DIE;
+
+		// Rolls with a lower first value come first, there are (sides - i + 1) rolls with a first value of i
+		return (low - 1) * sides - ((low - 1) * (low - 2)) / 2 + (high - low);
+	}
+
+	// Returns the ForkJoinPool with the given number of threads, shared by every player that searches with that many threads
+	// Players are created for every game (and every chunk of games), so they can't each have a pool that is never shut down
+	// The pools are never shut down either, but there is only one per number of threads and idle workers exit by themselves
+	public static ForkJoinPool getSearchPool(int threads) {
+		return SEARCH_POOLS.computeIfAbsent(threads, new Function<Integer, ForkJoinPool>() {
+			@Override
+			public ForkJoinPool apply(Integer parallelism) {
+				return new ForkJoinPool(parallelism);
+			}
+		});
+	}
+
 }
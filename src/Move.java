@@ -1,16 +1,31 @@
 
 public class Move implements MoveInterface {
+	// Moves can be packed into an int (eg. for UndoableBoardInterface.possibleMoves) as sourceLoc * PACKED_SOURCE + diceValue
+	private static final int PACKED_SOURCE = Die.NUMBER_OF_SIDES_ON_DIE + 1;
+
+	// There are only 25 * 6 valid moves, so possibleMoves uses the same immutable instances rather than creating new ones
+	private static final Move[] CACHED_MOVES = createCachedMoves();
+
 	private int sourceLoc; // 0 = start/knocked, others = board location
 	private int diceValue;
+	private final boolean immutable;
 
 	public Move() {
 		// Documentation doesn't specify values if none given, so use the lowest valid values
 		sourceLoc = 0;
 		diceValue = 1;
+		immutable = false;
+	}
+
+	private Move(int sourceLoc, int diceValue) {
+		this.sourceLoc = sourceLoc;
+		this.diceValue = diceValue;
+		immutable = true;
 	}
 
 	@Override
 	public void setSourceLocation(int locationNumber) throws NoSuchLocationException {
+		checkMutable();
 		if (locationNumber < 0 || locationNumber > BoardInterface.NUMBER_OF_LOCATIONS) {
 			throw new NoSuchLocationException("The location must be in the range 0-" + BoardInterface.NUMBER_OF_LOCATIONS);
 		}
@@ -25,6 +40,7 @@ public class Move implements MoveInterface {
 
 	@Override
 	public void setDiceValue(int diceValue) throws IllegalMoveException {
+		checkMutable();
 		if (diceValue < 1 || diceValue > Die.NUMBER_OF_SIDES_ON_DIE) {
 			throw new IllegalMoveException("Dice value must be in the range 0-" + Die.NUMBER_OF_SIDES_ON_DIE);
 		}
@@ -37,4 +53,74 @@ public class Move implements MoveInterface {
 		return diceValue;
 	}
 
+	// Moves are equal if they have the same source and dice value
+	// This also makes the order of a HashSet of moves (eg. from possibleMoves) the same every time, so seeded simulations can be repeated
+	// The sets from possibleMoves hold the cached moves, so the moves in them can't be changed
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof Move)) {
+			return false;
+		}
+
+		Move other = (Move) obj;
+		return sourceLoc == other.sourceLoc && diceValue == other.diceValue;
+	}
+
+	@Override
+	public int hashCode() {
+		return pack(sourceLoc, diceValue);
+	}
+
+	/*
+	 * PUBLIC METHODS NOT DEFINED IN INTERFACE
+	 */
+
+	// Returns the cached move for the source location and dice value, which can't be changed
+	public static MoveInterface valueOf(int sourceLoc, int diceValue) {
+		if (sourceLoc < 0 || sourceLoc > BoardInterface.NUMBER_OF_LOCATIONS || diceValue < 1 || diceValue > Die.NUMBER_OF_SIDES_ON_DIE) {
+			throw new IllegalArgumentException("There is no move from " + sourceLoc + " with a dice value of " + diceValue);
+		}
+
+		return CACHED_MOVES[pack(sourceLoc, diceValue)];
+	}
+
+	// Returns the cached move for a packed move
+	public static MoveInterface valueOf(int packedMove) {
+		return valueOf(getSourceLocation(packedMove), getDiceValue(packedMove));
+	}
+
+	public static int pack(int sourceLoc, int diceValue) {
+		return sourceLoc * PACKED_SOURCE + diceValue;
+	}
+
+	public static int getSourceLocation(int packedMove) {
+		return packedMove / PACKED_SOURCE;
+	}
+
+	public static int getDiceValue(int packedMove) {
+		return packedMove % PACKED_SOURCE;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static Move[] createCachedMoves() {
+		Move[] moves = new Move[PACKED_SOURCE * (BoardInterface.NUMBER_OF_LOCATIONS + 1)];
+		for (int source = 0; source <= BoardInterface.NUMBER_OF_LOCATIONS; source++) {
+			for (int dice = 1; dice <= Die.NUMBER_OF_SIDES_ON_DIE; dice++) {
+				moves[pack(source, dice)] = new Move(source, dice);
+			}
+		}
+
+		return moves;
+	}
+
+	// Cached moves are shared, so they can't be changed
+	private void checkMutable() {
+		if (immutable) {
+			throw new UnsupportedOperationException("Cached moves can't be changed");
+		}
+	}
+
 }
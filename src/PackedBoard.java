@@ -0,0 +1,752 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Implementation of BoardInterface that stores the number of pieces for every location and colour in a single array
+ * Board uses a Location for each location, so a clone allocates ~55 objects. Cloning a PackedBoard is a few array copies
+ * LocationInterface views are only created when requested, and read/write straight through to the array
+ * Bitmasks of the locations each colour occupies, and has 2 or more pieces in, are kept up to date with the array
+ * Checking moves is then a lookup in a table of destinations and a mask, and possibleMoves finds the dice values that can be used from each source with a shift and a mask
+ */
+public class PackedBoard implements UndoableBoardInterface {
+	// Locations are indexed in the same order as Board
+	private static final int START = 0;
+	private static final int KNOCKED = 1;
+	private static final int END = NUMBER_OF_LOCATIONS + 2;
+	private static final int TOTAL_LOCATIONS = NUMBER_OF_LOCATIONS + 3;
+
+	// Colour.values() creates a new array each time, so cache it
+	private static final Colour[] COLOURS = Colour.values();
+
+	// DESTINATIONS[source][die] = index of the location a piece at position source (0 to NUMBER_OF_LOCATIONS) is moved to, anything past the last location is moved to END
+	private static final int[][] DESTINATIONS = createDestinations();
+
+	// Bits 1 to NUMBER_OF_LOCATIONS of a mask of positions (rather than location indexes)
+	private static final int BOARD_POSITIONS = ((1 << (NUMBER_OF_LOCATIONS + 1)) - 1) & ~1;
+
+	private String name;
+	private byte[] pieces; // pieces[location * COLOURS.length + colour.ordinal()] = number of pieces
+	private int mixed; // Bit i is set if location i is mixed
+	private String[] names; // Only created if a location is renamed, otherwise the default names are used
+	private LocationInterface[] views; // Created lazily by getLocation
+	private long positionKey; // Zobrist key, updated whenever the number of pieces changes
+	private int[] occupied; // Bit i of occupied[colour.ordinal()] is set if the colour has any pieces in location i
+	private int[] stacked; // Bit i of stacked[colour.ordinal()] is set if the colour has 2 or more pieces in location i
+
+	/*
+	 * Constructors
+	 */
+
+	public PackedBoard() {
+		pieces = new byte[TOTAL_LOCATIONS * COLOURS.length];
+		occupied = new int[COLOURS.length];
+		stacked = new int[COLOURS.length];
+		mixed = (1 << START) | (1 << KNOCKED) | (1 << END);
+
+		for (Colour c : COLOURS) {
+			pieces[index(START, c)] = PIECES_PER_PLAYER;
+		}
+		updateMasks();
+		positionKey = Zobrist.keyOf(this);
+	}
+
+	// Create a packed copy of any other implementation of BoardInterface
+	public PackedBoard(BoardInterface board) {
+		this();
+
+		if (board instanceof PackedBoard) {
+			copyFrom((PackedBoard) board);
+			return;
+		}
+
+		String boardName = Board.nameOf(board);
+		if (boardName != null) {
+			name = boardName;
+		}
+
+		for (int loc = 0; loc < TOTAL_LOCATIONS; loc++) {
+			LocationInterface otherLoc = getLocation(board, loc);
+			if (otherLoc == null) {
+				continue;
+			}
+
+			for (Colour c : COLOURS) {
+				pieces[index(loc, c)] = (byte) otherLoc.numberOfPieces(c);
+			}
+			setMixedBit(loc, otherLoc.isMixed());
+
+			if (!otherLoc.getName().equals(defaultName(loc))) {
+				setLocationName(loc, otherLoc.getName());
+			}
+		}
+		updateMasks();
+		positionKey = Zobrist.keyOf(this);
+	}
+
+	@Override
+	public void setName(String name) {
+		if (name != null) {
+			this.name = name;
+		}
+	}
+
+	@Override
+	public LocationInterface getStartLocation() {
+		return getLocation(START);
+	}
+
+	@Override
+	public LocationInterface getEndLocation() {
+		return getLocation(END);
+	}
+
+	@Override
+	public LocationInterface getKnockedLocation() {
+		return getLocation(KNOCKED);
+	}
+
+	@Override
+	public LocationInterface getBoardLocation(int locationNumber) throws NoSuchLocationException {
+		if (locationNumber < 1 || locationNumber > NUMBER_OF_LOCATIONS) {
+			throw new NoSuchLocationException("The location must be between 1 and " + Integer.toString(NUMBER_OF_LOCATIONS));
+		}
+
+		return getLocation(locationNumber + 1);
+	}
+
+	@Override
+	public boolean canMakeMove(Colour colour, MoveInterface move) {
+		// Check args
+		if (colour == null || move == null) {
+			return false;
+		}
+
+		// Moves that aren't in the table (only possible with other implementations of MoveInterface) are checked the long way
+		int source = move.getSourceLocation();
+		int die = move.getDiceValue();
+		if (source < 0 || source > NUMBER_OF_LOCATIONS || die < 1 || die > DieInterface.NUMBER_OF_SIDES_ON_DIE) {
+			int sourceLoc = intToIndex(colour, source);
+			int endLoc = intToIndex(colour, source + die);
+			if (sourceLoc < 0 || endLoc < 0) {
+				return false;
+			}
+
+			return canRemovePiece(sourceLoc, colour) && canAddPiece(endLoc, colour);
+		}
+
+		// Check if we can remove the piece and then add it
+		return (occupied[colour.ordinal()] & (1 << intToIndex(colour, source))) != 0 && (blocked(colour) & (1 << DESTINATIONS[source][die])) == 0;
+	}
+
+	@Override
+	public void makeMove(Colour colour, MoveInterface move) throws IllegalMoveException {
+		// The undo record isn't needed
+		makeUndoableMove(colour, move);
+	}
+
+	@Override
+	public int makeUndoableMove(Colour colour, MoveInterface move) throws IllegalMoveException {
+		// Throw an exception if we do not think we can make the move
+		if (!canMakeMove(colour, move)) {
+			throw new IllegalMoveException("Invalid move");
+		}
+
+		int sourceLoc = intToIndex(colour, move.getSourceLocation());
+		int endLoc = intToIndex(colour, move.getSourceLocation() + move.getDiceValue());
+
+		// Remove the piece from its source
+		removePiece(sourceLoc, colour);
+
+		// Add the piece and if a piece was knocked off then add it to the knocked location
+		Colour knockedColour = addPieceGetKnocked(endLoc, colour);
+		if (knockedColour != null) {
+			addPieceGetKnocked(KNOCKED, knockedColour);
+		}
+
+		// Uses the same undo records as Board
+		return Board.undoRecord(sourceLoc, endLoc, colour, knockedColour);
+	}
+
+	@Override
+	public void undoMove(int undoRecord) {
+		Colour colour = Board.undoColour(undoRecord);
+		Colour knockedColour = Board.undoKnockedColour(undoRecord);
+		int sourceLoc = Board.undoSourceIndex(undoRecord);
+		int endLoc = Board.undoEndIndex(undoRecord);
+
+		// Move the piece back to its source, and put back the piece that was knocked off
+		// No need to check anything, since the move was legal when it was made
+		changePieces(endLoc, colour, -1);
+		changePieces(sourceLoc, colour, 1);
+
+		if (knockedColour != null) {
+			changePieces(KNOCKED, knockedColour, -1);
+			changePieces(endLoc, knockedColour, 1);
+		}
+	}
+
+	@Override
+	public void takeTurn(Colour colour, TurnInterface turn, List<Integer> diceValues) throws IllegalTurnException {
+		// Make sure that arguments are not null
+		if (colour == null || turn == null || diceValues == null) {
+			throw new IllegalTurnException("Arguments cannot be null");
+		}
+
+		// Backup the pieces so the board can be restored if the turn is invalid (same rules as Board.takeTurn)
+		byte[] oldPieces = pieces.clone();
+		long oldPositionKey = positionKey;
+
+		// Enforce rules on dice rolls and the dice used by the moves
+		Board.checkTurnDice(turn, diceValues);
+
+		// Get the maximum number of dice that can be used
+		int maxMoves = MaxMovesOracle.getMaximumMoves(this, colour, diceValues);
+
+		// Perform the moves
+		try {
+			for (MoveInterface m : turn.getMoves()) {
+				// Don't bother to check for validity, since makeMove does this already
+				makeMove(colour, m);
+
+				// Stop performing moves if a colour has won
+				if (isWinner(colour)) {
+					break;
+				}
+			}
+		} catch (IllegalMoveException e) {
+			// If we attempt to make an invalid move then restore the board and then throw an exception
+			pieces = oldPieces;
+			positionKey = oldPositionKey;
+			updateMasks();
+			throw new IllegalTurnException("The turn contains an invalid sequence of moves\n" + e.toString());
+		}
+
+		// We need to have used all the dice available
+		if (turn.getMoves().size() != maxMoves) {
+			pieces = oldPieces;
+			positionKey = oldPositionKey;
+			updateMasks();
+			throw new IllegalTurnException("Not all the dice were used (" + turn.getMoves().size() + "/" + maxMoves + ")");
+		}
+	}
+
+	@Override
+	public void applyTrustedTurn(Colour colour, TurnInterface turn) throws IllegalMoveException {
+		for (MoveInterface m : turn.getMoves()) {
+			makeMove(colour, m);
+
+			// Stop performing moves if a colour has won (same as takeTurn)
+			if (isWinner(colour)) {
+				break;
+			}
+		}
+	}
+
+	@Override
+	public boolean isWinner(Colour colour) {
+		// If there are PIECES_PER_PLAYER in the end location then the player has won
+		return (colour != null && pieces[index(END, colour)] == PIECES_PER_PLAYER);
+	}
+
+	@Override
+	public Colour winner() {
+		// Iterate over the colours until we find one that has won
+		for (Colour c : COLOURS) {
+			if (isWinner(c)) {
+				return c;
+			}
+		}
+
+		// If none can be found then return null
+		return null;
+	}
+
+	@Override
+	public boolean isValid() {
+		// Same checks as Board, each location must be valid and each player must have the correct amount of pieces
+		int[] pieceCheck = new int[COLOURS.length];
+
+		for (int loc = 0; loc < TOTAL_LOCATIONS; loc++) {
+			if (!isValid(loc)) {
+				return false;
+			}
+
+			for (Colour c : COLOURS) {
+				pieceCheck[c.ordinal()] += pieces[index(loc, c)];
+			}
+		}
+
+		for (int total : pieceCheck) {
+			if (total != PIECES_PER_PLAYER) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public Set<MoveInterface> possibleMoves(Colour colour, List<Integer> diceValues) {
+		// Create the set to return
+		// Make sure that we haven't been passed any null objects
+		Set<MoveInterface> posMoves = new HashSet<MoveInterface>();
+		if (diceValues == null || colour == null) {
+			return posMoves;
+		}
+
+		// Same as the buffer version, but the cached moves are added to the set
+		int sources = sourcePositions(colour);
+		int blockedPositions = blockedPositions(colour);
+		int dice = Board.diceMask(diceValues);
+
+		while (sources != 0) {
+			int sourceLoc = Integer.numberOfTrailingZeros(sources);
+			sources &= sources - 1;
+
+			int legalDice = dice & ~(blockedPositions >>> sourceLoc);
+			while (legalDice != 0) {
+				posMoves.add(Move.valueOf(sourceLoc, Integer.numberOfTrailingZeros(legalDice)));
+				legalDice &= legalDice - 1;
+			}
+		}
+
+		return posMoves;
+	}
+
+	@Override
+	public int possibleMoves(Colour colour, List<Integer> diceValues, int[] moves) {
+		// Make sure that we haven't been passed any null objects
+		if (diceValues == null || colour == null) {
+			return 0;
+		}
+
+		int sources = sourcePositions(colour);
+		int blockedPositions = blockedPositions(colour);
+		int dice = Board.diceMask(diceValues); // Bit i = dice value i
+		int numMoves = 0;
+
+		// Moves are found in order of source and then dice value, the same order as Board
+		while (sources != 0) {
+			int sourceLoc = Integer.numberOfTrailingZeros(sources);
+			sources &= sources - 1;
+
+			// A piece at position i can be moved by dice value d unless position i + d is blocked (positions past the board are never blocked)
+			int legalDice = dice & ~(blockedPositions >>> sourceLoc);
+			while (legalDice != 0) {
+				moves[numMoves++] = Move.pack(sourceLoc, Integer.numberOfTrailingZeros(legalDice));
+				legalDice &= legalDice - 1;
+			}
+		}
+
+		return numMoves;
+	}
+
+	@Override
+	public BoardInterface clone() {
+		PackedBoard boardClone = new PackedBoard();
+		boardClone.copyFrom(this);
+		return boardClone;
+	}
+
+	@Override
+	public String toString() {
+		List<LocationInterface> locations = new ArrayList<LocationInterface>();
+		for (int loc = 0; loc < TOTAL_LOCATIONS; loc++) {
+			locations.add(getLocation(loc));
+		}
+
+		return Board.formatBoard(name, locations);
+	}
+
+	// Same rules as Board.equals, so a PackedBoard and a Board with the same position are equal
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof BoardInterface)) {
+			return false;
+		}
+
+		if (obj instanceof PackedBoard) {
+			return Arrays.equals(pieces, ((PackedBoard) obj).pieces);
+		}
+		if (obj instanceof UndoableBoardInterface && ((UndoableBoardInterface) obj).getPositionKey() != positionKey) {
+			return false;
+		}
+
+		return Zobrist.samePosition(this, (BoardInterface) obj);
+	}
+
+	@Override
+	public int hashCode() {
+		return (int) (positionKey ^ (positionKey >>> 32));
+	}
+
+	@Override
+	public long getPositionKey() {
+		return positionKey;
+	}
+
+	/*
+	 * PUBLIC METHODS NOT DEFINED IN INTERFACE
+	 */
+
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private static int index(int loc, Colour colour) {
+		return loc * COLOURS.length + colour.ordinal();
+	}
+
+	// Given an integer >= 0 return the index of the location (or -1 if there is no such location)
+	private int intToIndex(Colour colour, int pos) {
+		if (pos > NUMBER_OF_LOCATIONS) {
+			return END;
+		} else if (pos < 0) {
+			return -1;
+		} else if (pos == 0) {
+			// If the position is 0 then we need to choose either the start or knocked location
+			if (pieces[index(KNOCKED, colour)] == 0) {
+				return START;
+			} else {
+				return KNOCKED;
+			}
+		}
+
+		return pos + 1;
+	}
+
+	// Copy everything except for the views (those belong to the board that created them)
+	private void copyFrom(PackedBoard other) {
+		name = other.name;
+		System.arraycopy(other.pieces, 0, pieces, 0, pieces.length);
+		System.arraycopy(other.occupied, 0, occupied, 0, occupied.length);
+		System.arraycopy(other.stacked, 0, stacked, 0, stacked.length);
+		mixed = other.mixed;
+		positionKey = other.positionKey;
+		if (other.names != null) {
+			names = other.names.clone();
+		}
+	}
+
+	private LocationInterface getLocation(int loc) {
+		if (views == null) {
+			views = new LocationInterface[TOTAL_LOCATIONS];
+		}
+		if (views[loc] == null) {
+			views[loc] = new PackedLocation(loc);
+		}
+
+		return views[loc];
+	}
+
+	// Retrieve a location from any BoardInterface using the indexes of this class
+	private static LocationInterface getLocation(BoardInterface board, int loc) {
+		if (loc == START) {
+			return board.getStartLocation();
+		} else if (loc == KNOCKED) {
+			return board.getKnockedLocation();
+		} else if (loc == END) {
+			return board.getEndLocation();
+		}
+
+		try {
+			return board.getBoardLocation(loc - 1);
+		} catch (NoSuchLocationException e) {
+			// This should never be reached
+			System.out.println("Logic error when copying a board");
+			return null;
+		}
+	}
+
+	private static int[][] createDestinations() {
+		int[][] destinations = new int[NUMBER_OF_LOCATIONS + 1][DieInterface.NUMBER_OF_SIDES_ON_DIE + 1];
+
+		for (int source = 0; source <= NUMBER_OF_LOCATIONS; source++) {
+			for (int die = 1; die <= DieInterface.NUMBER_OF_SIDES_ON_DIE; die++) {
+				destinations[source][die] = Math.min(source + die + 1, END);
+			}
+		}
+
+		return destinations;
+	}
+
+	// The positions (bit i = position i) that colour has a piece to move from
+	// If we have a piece at knocked then our only source location is 0
+	private int sourcePositions(Colour colour) {
+		int occupiedLocs = occupied[colour.ordinal()];
+		if ((occupiedLocs & (1 << KNOCKED)) != 0) {
+			return 1;
+		}
+
+		return ((occupiedLocs >>> 1) & BOARD_POSITIONS) | ((occupiedLocs >>> START) & 1);
+	}
+
+	// The positions (bit i = position i) that colour can't move a piece to
+	private int blockedPositions(Colour colour) {
+		return (blocked(colour) >>> 1) & BOARD_POSITIONS;
+	}
+
+	// The locations that colour can't move a piece to, because another colour has 2 or more pieces there (mixed locations are never blocked)
+	private int blocked(Colour colour) {
+		int blocked = 0;
+		for (int i = 0; i < stacked.length; i++) {
+			if (i != colour.ordinal()) {
+				blocked |= stacked[i];
+			}
+		}
+
+		return blocked & ~mixed;
+	}
+
+	// Recompute the masks from the number of pieces (after the pieces have been changed directly)
+	private void updateMasks() {
+		for (Colour c : COLOURS) {
+			occupied[c.ordinal()] = 0;
+			stacked[c.ordinal()] = 0;
+
+			for (int loc = 0; loc < TOTAL_LOCATIONS; loc++) {
+				updateMasks(loc, c, pieces[index(loc, c)]);
+			}
+		}
+	}
+
+	private void updateMasks(int loc, Colour colour, int numberOfPieces) {
+		int bit = 1 << loc;
+		int c = colour.ordinal();
+
+		if (numberOfPieces > 0) {
+			occupied[c] |= bit;
+		} else {
+			occupied[c] &= ~bit;
+		}
+
+		if (numberOfPieces >= 2) {
+			stacked[c] |= bit;
+		} else {
+			stacked[c] &= ~bit;
+		}
+	}
+
+	private static String defaultName(int loc) {
+		if (loc == START) {
+			return "Start";
+		} else if (loc == KNOCKED) {
+			return "Knocked";
+		} else if (loc == END) {
+			return "End";
+		}
+
+		return Integer.toString(loc - 1);
+	}
+
+	private void setLocationName(int loc, String locName) {
+		if (names == null) {
+			names = new String[TOTAL_LOCATIONS];
+			for (int i = 0; i < TOTAL_LOCATIONS; i++) {
+				names[i] = defaultName(i);
+			}
+		}
+
+		names[loc] = locName;
+	}
+
+	private boolean isMixed(int loc) {
+		return (mixed & (1 << loc)) != 0;
+	}
+
+	private void setMixedBit(int loc, boolean isMixed) {
+		if (isMixed) {
+			mixed |= (1 << loc);
+		} else {
+			mixed &= ~(1 << loc);
+		}
+	}
+
+	/*
+	 * Location methods, these follow the same rules as Location
+	 */
+
+	private boolean isEmpty(int loc) {
+		for (Colour c : COLOURS) {
+			if (pieces[index(loc, c)] != 0) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private boolean canAddPiece(int loc, Colour colour) {
+		if (colour == null) {
+			return false;
+		}
+
+		// If the location is mixed then we can always add a piece
+		if (isMixed(loc)) {
+			return true;
+		}
+
+		// We can't add a piece if there exists 2 or more pieces of a different colour
+		for (Colour c : COLOURS) {
+			if (c != colour && pieces[index(loc, c)] >= 2) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private Colour addPieceGetKnocked(int loc, Colour colour) throws IllegalMoveException {
+		if (colour == null) {
+			throw new IllegalMoveException("colour must not be null");
+		}
+
+		Colour ret = null;
+
+		// If it is not a mixed location then knock off all the other colours (or throw exception if colour contains 2 or more pieces)
+		if (!isMixed(loc)) {
+			for (Colour c : COLOURS) {
+				if (c == colour || pieces[index(loc, c)] == 0) {
+					continue;
+				}
+
+				if (pieces[index(loc, c)] >= 2) {
+					throw new IllegalMoveException("Cannot move to a location which contains 2 or more (same-coloured) pieces of a different colour");
+				}
+
+				// Remove the piece and store the colour (for when we return at the end)
+				ret = c;
+				changePieces(loc, c, -1);
+			}
+		}
+
+		// Add the piece
+		if (pieces[index(loc, colour)] == Byte.MAX_VALUE) {
+			throw new IllegalMoveException("Too many pieces in a single location");
+		}
+		changePieces(loc, colour, 1);
+
+		return ret;
+	}
+
+	private boolean canRemovePiece(int loc, Colour colour) {
+		return (colour != null && pieces[index(loc, colour)] > 0);
+	}
+
+	private void removePiece(int loc, Colour colour) throws IllegalMoveException {
+		// Throw exception if piece doesn't exist
+		if (!canRemovePiece(loc, colour)) {
+			throw new IllegalMoveException("Cannot remove a piece that does not exist");
+		}
+
+		changePieces(loc, colour, -1);
+	}
+
+	// Every change to the number of pieces goes through here so that the position key and masks stay up to date
+	private void changePieces(int loc, Colour colour, int change) {
+		int i = index(loc, colour);
+		int oldCount = pieces[i];
+		pieces[i] = (byte) (oldCount + change);
+		positionKey ^= Zobrist.key(loc, colour, oldCount) ^ Zobrist.key(loc, colour, oldCount + change);
+		updateMasks(loc, colour, oldCount + change);
+	}
+
+	private boolean isValid(int loc) {
+		// If the location is mixed then our location is always valid
+		if (isMixed(loc)) {
+			return true;
+		}
+
+		// If we have 2 or more colours in the location then we are not in a valid state
+		int coloursPresent = 0;
+		for (Colour c : COLOURS) {
+			if (pieces[index(loc, c)] > 0) {
+				coloursPresent++;
+			}
+		}
+
+		return (coloursPresent <= 1);
+	}
+
+	// View of a single location, all methods read/write through to the board that created it
+	private class PackedLocation implements LocationInterface {
+		private final int loc;
+
+		private PackedLocation(int loc) {
+			this.loc = loc;
+		}
+
+		@Override
+		public String getName() {
+			if (names == null) {
+				return defaultName(loc);
+			}
+
+			return names[loc];
+		}
+
+		@Override
+		public void setName(String name) {
+			setLocationName(loc, name);
+		}
+
+		@Override
+		public boolean isMixed() {
+			return PackedBoard.this.isMixed(loc);
+		}
+
+		@Override
+		public void setMixed(boolean isMixed) {
+			setMixedBit(loc, isMixed);
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return PackedBoard.this.isEmpty(loc);
+		}
+
+		@Override
+		public int numberOfPieces(Colour colour) {
+			if (colour == null) {
+				return 0;
+			}
+
+			return pieces[index(loc, colour)];
+		}
+
+		@Override
+		public boolean canAddPiece(Colour colour) {
+			return PackedBoard.this.canAddPiece(loc, colour);
+		}
+
+		@Override
+		public Colour addPieceGetKnocked(Colour colour) throws IllegalMoveException {
+			return PackedBoard.this.addPieceGetKnocked(loc, colour);
+		}
+
+		@Override
+		public boolean canRemovePiece(Colour colour) {
+			return PackedBoard.this.canRemovePiece(loc, colour);
+		}
+
+		@Override
+		public void removePiece(Colour colour) throws IllegalMoveException {
+			PackedBoard.this.removePiece(loc, colour);
+		}
+
+		@Override
+		public boolean isValid() {
+			return PackedBoard.this.isValid(loc);
+		}
+	}
+}
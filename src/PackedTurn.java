@@ -0,0 +1,124 @@
+import java.util.AbstractList;
+import java.util.List;
+
+/*
+ * A turn of up to 4 moves packed into a single int, so that lists of candidate turns can be kept in an int[] and are cheap to copy, hash and compare
+ * Each move is packed by Move.pack into 8 bits (a valid move is never 0), with the first move in the lowest bits. Unused moves are left as 0
+ * The static methods work on the packed ints directly, while instances wrap a packed int as a TurnInterface for anything that needs one
+ */
+public class PackedTurn implements TurnInterface {
+	public static final int EMPTY = 0;
+	public static final int MAX_MOVES = 4;
+
+	private static final int MOVE_BITS = 8;
+	private static final int MOVE_MASK = (1 << MOVE_BITS) - 1;
+
+	private int packedTurn;
+	private List<MoveInterface> moves; // Created lazily by getMoves, and reads the packed turn each time it is used
+
+	public PackedTurn() {
+		this(EMPTY);
+	}
+
+	public PackedTurn(int packedTurn) {
+		this.packedTurn = packedTurn;
+	}
+
+	/*
+	 * Methods on packed turns
+	 */
+
+	// Returns the packed turn with the packed move added after the moves already in it
+	public static int addMove(int packedTurn, int packedMove) {
+		int numMoves = getNumberOfMoves(packedTurn);
+		if (numMoves >= MAX_MOVES) {
+			throw new IllegalArgumentException("A turn cannot consist of more than " + MAX_MOVES + " moves");
+		}
+		if (packedMove <= 0 || packedMove > MOVE_MASK) {
+			throw new IllegalArgumentException("The move " + packedMove + " cannot be packed into a turn");
+		}
+
+		return packedTurn | (packedMove << (MOVE_BITS * numMoves));
+	}
+
+	public static int getNumberOfMoves(int packedTurn) {
+		// Moves are added from the lowest bits up, so count the bytes that are used
+		int numMoves = 0;
+		while (numMoves < MAX_MOVES && getMove(packedTurn, numMoves) != 0) {
+			numMoves++;
+		}
+
+		return numMoves;
+	}
+
+	// Returns the move at the index packed by Move.pack (0 if there is no such move)
+	public static int getMove(int packedTurn, int index) {
+		return (packedTurn >>> (MOVE_BITS * index)) & MOVE_MASK;
+	}
+
+	/*
+	 * Instance methods
+	 */
+
+	public int getPackedTurn() {
+		return packedTurn;
+	}
+
+	@Override
+	public void addMove(MoveInterface move) throws IllegalTurnException {
+		if (move == null) {
+			throw new IllegalTurnException("The move cannot be null");
+		}
+
+		if (getNumberOfMoves(packedTurn) >= MAX_MOVES) {
+			throw new IllegalTurnException("A turn cannot consist of more than " + MAX_MOVES + " moves");
+		}
+
+		// Moves that aren't valid can't be packed
+		if (move.getSourceLocation() < 0 || move.getSourceLocation() > BoardInterface.NUMBER_OF_LOCATIONS || move.getDiceValue() < 1 || move.getDiceValue() > DieInterface.NUMBER_OF_SIDES_ON_DIE) {
+			throw new IllegalTurnException("The move is not valid");
+		}
+
+		packedTurn = addMove(packedTurn, Move.pack(move.getSourceLocation(), move.getDiceValue()));
+	}
+
+	// The moves are a read-only view of the turn, using the cached moves from Move.valueOf
+	@Override
+	public List<MoveInterface> getMoves() {
+		if (moves == null) {
+			moves = new MoveList();
+		}
+
+		return moves;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof PackedTurn)) {
+			return false;
+		}
+
+		return packedTurn == ((PackedTurn) obj).packedTurn;
+	}
+
+	@Override
+	public int hashCode() {
+		return packedTurn;
+	}
+
+	private class MoveList extends AbstractList<MoveInterface> {
+		@Override
+		public MoveInterface get(int index) {
+			if (index < 0 || index >= size()) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+			}
+
+			return Move.valueOf(getMove(packedTurn, index));
+		}
+
+		@Override
+		public int size() {
+			return getNumberOfMoves(packedTurn);
+		}
+	}
+}
@@ -0,0 +1,19 @@
+/**
+ * PlayerFactoryInterface creates players for a Tournament. Players keep information between calls to getTurn, so every thread playing games needs its own players.
+ *
+ **/
+
+public interface PlayerFactoryInterface {
+
+    /**
+     * @return the name of the player in the results, which should be different for every entrant (eg. include any settings when the same class is entered twice)
+     **/
+    String getName();
+
+    /**
+     * @param seed a seed for any randomness used by the player, so that a tournament can be repeated
+     *
+     * @return a new player
+     **/
+    PlayerInterface createPlayer(long seed);
+}
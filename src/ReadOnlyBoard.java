@@ -0,0 +1,241 @@
+import java.util.List;
+import java.util.Set;
+
+/*
+ * A read-only view of another board, used to give players the live board without copying it every turn
+ * Reads go straight to the underlying board, so the view always shows the current position. Anything that would change the board throws UnsupportedOperationException
+ * Players that want to try moves out should clone the view (or use Board.toUndoableBoard), which gives them their own copy
+ */
+public class ReadOnlyBoard implements BoardInterface {
+	private static final int START_INDEX = 0;
+	private static final int KNOCKED_INDEX = 1;
+	private static final int END_INDEX = NUMBER_OF_LOCATIONS + 2;
+
+	private final BoardInterface board;
+	private final LocationInterface[] locations = new LocationInterface[NUMBER_OF_LOCATIONS + 3];
+
+	public ReadOnlyBoard(BoardInterface board) {
+		if (board == null) {
+			throw new IllegalArgumentException("The board to view can't be null");
+		}
+
+		this.board = board;
+
+		// The views look up the location each time they're used, as the board may replace its location objects (eg. when restoring a backup)
+		for (int i = 0; i < locations.length; i++) {
+			locations[i] = new ReadOnlyLocation(i);
+		}
+	}
+
+	// Interface does not define this
+	// The name of the board being viewed (null if it doesn't have one), use toString() to display the board
+	public String getName() {
+		return Board.nameOf(board);
+	}
+
+	// Interface does not define this
+	// Returns the Zobrist key of the position, without copying the board if it already keeps track of its key
+	public long getPositionKey() {
+		if (board instanceof UndoableBoardInterface) {
+			return ((UndoableBoardInterface) board).getPositionKey();
+		}
+
+		return Zobrist.keyOf(board);
+	}
+
+	// Interface does not define this
+	// Returns a copy of the board that can be searched by making and undoing moves
+	public UndoableBoardInterface toUndoableCopy() {
+		if (board instanceof PackedBoard) {
+			return (PackedBoard) board.clone();
+		}
+
+		return new PackedBoard(board);
+	}
+
+	@Override
+	public void setName(String name) {
+		throw new UnsupportedOperationException("The board is read only");
+	}
+
+	@Override
+	public LocationInterface getStartLocation() {
+		return locations[START_INDEX];
+	}
+
+	@Override
+	public LocationInterface getEndLocation() {
+		return locations[END_INDEX];
+	}
+
+	@Override
+	public LocationInterface getKnockedLocation() {
+		return locations[KNOCKED_INDEX];
+	}
+
+	@Override
+	public LocationInterface getBoardLocation(int locationNumber) throws NoSuchLocationException {
+		if (locationNumber < 1 || locationNumber > NUMBER_OF_LOCATIONS) {
+			throw new NoSuchLocationException("The location must be between 1 and " + Integer.toString(NUMBER_OF_LOCATIONS));
+		}
+
+		return locations[locationNumber + 1];
+	}
+
+	@Override
+	public boolean canMakeMove(Colour colour, MoveInterface move) {
+		return board.canMakeMove(colour, move);
+	}
+
+	@Override
+	public void makeMove(Colour colour, MoveInterface move) throws IllegalMoveException {
+		throw new UnsupportedOperationException("The board is read only");
+	}
+
+	@Override
+	public void takeTurn(Colour colour, TurnInterface turn, List<Integer> diceValues) throws IllegalTurnException {
+		throw new UnsupportedOperationException("The board is read only");
+	}
+
+	@Override
+	public boolean isWinner(Colour colour) {
+		return board.isWinner(colour);
+	}
+
+	@Override
+	public Colour winner() {
+		return board.winner();
+	}
+
+	@Override
+	public boolean isValid() {
+		return board.isValid();
+	}
+
+	@Override
+	public Set<MoveInterface> possibleMoves(Colour colour, List<Integer> diceValues) {
+		return board.possibleMoves(colour, diceValues);
+	}
+
+	// The copy can be changed, and doesn't follow the underlying board
+	@Override
+	public BoardInterface clone() {
+		return board.clone();
+	}
+
+	@Override
+	public String toString() {
+		return board.toString();
+	}
+
+	// Same rules as Board.equals, so a view is equal to the board it shows (and the board is equal to the view)
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		}
+		if (!(obj instanceof BoardInterface)) {
+			return false;
+		}
+
+		return Zobrist.samePosition(this, (BoardInterface) obj);
+	}
+
+	// The same hash code as Board and PackedBoard give for the position
+	@Override
+	public int hashCode() {
+		long positionKey = getPositionKey();
+		return (int) (positionKey ^ (positionKey >>> 32));
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private LocationInterface getLocation(int index) {
+		if (index == START_INDEX) {
+			return board.getStartLocation();
+		} else if (index == KNOCKED_INDEX) {
+			return board.getKnockedLocation();
+		} else if (index == END_INDEX) {
+			return board.getEndLocation();
+		}
+
+		try {
+			return board.getBoardLocation(index - 1);
+		} catch (NoSuchLocationException e) {
+			// This should never be reached
+			System.out.println("Logic error when reading a location of a read only board");
+			return null;
+		}
+	}
+
+	// A read-only view of one location of the board
+	private class ReadOnlyLocation implements LocationInterface {
+		private final int index;
+
+		private ReadOnlyLocation(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public String getName() {
+			return getLocation(index).getName();
+		}
+
+		@Override
+		public void setName(String name) {
+			throw new UnsupportedOperationException("The board is read only");
+		}
+
+		@Override
+		public boolean isMixed() {
+			return getLocation(index).isMixed();
+		}
+
+		@Override
+		public void setMixed(boolean isMixed) {
+			throw new UnsupportedOperationException("The board is read only");
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return getLocation(index).isEmpty();
+		}
+
+		@Override
+		public int numberOfPieces(Colour colour) {
+			return getLocation(index).numberOfPieces(colour);
+		}
+
+		@Override
+		public boolean canAddPiece(Colour colour) {
+			return getLocation(index).canAddPiece(colour);
+		}
+
+		@Override
+		public Colour addPieceGetKnocked(Colour colour) throws IllegalMoveException {
+			throw new UnsupportedOperationException("The board is read only");
+		}
+
+		@Override
+		public boolean canRemovePiece(Colour colour) {
+			return getLocation(index).canRemovePiece(colour);
+		}
+
+		@Override
+		public void removePiece(Colour colour) throws IllegalMoveException {
+			throw new UnsupportedOperationException("The board is read only");
+		}
+
+		@Override
+		public boolean isValid() {
+			return getLocation(index).isValid();
+		}
+
+		@Override
+		public String toString() {
+			return getLocation(index).toString();
+		}
+	}
+}
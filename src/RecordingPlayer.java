@@ -0,0 +1,41 @@
+import java.util.List;
+
+/*
+ * Wraps a player and adds every turn it takes to a GameRecord
+ * Both players of a game share the record, so the turns are stored in the order they were taken
+ */
+public class RecordingPlayer implements PlayerInterface {
+	private final PlayerInterface player;
+	private GameRecord record;
+
+	public RecordingPlayer(PlayerInterface player) {
+		this.player = player;
+		this.record = null;
+	}
+
+	// The record to add turns to (null to stop recording)
+	public void setRecord(GameRecord record) {
+		this.record = record;
+	}
+
+	@Override
+	public TurnInterface getTurn(Colour colour, BoardInterface board, List<Integer> diceValues) throws PauseException {
+		// Copy the dice before the call, in case the player modifies them
+		List<Integer> dice = (diceValues == null) ? null : Misc.copyList(diceValues);
+		TurnInterface turn = player.getTurn(colour, board, diceValues);
+
+		// A turn that can't be stored (eg. too many moves) is still returned, so the game is decided the same way as without a record
+		if (record != null && record.isReplayable()) {
+			try {
+				record.addTurn(dice, turn);
+			} catch (IllegalArgumentException e) {
+				record.setNotReplayable();
+			}
+		}
+		return turn;
+	}
+
+	public PlayerInterface getPlayer() {
+		return player;
+	}
+}
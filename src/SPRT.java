@@ -0,0 +1,109 @@
+/*
+ * Sequential probability ratio test for matches between two players, so a match can stop as soon as the result is clear
+ * H0: the player's Elo difference is elo0, H1: it is elo1 (eg. elo0 = 0, elo1 = 10 tests whether a change is an improvement of 10 Elo)
+ * Games can't be drawn, so each game is a Bernoulli trial with the win probability given by the Elo difference
+ * The log likelihood ratio (LLR) is updated after every game, H1 is accepted once it is above log((1 - beta) / alpha) and H0 once it is below log(beta / (1 - alpha))
+ * Methods are synchronized since results are added by several threads
+ * Once the test has a result it is fixed, and results added afterwards (eg. by games that were still being played) are ignored
+ */
+public class SPRT {
+	// Outcome of the test so far
+	public enum Status {
+		CONTINUE, ACCEPT_H0, ACCEPT_H1
+	}
+
+	private final double elo0;
+	private final double elo1;
+	private final double lowerBound;
+	private final double upperBound;
+	private final double winLLR; // Change to the LLR for each win/loss
+	private final double lossLLR;
+
+	private int wins;
+	private int losses;
+	private Status status;
+
+	public SPRT(double elo0, double elo1, double alpha, double beta) {
+		if (elo0 >= elo1 || alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+			throw new IllegalArgumentException("elo0 must be less than elo1, and alpha and beta must be between 0 and 1");
+		}
+
+		this.elo0 = elo0;
+		this.elo1 = elo1;
+		this.lowerBound = Math.log(beta / (1 - alpha));
+		this.upperBound = Math.log((1 - beta) / alpha);
+
+		double p0 = eloToProbability(elo0);
+		double p1 = eloToProbability(elo1);
+		this.winLLR = Math.log(p1 / p0);
+		this.lossLLR = Math.log((1 - p1) / (1 - p0));
+
+		wins = 0;
+		losses = 0;
+		status = Status.CONTINUE;
+	}
+
+	// Add the result of a game (from the point of view of the player being tested), returns the status afterwards
+	public synchronized Status addResult(boolean won) {
+		if (status != Status.CONTINUE) {
+			return status;
+		}
+
+		if (won) {
+			wins++;
+		} else {
+			losses++;
+		}
+
+		double llr = getLLR();
+		if (llr >= upperBound) {
+			status = Status.ACCEPT_H1;
+		} else if (llr <= lowerBound) {
+			status = Status.ACCEPT_H0;
+		}
+
+		return status;
+	}
+
+	public synchronized double getLLR() {
+		return wins * winLLR + losses * lossLLR;
+	}
+
+	public synchronized Status getStatus() {
+		return status;
+	}
+
+	public synchronized int getWins() {
+		return wins;
+	}
+
+	public synchronized int getLosses() {
+		return losses;
+	}
+
+	public double getLowerBound() {
+		return lowerBound;
+	}
+
+	public double getUpperBound() {
+		return upperBound;
+	}
+
+	public double getElo0() {
+		return elo0;
+	}
+
+	public double getElo1() {
+		return elo1;
+	}
+
+	// Expected score of a player with an Elo difference of elo
+	public static double eloToProbability(double elo) {
+		return 1 / (1 + Math.pow(10, -elo / 400));
+	}
+
+	// Elo difference from the proportion of games won (infinite if all the games were won or lost)
+	public static double probabilityToElo(double probability) {
+		return -400 * Math.log10(1 / probability - 1);
+	}
+}
@@ -0,0 +1,37 @@
+import java.util.SplittableRandom;
+
+/*
+ * Dice source using a SplittableRandom, so each game (or thread) can have its own stream of rolls without sharing any state
+ * Games using the same seed (and deterministic players) are played exactly the same
+ */
+public class SeededDiceSource implements DiceSourceInterface {
+	private SplittableRandom random;
+
+	public SeededDiceSource() {
+		this(new SplittableRandom());
+	}
+
+	public SeededDiceSource(long seed) {
+		this(new SplittableRandom(seed));
+	}
+
+	// Use an existing generator (the source will share the generator's state)
+	public SeededDiceSource(SplittableRandom random) {
+		this.random = random;
+	}
+
+	@Override
+	public int nextValue() {
+		return random.nextInt(DieInterface.NUMBER_OF_SIDES_ON_DIE) + 1;
+	}
+
+	@Override
+	public void setSeed(long seed) {
+		random = new SplittableRandom(seed);
+	}
+
+	// Create a new source which doesn't share any state with this one (eg. for another thread)
+	public SeededDiceSource split() {
+		return new SeededDiceSource(random.split());
+	}
+}
@@ -0,0 +1,51 @@
+import java.util.List;
+
+/*
+ * Wraps a player and records how long each call to getTurn takes, so the time players spend deciding can be measured through Game
+ * Doubles are recorded separately from other rolls, as the player has many more turns to consider (and so takes much longer)
+ */
+public class TimedPlayer implements PlayerInterface {
+	private final PlayerInterface player;
+	private final LatencyHistogram latencies; // Nanoseconds per call to getTurn (not doubles)
+	private final LatencyHistogram doublesLatencies;
+
+	public TimedPlayer(PlayerInterface player) {
+		this.player = player;
+		this.latencies = new LatencyHistogram();
+		this.doublesLatencies = new LatencyHistogram();
+	}
+
+	@Override
+	public TurnInterface getTurn(Colour colour, BoardInterface board, List<Integer> diceValues) throws PauseException {
+		// Check for doubles before the call, in case the player modifies the dice
+		boolean doubles = diceValues != null && diceValues.size() == 4;
+		long start = System.nanoTime();
+		try {
+			return player.getTurn(colour, board, diceValues);
+		} finally {
+			long taken = System.nanoTime() - start;
+			if (doubles) {
+				doublesLatencies.record(taken);
+			} else {
+				latencies.record(taken);
+			}
+		}
+	}
+
+	public PlayerInterface getPlayer() {
+		return player;
+	}
+
+	// Latencies of every call
+	public LatencyHistogram getLatencies() {
+		LatencyHistogram all = new LatencyHistogram();
+		all.add(latencies);
+		all.add(doublesLatencies);
+		return all;
+	}
+
+	// Latencies of either the calls with doubles or the calls without
+	public LatencyHistogram getLatencies(boolean doubles) {
+		return doubles ? doublesLatencies : latencies;
+	}
+}
@@ -0,0 +1,315 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Round-robin tournament between any number of players, where every pair of entrants plays the same number of games (half with each colour)
+ * All the games are split into chunks (TournamentChunk) and run on a fixed size thread pool, and the results are rated with BradleyTerry
+ * Usage: Tournament [log <file>] [games per pairing (even)] [threads] [seed] [players...]
+ * If "log <file>" is given first then every game is added to that game log (see GameLogWriter)
+ * Players are given by class name (see getFactory), and default to ComputerPlayer and ComputerPlayerKieran
+ */
+public class Tournament {
+	private final static int DEFAULT_GAMES_PER_PAIRING = 200;
+	private final static int GAMES_PER_CHUNK = 20;
+	private final static int STATUS_UPDATES = 20;
+	private final static long DEFAULT_SEED = 20170301;
+	private final static String[] DEFAULT_PLAYERS = { "ComputerPlayer", "ComputerPlayerKieran" };
+
+	// Settings for the search players, so that a game takes a reasonable time
+	// The search players all share one pool with a thread per processor (see Misc.getSearchPool), rather than each player having its own threads
+	// Expectimax needs a depth of at least 2, at depth 1 it picks the same turns as ComputerPlayer
+	private final static int SEARCH_THREADS = Runtime.getRuntime().availableProcessors();
+	private final static int EXPECTIMAX_DEPTH = 2;
+	private final static int ROLLOUTS = 16;
+	private final static long MCTS_TIME_BUDGET = 100;
+
+	private final List<PlayerFactoryInterface> entrants;
+	private final int gamesPerPairing;
+	private final long seed;
+	private GameLogWriter log; // Null if the games aren't logged
+
+	private int[][] wins; // wins[i][j] is the number of games entrant i won against entrant j
+	private int errors;
+	private int noTurns;
+
+	public Tournament(List<PlayerFactoryInterface> entrants, int gamesPerPairing, long seed) {
+		if (entrants.size() < 2) {
+			throw new IllegalArgumentException("A tournament needs at least 2 entrants");
+		}
+		if (gamesPerPairing <= 0 || gamesPerPairing % 2 != 0) {
+			throw new IllegalArgumentException("The number of games per pairing must be positive and even");
+		}
+
+		this.entrants = new ArrayList<PlayerFactoryInterface>(entrants);
+		this.gamesPerPairing = gamesPerPairing;
+		this.seed = seed;
+		this.log = null;
+	}
+
+	// Every game played afterwards is written to the log (null to stop logging), the log is flushed after each run but not closed
+	public void setGameLog(GameLogWriter log) {
+		this.log = log;
+	}
+
+	// Plays every game of the tournament, returning once they have all finished
+	public void run(int threads) {
+		int players = entrants.size();
+		int totalGames = gamesPerPairing * players * (players - 1) / 2;
+		ComputerPlayerTestingProgress progress = new ComputerPlayerTestingProgress(totalGames, Math.max(1, totalGames / STATUS_UPDATES), null);
+		SplittableRandom seeds = new SplittableRandom(seed);
+
+		// Create the chunks for every pairing, seeds are given out in the order of the chunks so they don't depend on the threads
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<int[]> pairings = new ArrayList<int[]>();
+		List<TournamentChunk> chunks = new ArrayList<TournamentChunk>();
+		List<CompletableFuture<Void>> futures = new ArrayList<CompletableFuture<Void>>();
+
+		// The executor's threads aren't daemons, so it is shut down even if a chunk fails (otherwise they would keep the JVM running)
+		try {
+			for (int i = 0; i < players; i++) {
+				for (int j = i + 1; j < players; j++) {
+					for (int firstGame = 0; firstGame < gamesPerPairing; firstGame += GAMES_PER_CHUNK) {
+						int chunkGames = Math.min(GAMES_PER_CHUNK, gamesPerPairing - firstGame);
+						TournamentChunk chunk = new TournamentChunk(entrants.get(i), entrants.get(j), firstGame, chunkGames, seeds.nextLong(), progress, log);
+
+						pairings.add(new int[] { i, j });
+						chunks.add(chunk);
+						futures.add(CompletableFuture.runAsync(chunk, executor));
+					}
+				}
+			}
+
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+		} finally {
+			executor.shutdown();
+		}
+
+		if (log != null) {
+			try {
+				log.flush();
+			} catch (IOException e) {
+				System.out.println("Could not write to the game log\n" + e.toString());
+			}
+		}
+
+		// Collect the results
+		wins = new int[players][players];
+		errors = 0;
+		noTurns = 0;
+		for (int c = 0; c < chunks.size(); c++) {
+			int[] pairing = pairings.get(c);
+			TournamentChunk chunk = chunks.get(c);
+
+			wins[pairing[0]][pairing[1]] += chunk.getWins1();
+			wins[pairing[1]][pairing[0]] += chunk.getWins2();
+			errors += chunk.getErrors();
+			noTurns += chunk.getNoTurns();
+		}
+	}
+
+	public int getWins(int entrant, int opponent) {
+		return wins[entrant][opponent];
+	}
+
+	public int getErrors() {
+		return errors;
+	}
+
+	public int getNoTurns() {
+		return noTurns;
+	}
+
+	public BradleyTerry getRatings() {
+		return new BradleyTerry(wins);
+	}
+
+	// Outputs the entrants ordered by rating, and the results of every pairing
+	public void printResults() {
+		final BradleyTerry ratings = getRatings();
+		int players = entrants.size();
+
+		List<Integer> order = new ArrayList<Integer>();
+		for (int i = 0; i < players; i++) {
+			order.add(i);
+		}
+		Collections.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(ratings.getElo(b), ratings.getElo(a));
+			}
+		});
+
+		System.out.println("\nRank	Elo	+/-	Score	Games	Player");
+		for (int rank = 0; rank < players; rank++) {
+			int i = order.get(rank);
+			int won = 0;
+			int played = 0;
+			for (int j = 0; j < players; j++) {
+				won += wins[i][j];
+				played += wins[i][j] + wins[j][i];
+			}
+
+			String score = played > 0 ? ComputerPlayerTesting.roundDouble((double) won * 100 / played, 1) + "%" : "-";
+			System.out.println((rank + 1) + "	" + ComputerPlayerTesting.roundDouble(ratings.getElo(i), 1) + "	" + ComputerPlayerTesting.roundDouble(ratings.getEloError(i), 1) + "	" + score + "	" + played + "	" + entrants.get(i).getName());
+		}
+
+		System.out.println("\nWins (row against column):");
+		for (int rank = 0; rank < players; rank++) {
+			int i = order.get(rank);
+			StringBuilder line = new StringBuilder();
+			for (int other = 0; other < players; other++) {
+				int j = order.get(other);
+				line.append(i == j ? "-" : Integer.toString(wins[i][j])).append("	");
+			}
+			System.out.println(line.toString() + entrants.get(i).getName());
+		}
+
+		System.out.println("\nErrors: " + errors);
+	}
+
+	// Returns a factory for a player class name (the same names as Game uses when loading), or null if it isn't recognised
+	public static PlayerFactoryInterface getFactory(final String name) {
+		switch (name) {
+		case "ComputerPlayer":
+			return new PlayerFactoryInterface() {
+				@Override
+				public String getName() {
+					return name;
+				}
+
+				@Override
+				public PlayerInterface createPlayer(long seed) {
+					return new ComputerPlayer();
+				}
+			};
+		case "ComputerPlayerKieran":
+			return new PlayerFactoryInterface() {
+				@Override
+				public String getName() {
+					return name;
+				}
+
+				@Override
+				public PlayerInterface createPlayer(long seed) {
+					return new ComputerPlayerKieran();
+				}
+			};
+		case "ComputerPlayerExpectimax":
+			return new PlayerFactoryInterface() {
+				@Override
+				public String getName() {
+					return name;
+				}
+
+				@Override
+				public PlayerInterface createPlayer(long seed) {
+					return new ComputerPlayerExpectimax(EXPECTIMAX_DEPTH, SEARCH_THREADS, ComputerPlayerExpectimax.DEFAULT_BEAM_WIDTH);
+				}
+			};
+		case "ComputerPlayerRollout":
+			return new PlayerFactoryInterface() {
+				@Override
+				public String getName() {
+					return name;
+				}
+
+				@Override
+				public PlayerInterface createPlayer(long seed) {
+					return new ComputerPlayerRollout(ROLLOUTS, SEARCH_THREADS, seed);
+				}
+			};
+		case "ComputerPlayerMCTS":
+			return new PlayerFactoryInterface() {
+				@Override
+				public String getName() {
+					return name;
+				}
+
+				@Override
+				public PlayerInterface createPlayer(long seed) {
+					return new ComputerPlayerMCTS(MCTS_TIME_BUDGET, ComputerPlayerMCTS.DEFAULT_BEAM_WIDTH, seed);
+				}
+			};
+		default:
+			return null;
+		}
+	}
+
+	public static void main(String[] args) {
+		int gamesPerPairing = DEFAULT_GAMES_PER_PAIRING;
+		int numThreads = Runtime.getRuntime().availableProcessors();
+		long seed = DEFAULT_SEED;
+		List<String> names = new ArrayList<String>();
+		String logFile = null;
+
+		// The log file comes first, the rest of the arguments are after it
+		if (args.length > 1 && args[0].equals("log")) {
+			logFile = args[1];
+			args = Arrays.copyOfRange(args, 2, args.length);
+		}
+
+		try {
+			if (args.length > 0) {
+				gamesPerPairing = Integer.parseInt(args[0]);
+			}
+			if (args.length > 1) {
+				numThreads = Integer.parseInt(args[1]);
+			}
+			if (args.length > 2) {
+				seed = Long.parseLong(args[2]);
+			}
+		} catch (NumberFormatException e) {
+			gamesPerPairing = -1;
+		}
+
+		if (args.length > 3) {
+			names.addAll(Arrays.asList(args).subList(3, args.length));
+		} else {
+			names.addAll(Arrays.asList(DEFAULT_PLAYERS));
+		}
+
+		List<PlayerFactoryInterface> entrants = new ArrayList<PlayerFactoryInterface>();
+		for (String name : names) {
+			PlayerFactoryInterface factory = getFactory(name);
+			if (factory == null) {
+				System.out.println("Did not recognise the player " + name);
+				return;
+			}
+			entrants.add(factory);
+		}
+
+		if (gamesPerPairing <= 0 || gamesPerPairing % 2 != 0 || numThreads <= 0 || entrants.size() < 2) {
+			System.out.println("Usage: Tournament [log <file>] [games per pairing (even)] [threads] [seed] [players (at least 2)...]");
+			return;
+		}
+
+		long startTime = System.currentTimeMillis();
+		System.out.println("Running tournament (" + entrants.size() + " players, " + gamesPerPairing + " games per pairing on " + numThreads + " threads, seed " + seed + "):");
+
+		Tournament tournament = new Tournament(entrants, gamesPerPairing, seed);
+		if (logFile == null) {
+			tournament.run(numThreads);
+		} else {
+			try (GameLogWriter log = new GameLogWriter(logFile);) {
+				tournament.setGameLog(log);
+				tournament.run(numThreads);
+				System.out.println("Logged " + log.getGames() + " games to " + logFile);
+			} catch (IOException e) {
+				System.out.println("Could not use the game log " + logFile + "\n" + e.toString());
+				return;
+			}
+		}
+
+		double runningTime = (double) (System.currentTimeMillis() - startTime) / 1000;
+		System.out.println("Tournament finished in " + ComputerPlayerTesting.roundDouble(runningTime, 0) + "s (" + tournament.getNoTurns() + " turns)");
+		tournament.printResults();
+	}
+}
@@ -0,0 +1,127 @@
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/*
+ * A chunk of the games between one pair of entrants in a Tournament, run as a single task by the executor
+ * The entrants swap colours every game, using the game number within the pairing so that it doesn't depend on how the games are split
+ * The results are only read once the task has completed
+ */
+public class TournamentChunk implements Runnable {
+	private final PlayerFactoryInterface entrant1;
+	private final PlayerFactoryInterface entrant2;
+	private final int firstGame;
+	private final int numGames;
+	private final SplittableRandom seeds; // Gives the seeds for the players and each game
+	private final ComputerPlayerTestingProgress progress; // Shared by all the chunks
+	private final GameLogWriter log; // Null if the games aren't logged
+
+	private int wins1;
+	private int wins2;
+	private int errors;
+	private int noTurns;
+
+	public TournamentChunk(PlayerFactoryInterface entrant1, PlayerFactoryInterface entrant2, int firstGame, int numGames, long seed, ComputerPlayerTestingProgress progress, GameLogWriter log) {
+		this.entrant1 = entrant1;
+		this.entrant2 = entrant2;
+		this.firstGame = firstGame;
+		this.numGames = numGames;
+		this.seeds = new SplittableRandom(seed);
+		this.progress = progress;
+		this.log = log;
+
+		wins1 = 0;
+		wins2 = 0;
+		errors = 0;
+		noTurns = 0;
+	}
+
+	@Override
+	public void run() {
+		// Players store information between calls, so every chunk has its own
+		PlayerInterface player1 = entrant1.createPlayer(seeds.nextLong());
+		PlayerInterface player2 = entrant2.createPlayer(seeds.nextLong());
+
+		// If the games are logged then the players add their turns to the record of each game
+		RecordingPlayer[] recorders = null;
+		if (log != null) {
+			recorders = new RecordingPlayer[] { new RecordingPlayer(player1), new RecordingPlayer(player2) };
+			player1 = recorders[0];
+			player2 = recorders[1];
+		}
+
+		PlayerInterface[][] playerMaps = { { player1, player2 }, { player2, player1 } };
+		String[][] nameMaps = { { entrant1.getName(), entrant2.getName() }, { entrant2.getName(), entrant1.getName() } };
+
+		for (int i = 0; i < numGames; i++) {
+			PlayerInterface[] playerMap = playerMaps[(firstGame + i) % playerMaps.length];
+			String[] nameMap = nameMaps[(firstGame + i) % nameMaps.length];
+			long gameSeed = seeds.nextLong();
+			Colour winnerColour;
+			Game game = null;
+
+			GameRecord record = null;
+			if (recorders != null) {
+				record = new GameRecord(gameSeed, nameMap[0], nameMap[1]);
+				for (RecordingPlayer r : recorders) {
+					r.setRecord(record);
+				}
+			}
+
+			try {
+				DiceSourceInterface diceSource = new SeededDiceSource(gameSeed);
+				if (ComputerPlayerTesting.USE_PACKED_BOARD) {
+					game = new Game(new PackedBoard(), diceSource);
+				} else {
+					game = new Game(new Board(), diceSource);
+				}
+				game.setPlayer(Colour.values()[0], playerMap[0]);
+				game.setPlayer(Colour.values()[1], playerMap[1]);
+				winnerColour = game.play();
+			} catch (Exception e) {
+				winnerColour = null;
+			}
+
+			Boolean player1Won = null;
+			if (winnerColour == null) {
+				errors++;
+			} else if (playerMap[winnerColour.ordinal()] == player1) {
+				wins1++;
+				player1Won = true;
+			} else {
+				wins2++;
+				player1Won = false;
+			}
+
+			if (game != null) {
+				noTurns += game.getTurns();
+			}
+
+			// Games with a turn that couldn't be stored are left out of the log, as they can't be replayed
+			if (record != null && record.isReplayable()) {
+				record.setWinner(winnerColour);
+				try {
+					log.write(record);
+				} catch (IOException e) {
+					System.out.println("Could not write to the game log\n" + e.toString());
+				}
+			}
+			progress.gameFinished(player1Won);
+		}
+	}
+
+	public int getWins1() {
+		return wins1;
+	}
+
+	public int getWins2() {
+		return wins2;
+	}
+
+	public int getErrors() {
+		return errors;
+	}
+
+	public int getNoTurns() {
+		return noTurns;
+	}
+}
@@ -0,0 +1,163 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/*
+ * Generates the valid turns for a position one at a time, packed by PackedTurn, so that a player can score each turn as it is found rather than keeping a list of them
+ * The search is the same depth first search ComputerPlayer used to do recursively, with the state of each level kept in arrays:
+ * - Moves are made and undone on the board given, which is back to how it was once every turn has been generated (it shouldn't be used before then)
+ * - Only turns that use the maximum number of dice are generated, with one turn for each different position that can be reached (the first one found is kept)
+ * - A partial turn is only searched further if the same position hasn't been reached with the same dice remaining
+ * A generator can be started again on another position (see start), which reuses its buffers and the set of positions searched
+ */
+public class TurnGenerator implements PrimitiveIterator.OfInt {
+	private UndoableBoardInterface board;
+	private Colour colour;
+	private final List<Integer> diceValues = new ArrayList<Integer>(); // The dice values that haven't been used by the moves currently made
+	private int movesRequired;
+	private final LongHashSet searched = new LongHashSet();
+
+	// The state of each level of the search, level i makes the (i + 1)th move of the turn
+	private int[][] moves = new int[0][]; // Buffer of the possible moves
+	private int[] numMoves;
+	private int[] nextMove; // Index of the next move to try
+	private int[] undoRecords; // Record of the move currently made at this level (if madeMove is true)
+	private boolean[] madeMove;
+	private int[] turns; // The turn made before this level
+	private int level = -1;
+
+	private int nextTurn;
+	private boolean hasNextTurn;
+
+	// A generator without a position, which doesn't generate any turns until it is started
+	public TurnGenerator() {
+	}
+
+	public TurnGenerator(UndoableBoardInterface board, Colour colour, List<Integer> diceValues) {
+		start(board, colour, diceValues);
+	}
+
+	// Start generating the turns for another position, any turns left from the last position are dropped
+	// The last position's board is only restored if all of its turns were generated
+	public void start(UndoableBoardInterface board, Colour colour, List<Integer> diceValues) {
+		this.board = board;
+		this.colour = colour;
+		this.diceValues.clear();
+		this.diceValues.addAll(diceValues);
+		this.movesRequired = MaxMovesOracle.getMaximumMoves(board, colour, diceValues);
+		searched.clear();
+		hasNextTurn = false;
+
+		// The buffers only need to grow if there are more moves than any position before
+		if (moves.length < movesRequired) {
+			moves = new int[movesRequired][UndoableBoardInterface.MAX_POSSIBLE_MOVES];
+			numMoves = new int[movesRequired];
+			nextMove = new int[movesRequired];
+			undoRecords = new int[movesRequired];
+			madeMove = new boolean[movesRequired];
+			turns = new int[movesRequired];
+		}
+
+		// If no moves can be made then there aren't any turns to generate
+		if (movesRequired == 0) {
+			level = -1;
+		} else {
+			startLevel(0, PackedTurn.EMPTY);
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!hasNextTurn) {
+			hasNextTurn = findNextTurn();
+		}
+
+		return hasNextTurn;
+	}
+
+	// Returns the next turn packed by PackedTurn
+	@Override
+	public int nextInt() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("All of the turns have been generated");
+		}
+
+		hasNextTurn = false;
+		return nextTurn;
+	}
+
+	// The number of moves in every turn generated
+	public int getMovesRequired() {
+		return movesRequired;
+	}
+
+	/*
+	 * PRIVATE METHODS
+	 */
+
+	private void startLevel(int newLevel, int turn) {
+		level = newLevel;
+		turns[level] = turn;
+		numMoves[level] = board.possibleMoves(colour, diceValues, moves[level]);
+		nextMove[level] = 0;
+		madeMove[level] = false;
+	}
+
+	// Continue the search until the next turn is found, returns false once every turn has been generated (and the board has been restored)
+	private boolean findNextTurn() {
+		while (level >= 0) {
+			// Undo the last move made by this level before trying the next one
+			if (madeMove[level]) {
+				diceValues.add(Move.getDiceValue(moves[level][nextMove[level] - 1]));
+				board.undoMove(undoRecords[level]);
+				madeMove[level] = false;
+			}
+
+			// Go back to the level before once every move has been tried (which then undoes its move)
+			if (nextMove[level] == numMoves[level]) {
+				level--;
+				continue;
+			}
+
+			// Make the move
+			int packedMove = moves[level][nextMove[level]++];
+			try {
+				undoRecords[level] = board.makeUndoableMove(colour, Move.valueOf(packedMove));
+			} catch (IllegalMoveException e) {
+				// Should never be reached
+				System.out.println("Logic error when generating possible turns");
+				System.out.println(e.toString());
+				continue;
+			}
+			madeMove[level] = true;
+
+			// Remove the die used and add the move to the turn
+			diceValues.remove((Integer) Move.getDiceValue(packedMove)); // Removing an Integer removes the object, not the object at the location of the primitive (int)
+			int turn = PackedTurn.addMove(turns[level], packedMove);
+
+			// Return the turn if it is complete, otherwise search the next level
+			if (level + 1 == movesRequired) {
+				if (searched.add(board.getPositionKey())) {
+					nextTurn = turn;
+					return true;
+				}
+			} else if (searched.add(board.getPositionKey() ^ getDiceKey(diceValues))) {
+				startLevel(level + 1, turn);
+			}
+		}
+
+		return false;
+	}
+
+	// Combine the remaining dice into a key that doesn't depend on their order (the number of each value is stored in 4 bits)
+	// Multiplying spreads the bits out, so that it is unlikely to cancel out part of a position key
+	private static long getDiceKey(List<Integer> diceValues) {
+		long counts = 0;
+		for (Integer die : diceValues) {
+			counts += 1L << (4 * die);
+		}
+
+		return counts * 0x9E3779B97F4A7C15L;
+	}
+}
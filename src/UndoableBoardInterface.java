@@ -0,0 +1,65 @@
+import java.util.List;
+
+/**
+ * UndoableBoardInterface represents a board where moves can be reverted after they have been made, and which keeps track of a key for its position.
+ *
+ * Searches (eg. for the maximum number of moves, or all of the valid turns) can then walk a single board depth first, rather than cloning the board for every move they try.
+ *
+ **/
+public interface UndoableBoardInterface extends BoardInterface {
+
+    /**
+     * The most moves that possibleMoves can write into a buffer (every source location with every dice value).
+     **/
+    int MAX_POSSIBLE_MOVES = (NUMBER_OF_LOCATIONS + 1) * DieInterface.NUMBER_OF_SIDES_ON_DIE;
+
+    /**
+     * Write the moves that the given colour can make from the current board state into a buffer, rather than creating a set of moves. The moves are the same as the ones returned by possibleMoves.
+     *
+     * @param colour the colour to move next
+     *
+     * @param diceValues the dice values available to use
+     *
+     * @param moves the buffer to write the moves into, packed by Move.pack in order of source location and then dice value. It must have room for MAX_POSSIBLE_MOVES moves
+     *
+     * @return the number of moves written into the buffer
+     **/
+    int possibleMoves(Colour colour, List<Integer> diceValues, int[] moves);
+
+    /**
+     * Update the Board state by making the given move for the given colour (the same as makeMove), and return a record that can revert it.
+     *
+     * @param colour the colour to move
+     *
+     * @param move the move to make
+     *
+     * @return a compact record of the move, to be passed to undoMove
+     *
+     * @throws IllegalMoveException if and only if the move is not legal.
+     **/
+    int makeUndoableMove(Colour colour, MoveInterface move) throws IllegalMoveException;
+
+    /**
+     * Revert a move made by makeUndoableMove, including putting back any piece that was knocked off. Moves must be undone in the reverse order they were made.
+     *
+     * @param undoRecord the record returned by makeUndoableMove
+     **/
+    void undoMove(int undoRecord);
+
+    /**
+     * Update the Board state by making all the moves of a turn that is already known to be valid (eg. one generated by searching this board), without the checks made by takeTurn.
+     * The board isn't backed up, and the dice used aren't checked against the dice rolled or the maximum number of moves. As with takeTurn, no more moves are made once a colour has won.
+     *
+     * @param colour the colour to move
+     *
+     * @param turn the turn to take
+     *
+     * @throws IllegalMoveException if one of the moves is not legal, in which case the board is left with the moves before it made.
+     **/
+    void applyTrustedTurn(Colour colour, TurnInterface turn) throws IllegalMoveException;
+
+    /**
+     * @return the Zobrist key of the current position (see Zobrist), which is kept up to date as pieces are moved. Boards with the same number of pieces for every colour in every location have the same key, whatever their implementation.
+     **/
+    long getPositionKey();
+}
@@ -0,0 +1,121 @@
+import java.util.Random;
+
+/*
+ * Zobrist keys for board positions, so that positions can be cached/deduplicated cheaply
+ * Every (location index, colour, number of pieces) has a random 64 bit key, and the key of a position is all of these xor'd together
+ * When the number of pieces in a location changes the key can be updated by xor'ing out the old key and xor'ing in the new one
+ * Location indexes follow Board: 0 = Start, 1 = Knocked, i + 1 = Position i, NUMBER_OF_LOCATIONS + 2 = End
+ */
+public class Zobrist {
+	// The seed is fixed so that keys are the same every time the program is run
+	private static final long SEED = 0x5461626C61L;
+	private static final int TOTAL_LOCATIONS = BoardInterface.NUMBER_OF_LOCATIONS + 3;
+	private static final int MAX_PIECES = BoardInterface.PIECES_PER_PLAYER;
+	private static final Colour[] COLOURS = Colour.values();
+
+	private static final long[] KEYS = createKeys(); // KEYS[(location * COLOURS.length + colour) * (MAX_PIECES + 1) + numberOfPieces]
+
+	public Zobrist() {
+	}
+
+	// Returns the key for a location containing numberOfPieces of colour (a location with no pieces has a key of 0)
+	public static long key(int locationIndex, Colour colour, int numberOfPieces) {
+		if (numberOfPieces == 0) {
+			return 0;
+		}
+
+		int base = locationIndex * COLOURS.length + colour.ordinal();
+		if (numberOfPieces <= MAX_PIECES) {
+			return KEYS[base * (MAX_PIECES + 1) + numberOfPieces];
+		}
+
+		// Only reachable for invalid boards, so generate the key rather than storing it
+		return mix(SEED + base * 31L + numberOfPieces);
+	}
+
+	// Computes the key of any board from scratch
+	public static long keyOf(BoardInterface board) {
+		long key = keyOf(0, board.getStartLocation()) ^ keyOf(1, board.getKnockedLocation()) ^ keyOf(TOTAL_LOCATIONS - 1, board.getEndLocation());
+
+		for (int i = 1; i <= BoardInterface.NUMBER_OF_LOCATIONS; i++) {
+			try {
+				key ^= keyOf(i + 1, board.getBoardLocation(i));
+			} catch (NoSuchLocationException e) {
+				// This should never be reached
+				System.out.println("Logic error when computing the key of a board");
+			}
+		}
+
+		return key;
+	}
+
+	// Computes the key of a single location
+	public static long keyOf(int locationIndex, LocationInterface loc) {
+		if (loc == null) {
+			return 0;
+		}
+
+		long key = 0;
+		for (Colour c : COLOURS) {
+			key ^= key(locationIndex, c, loc.numberOfPieces(c));
+		}
+
+		return key;
+	}
+
+	// Returns true if and only if both boards have the same number of pieces for every colour in every location
+	public static boolean samePosition(BoardInterface a, BoardInterface b) {
+		if (!sameLocation(a.getStartLocation(), b.getStartLocation()) || !sameLocation(a.getKnockedLocation(), b.getKnockedLocation()) || !sameLocation(a.getEndLocation(), b.getEndLocation())) {
+			return false;
+		}
+
+		for (int i = 1; i <= BoardInterface.NUMBER_OF_LOCATIONS; i++) {
+			try {
+				if (!sameLocation(a.getBoardLocation(i), b.getBoardLocation(i))) {
+					return false;
+				}
+			} catch (NoSuchLocationException e) {
+				// This should never be reached
+				System.out.println("Logic error when comparing boards");
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static boolean sameLocation(LocationInterface a, LocationInterface b) {
+		if (a == null || b == null) {
+			return a == b;
+		}
+
+		for (Colour c : COLOURS) {
+			if (a.numberOfPieces(c) != b.numberOfPieces(c)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static long[] createKeys() {
+		Random random = new Random(SEED);
+		long[] keys = new long[TOTAL_LOCATIONS * COLOURS.length * (MAX_PIECES + 1)];
+
+		for (int i = 0; i < keys.length; i++) {
+			// Index 0 of each location/colour is the key for 0 pieces, which is left as 0
+			if (i % (MAX_PIECES + 1) != 0) {
+				keys[i] = random.nextLong();
+			}
+		}
+
+		return keys;
+	}
+
+	// SplitMix64 finaliser, spreads the bits of the value across the whole key
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+}